@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.core.dsl.AppNode;
+import org.springframework.cloud.deployer.admin.core.dsl.ArgumentNode;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+
+/**
+ * In-memory prefix indexes over the names of the registered apps and over the option
+ * names of each app, so that completing a keystroke never has to read the registry or
+ * an app artifact.
+ *
+ * <p>The index of app names is rebuilt whenever the version of the {@link AppRegistry}
+ * changes. The options of an app are indexed the first time they are asked for and are
+ * kept for as long as an app is registered with the same artifact URI. Whitelisted
+ * options are indexed under both their full id and their short name; at higher levels
+ * of detail every option of the app is indexed, under its full id. Indexed options carry
+ * the value hints of their metadata along with those of the {@link ValueHintProvider}s.
+ */
+class ApplicationCompletionIndex {
+
+	/**
+	 * The maximum number of candidates returned for a single prefix.
+	 */
+	static final int MAX_CANDIDATES = 100;
+
+	private static final Log logger = LogFactory.getLog(ApplicationCompletionIndex.class);
+
+	private final AppRegistry appRegistry;
+
+	private final ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private final List<ValueHintProvider> valueHintProviders;
+
+	private volatile AppNames appNames;
+
+	private final ConcurrentMap<URI, AppOptions> options = new ConcurrentHashMap<>();
+
+	ApplicationCompletionIndex(AppRegistry appRegistry, ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders) {
+		this.appRegistry = appRegistry;
+		this.metadataResolver = metadataResolver;
+		this.valueHintProviders = valueHintProviders;
+	}
+
+	/**
+	 * Return the registered apps whose name starts with the given prefix, keyed by name.
+	 * When several apps of different types share a name, the first one registered in the
+	 * natural order of registrations is returned.
+	 */
+	Map<String, AppRegistration> appsStartingWith(String prefix) {
+		return appNames().trie.withPrefix(prefix, MAX_CANDIDATES);
+	}
+
+	/**
+	 * Return the registered app with the given name, or {@code null} if there is none.
+	 */
+	AppRegistration findApp(String name) {
+		return appNames().trie.get(name);
+	}
+
+	/**
+	 * Return the options of the given app whose name starts with the given prefix, keyed by
+	 * the name they can be set under, leaving out the options the app already sets.
+	 */
+	Map<String, ConfigurationMetadataProperty> optionsStartingWith(AppNode app, String prefix, int detailLevel) {
+		PrefixTrie<ConfigurationMetadataProperty> trie = optionsOf(app.getName(), detailLevel);
+		if (trie == null) {
+			return Collections.emptyMap();
+		}
+		Set<String> alreadySet = new HashSet<>();
+		for (ArgumentNode argument : app.getArguments()) {
+			ConfigurationMetadataProperty property = trie.get(argument.getName());
+			alreadySet.add(property != null ? property.getId() : argument.getName());
+		}
+		Map<String, ConfigurationMetadataProperty> result = new LinkedHashMap<>();
+		for (Map.Entry<String, ConfigurationMetadataProperty> entry
+				: trie.withPrefix(prefix, MAX_CANDIDATES + alreadySet.size()).entrySet()) {
+			if (!alreadySet.contains(entry.getValue().getId()) && result.size() < MAX_CANDIDATES) {
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the option of the given app that can be set under the given name, or
+	 * {@code null} if there is none.
+	 */
+	ConfigurationMetadataProperty findOption(String appName, String optionName, int detailLevel) {
+		PrefixTrie<ConfigurationMetadataProperty> trie = optionsOf(appName, detailLevel);
+		return trie == null ? null : trie.get(optionName);
+	}
+
+	private AppNames appNames() {
+		AppNames current = appNames;
+		long version = appRegistry.getVersion();
+		if (current == null || current.version != version) {
+			current = new AppNames(version, appRegistry.findAll());
+			options.keySet().retainAll(current.uris);
+			appNames = current;
+		}
+		return current;
+	}
+
+	private PrefixTrie<ConfigurationMetadataProperty> optionsOf(String appName, int detailLevel) {
+		AppRegistration registration = findApp(appName);
+		if (registration == null) {
+			return null;
+		}
+		AppOptions appOptions = options.get(registration.getUri());
+		try {
+			if (appOptions == null) {
+				appOptions = new AppOptions(registration);
+				options.put(registration.getUri(), appOptions);
+			}
+			return detailLevel > 1 ? appOptions.all() : appOptions.whitelisted;
+		}
+		catch (RuntimeException e) {
+			logger.warn("Could not index the options of " + registration.getUri(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Add the hints generated by the {@link ValueHintProvider}s to those of the option
+	 * metadata. The classes of the app are not at hand, so the providers are given no
+	 * class loader.
+	 */
+	private void addValueHints(ConfigurationMetadataProperty property) {
+		List<ValueHint> valueHints = property.getHints().getValueHints();
+		Set<Object> values = new HashSet<>();
+		for (ValueHint valueHint : valueHints) {
+			values.add(valueHint.getValue());
+		}
+		List<ValueHint> generated = new ArrayList<>();
+		for (ValueHintProvider provider : valueHintProviders) {
+			for (ValueHint valueHint : provider.generateValueHints(property, null)) {
+				if (values.add(valueHint.getValue())) {
+					generated.add(valueHint);
+				}
+			}
+		}
+		valueHints.addAll(generated);
+	}
+
+	private static class AppNames {
+
+		private final long version;
+
+		private final PrefixTrie<AppRegistration> trie = new PrefixTrie<>();
+
+		private final Set<URI> uris = new HashSet<>();
+
+		private AppNames(long version, List<AppRegistration> registrations) {
+			this.version = version;
+			List<AppRegistration> sorted = new ArrayList<>(registrations);
+			Collections.sort(sorted);
+			for (AppRegistration registration : sorted) {
+				if (trie.get(registration.getName()) == null) {
+					trie.put(registration.getName(), registration);
+				}
+				uris.add(registration.getUri());
+			}
+		}
+	}
+
+	private class AppOptions {
+
+		private final AppRegistration registration;
+
+		private final PrefixTrie<ConfigurationMetadataProperty> whitelisted = new PrefixTrie<>();
+
+		private volatile PrefixTrie<ConfigurationMetadataProperty> all;
+
+		private AppOptions(AppRegistration registration) {
+			this.registration = registration;
+			List<ConfigurationMetadataProperty> properties = metadataResolver.listProperties(registration.getResource());
+			for (ConfigurationMetadataProperty property : properties) {
+				addValueHints(property);
+				whitelisted.put(property.getId(), property);
+			}
+			for (ConfigurationMetadataProperty property : properties) {
+				if (whitelisted.get(property.getName()) == null) {
+					whitelisted.put(property.getName(), property);
+				}
+			}
+		}
+
+		private PrefixTrie<ConfigurationMetadataProperty> all() {
+			PrefixTrie<ConfigurationMetadataProperty> result = all;
+			if (result == null) {
+				result = new PrefixTrie<>();
+				for (ConfigurationMetadataProperty property
+						: metadataResolver.listProperties(registration.getResource(), true)) {
+					addValueHints(property);
+					result.put(property.getId(), property);
+				}
+				for (Map.Entry<String, ConfigurationMetadataProperty> entry
+						: whitelisted.withPrefix("", Integer.MAX_VALUE).entrySet()) {
+					if (result.get(entry.getKey()) == null) {
+						result.put(entry.getKey(), entry.getValue());
+					}
+				}
+				all = result;
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.core.dsl.AppNode;
+import org.springframework.cloud.deployer.admin.core.dsl.ApplicationParser;
+import org.springframework.cloud.deployer.admin.core.dsl.ArgumentNode;
+import org.springframework.cloud.deployer.admin.core.dsl.ParseException;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.util.Assert;
+
+/**
+ * Provides code completion on a (possibly ill-formed) application definition DSL.
+ *
+ * <p>A definition that parses is expanded: the app name being typed is completed, then the
+ * options of the app and the values hinted for the option being set. A definition that
+ * does not parse is handed to the {@link RecoveryStrategy}s that apply. Both look
+ * candidates up in an {@link ApplicationCompletionIndex}, so completing does not resolve
+ * app metadata once the options of an app have been indexed.
+ */
+public class ApplicationCompletionProvider {
+
+	private final ApplicationCompletionIndex index;
+
+	private final List<RecoveryStrategy<ParseException>> recoveryStrategies;
+
+	public ApplicationCompletionProvider(AppRegistry appRegistry,
+			ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(appRegistry, metadataResolver, Collections.<ValueHintProvider>emptyList());
+	}
+
+	/**
+	 * Create a provider proposing, for the value of an option, the hints of its metadata
+	 * along with those of the given {@link ValueHintProvider}s.
+	 *
+	 * @param appRegistry the registry of the apps to complete
+	 * @param metadataResolver the resolver of the app options
+	 * @param valueHintProviders the providers of additional value hints
+	 */
+	@SuppressWarnings("unchecked")
+	public ApplicationCompletionProvider(AppRegistry appRegistry,
+			ApplicationConfigurationMetadataResolver metadataResolver, List<ValueHintProvider> valueHintProviders) {
+		Assert.notNull(appRegistry, "appRegistry must not be null");
+		Assert.notNull(metadataResolver, "metadataResolver must not be null");
+		Assert.notNull(valueHintProviders, "valueHintProviders must not be null");
+		this.index = new ApplicationCompletionIndex(appRegistry, metadataResolver, valueHintProviders);
+		this.recoveryStrategies = Arrays.<RecoveryStrategy<ParseException>>asList(
+				new EmptyStartRecoveryStrategy(index),
+				new UnfinishedOptionNameRecoveryStrategy(index),
+				new OptionValueRecoveryStrategy(index));
+	}
+
+	/**
+	 * Return completion proposals for the given start of an application definition.
+	 *
+	 * @param dslStart the definition typed so far
+	 * @param detailLevel how many times completion was asked for on the same input;
+	 * from {@literal 2} onwards, options that are not whitelisted are proposed as well
+	 * @return the proposals, each holding the full text of the completed definition
+	 */
+	public List<CompletionProposal> complete(String dslStart, int detailLevel) {
+		List<CompletionProposal> proposals = new ArrayList<>();
+		AppNode app;
+		try {
+			app = new ApplicationParser(dslStart).parse();
+		}
+		catch (ParseException e) {
+			for (RecoveryStrategy<ParseException> strategy : recoveryStrategies) {
+				if (strategy.shouldTrigger(dslStart, e)) {
+					strategy.addProposals(dslStart, e, detailLevel, proposals);
+				}
+			}
+			return proposals;
+		}
+		if (dslStart.endsWith(" ")) {
+			addOptions(dslStart, app, detailLevel, proposals);
+		}
+		else if (app.getArguments().length > 0) {
+			ArgumentNode[] arguments = app.getArguments();
+			addValues(dslStart, app.getName(), arguments[arguments.length - 1], detailLevel, proposals);
+		}
+		else {
+			addAppNames(dslStart, app, detailLevel, proposals);
+		}
+		return proposals;
+	}
+
+	private void addAppNames(String dslStart, AppNode app, int detailLevel, List<CompletionProposal> proposals) {
+		String appName = app.getName();
+		String start = dslStart.substring(0, dslStart.length() - appName.length());
+		CompletionProposal.Factory proposalFactory = CompletionProposal.expanding(start);
+		for (Map.Entry<String, AppRegistration> candidate : index.appsStartingWith(appName).entrySet()) {
+			if (!candidate.getKey().equals(appName)) {
+				proposals.add(proposalFactory.withSuffix(candidate.getKey(), candidate.getValue().getType()));
+			}
+		}
+		if (index.findApp(appName) != null) {
+			addOptions(dslStart, app, detailLevel, proposals);
+		}
+	}
+
+	private void addOptions(String dslStart, AppNode app, int detailLevel, List<CompletionProposal> proposals) {
+		CompletionProposal.Factory proposalFactory = CompletionProposal.expanding(dslStart);
+		for (Map.Entry<String, ConfigurationMetadataProperty> option
+				: index.optionsStartingWith(app, "", detailLevel).entrySet()) {
+			proposals.add(proposalFactory.withSeparateTokens("--" + option.getKey() + "=",
+					option.getValue().getShortDescription()));
+		}
+	}
+
+	private void addValues(String dslStart, String appName, ArgumentNode argument, int detailLevel,
+			List<CompletionProposal> proposals) {
+		ConfigurationMetadataProperty option = index.findOption(appName, argument.getName(), detailLevel);
+		String value = argument.getValue();
+		if (option == null || !dslStart.endsWith(value)) {
+			return;
+		}
+		CompletionProposal.Factory proposalFactory =
+				CompletionProposal.expanding(dslStart.substring(0, dslStart.length() - value.length()));
+		for (ValueHint valueHint : option.getValueHints()) {
+			String hint = String.valueOf(valueHint.getValue());
+			if (hint.startsWith(value) && !hint.equals(value)) {
+				proposals.add(proposalFactory.withSuffix(hint, valueHint.getShortDescription()));
+			}
+		}
+	}
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.deployer.admin.completion;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolverAutoConfiguration;
@@ -25,8 +27,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 /**
- * Include this Configuration class to expose fully configured {@link StreamCompletionProvider} and
- * {@link TaskCompletionProvider}.
+ * Include this Configuration class to expose a fully configured {@link ApplicationCompletionProvider}.
  *
  * @author Eric Bottard
  * @author Ilayaperumal Gopinathan
@@ -42,6 +43,11 @@ public class CompletionConfiguration {
 	@Autowired
 	private ApplicationConfigurationMetadataResolver metadataResolver;
 
+	@Bean
+	public ApplicationCompletionProvider applicationCompletionProvider(List<ValueHintProvider> valueHintProviders) {
+		return new ApplicationCompletionProvider(appRegistry, metadataResolver, valueHintProviders);
+	}
+
 	@Bean
 	public ValueHintProvider defaultValueHintProvider() {
 		return new DefaultValueHintProvider();
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.deployer.admin.core.dsl.ParseException;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+
+/**
+ * Proposes the names of all registered apps when nothing has been typed yet.
+ */
+class EmptyStartRecoveryStrategy implements RecoveryStrategy<ParseException> {
+
+	private final ApplicationCompletionIndex index;
+
+	EmptyStartRecoveryStrategy(ApplicationCompletionIndex index) {
+		this.index = index;
+	}
+
+	@Override
+	public boolean shouldTrigger(String dslStart, Exception exception) {
+		return dslStart.trim().isEmpty();
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseException exception, int detailLevel, List<CompletionProposal> proposals) {
+		CompletionProposal.Factory proposalFactory = CompletionProposal.expanding(dsl);
+		for (Map.Entry<String, AppRegistration> app : index.appsStartingWith("").entrySet()) {
+			proposals.add(proposalFactory.withSuffix(app.getKey(), app.getValue().getType()));
+		}
+	}
+}
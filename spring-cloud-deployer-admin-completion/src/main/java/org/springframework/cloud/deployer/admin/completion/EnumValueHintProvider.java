@@ -17,32 +17,57 @@
 package org.springframework.cloud.deployer.admin.completion;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
 import org.springframework.boot.configurationmetadata.ValueHint;
-import org.springframework.util.ClassUtils;
+import org.springframework.cloud.deployer.admin.configuration.metadata.EnumConstantsReader;
 
 /**
  * A {@link ValueHintProvider} that returns possible values when the
  * property is an {@link Enum}.
  *
+ * <p>The constants are read from the class file of the enum with an {@link EnumConstantsReader},
+ * without loading the class, and are remembered for each class loader they were read from.
+ *
  * @author Eric Bottard
  */
 public class EnumValueHintProvider implements ValueHintProvider {
 
+	private final Map<ClassLoader, ConcurrentMap<String, List<ValueHint>>> cache =
+			Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, List<ValueHint>>>());
+
 	@Override
 	public List<ValueHint> generateValueHints(ConfigurationMetadataProperty property, ClassLoader classLoader) {
-		List<ValueHint> result = new ArrayList<>();
-		if (ClassUtils.isPresent(property.getType(), classLoader)) {
-			Class<?> clazz = ClassUtils.resolveClassName(property.getType(), classLoader);
-			if (clazz.isEnum()) {
-				for (Object o : clazz.getEnumConstants()) {
+		if (property.getType() == null || classLoader == null) {
+			return Collections.emptyList();
+		}
+		ConcurrentMap<String, List<ValueHint>> valueHintsByType;
+		synchronized (cache) {
+			valueHintsByType = cache.get(classLoader);
+			if (valueHintsByType == null) {
+				valueHintsByType = new ConcurrentHashMap<>();
+				cache.put(classLoader, valueHintsByType);
+			}
+		}
+		List<ValueHint> result = valueHintsByType.get(property.getType());
+		if (result == null) {
+			result = new ArrayList<>();
+			List<String> constants = EnumConstantsReader.readEnumConstants(property.getType(), classLoader);
+			if (constants != null) {
+				for (String constant : constants) {
 					ValueHint hint = new ValueHint();
-					hint.setValue(o);
+					hint.setValue(constant);
 					result.add(hint);
 				}
 			}
+			result = Collections.unmodifiableList(result);
+			valueHintsByType.put(property.getType(), result);
 		}
 		return result;
 	}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.deployer.admin.core.dsl.AppNode;
+import org.springframework.cloud.deployer.admin.core.dsl.ApplicationParser;
+import org.springframework.cloud.deployer.admin.core.dsl.ParseException;
+
+/**
+ * Proposes the values hinted by the metadata of an option when its value has not been
+ * started yet, as in {@code log --level=}.
+ */
+class OptionValueRecoveryStrategy implements RecoveryStrategy<ParseException> {
+
+	private static final Pattern MISSING_OPTION_VALUE = Pattern.compile("(.*\\s)--([\\w.\\-]+)=", Pattern.DOTALL);
+
+	private final ApplicationCompletionIndex index;
+
+	OptionValueRecoveryStrategy(ApplicationCompletionIndex index) {
+		this.index = index;
+	}
+
+	@Override
+	public boolean shouldTrigger(String dslStart, Exception exception) {
+		return MISSING_OPTION_VALUE.matcher(dslStart).matches();
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseException exception, int detailLevel, List<CompletionProposal> proposals) {
+		Matcher matcher = MISSING_OPTION_VALUE.matcher(dsl);
+		if (!matcher.matches()) {
+			return;
+		}
+		AppNode app;
+		try {
+			app = new ApplicationParser(matcher.group(1)).parse();
+		}
+		catch (ParseException e) {
+			return;
+		}
+		ConfigurationMetadataProperty option = index.findOption(app.getName(), matcher.group(2), detailLevel);
+		if (option == null) {
+			return;
+		}
+		CompletionProposal.Factory proposalFactory = CompletionProposal.expanding(dsl);
+		for (ValueHint valueHint : option.getValueHints()) {
+			proposals.add(proposalFactory.withSuffix(String.valueOf(valueHint.getValue()), valueHint.getShortDescription()));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A trie mapping strings to values, used to look up completion candidates by prefix.
+ * Looking up a prefix costs a walk down as many nodes as the prefix has characters, plus
+ * one visit per candidate returned, however many keys the trie holds.
+ *
+ * <p>Instances are populated once and then only read, and can then be shared between threads.
+ *
+ * @param <V> the type of values
+ */
+class PrefixTrie<V> {
+
+	private final Node<V> root = new Node<>();
+
+	private int size;
+
+	/**
+	 * Map the given key to the given value, replacing any value mapped to that key.
+	 */
+	void put(String key, V value) {
+		Node<V> node = root;
+		for (int i = 0; i < key.length(); i++) {
+			Character c = key.charAt(i);
+			Node<V> child = node.children.get(c);
+			if (child == null) {
+				child = new Node<>();
+				node.children.put(c, child);
+			}
+			node = child;
+		}
+		if (node.value == null) {
+			size++;
+		}
+		node.value = value;
+	}
+
+	/**
+	 * Return the value mapped to the given key, or {@code null} if there is none.
+	 */
+	V get(String key) {
+		Node<V> node = find(key);
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 * Return the entries whose key starts with the given prefix, in lexicographic order
+	 * of their keys, stopping after {@code limit} entries.
+	 */
+	Map<String, V> withPrefix(String prefix, int limit) {
+		Map<String, V> result = new LinkedHashMap<>();
+		Node<V> node = find(prefix);
+		if (node != null) {
+			collect(node, new StringBuilder(prefix), result, limit);
+		}
+		return result;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private Node<V> find(String key) {
+		Node<V> node = root;
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.children.get(key.charAt(i));
+		}
+		return node;
+	}
+
+	private void collect(Node<V> node, StringBuilder key, Map<String, V> result, int limit) {
+		if (result.size() >= limit) {
+			return;
+		}
+		if (node.value != null) {
+			result.put(key.toString(), node.value);
+		}
+		for (Map.Entry<Character, Node<V>> child : node.children.entrySet()) {
+			key.append(child.getKey());
+			collect(child.getValue(), key, result, limit);
+			key.setLength(key.length() - 1);
+		}
+	}
+
+	private static class Node<V> {
+
+		private final TreeMap<Character, Node<V>> children = new TreeMap<>();
+
+		private V value;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.completion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.cloud.deployer.admin.core.dsl.AppNode;
+import org.springframework.cloud.deployer.admin.core.dsl.ApplicationParser;
+import org.springframework.cloud.deployer.admin.core.dsl.ParseException;
+
+/**
+ * Proposes the options of an app when an option name is being typed, as in
+ * {@code time --fixed-de}.
+ */
+class UnfinishedOptionNameRecoveryStrategy implements RecoveryStrategy<ParseException> {
+
+	private static final Pattern UNFINISHED_OPTION_NAME = Pattern.compile("(.*\\s)--([\\w.\\-]*)", Pattern.DOTALL);
+
+	private final ApplicationCompletionIndex index;
+
+	UnfinishedOptionNameRecoveryStrategy(ApplicationCompletionIndex index) {
+		this.index = index;
+	}
+
+	@Override
+	public boolean shouldTrigger(String dslStart, Exception exception) {
+		return UNFINISHED_OPTION_NAME.matcher(dslStart).matches();
+	}
+
+	@Override
+	public void addProposals(String dsl, ParseException exception, int detailLevel, List<CompletionProposal> proposals) {
+		Matcher matcher = UNFINISHED_OPTION_NAME.matcher(dsl);
+		if (!matcher.matches()) {
+			return;
+		}
+		AppNode app;
+		try {
+			app = new ApplicationParser(matcher.group(1)).parse();
+		}
+		catch (ParseException e) {
+			return;
+		}
+		CompletionProposal.Factory proposalFactory = CompletionProposal.expanding(matcher.group(1) + "--");
+		for (Map.Entry<String, ConfigurationMetadataProperty> option
+				: index.optionsStartingWith(app, matcher.group(2), detailLevel).entrySet()) {
+			proposals.add(proposalFactory.withSuffix(option.getKey() + "=", option.getValue().getShortDescription()));
+		}
+	}
+}
@@ -34,7 +34,9 @@ public interface ValueHintProvider {
 	 * @param property     property for which to generate value hints
 	 * @param classLoader  class loader for the artifact/module that this
 	 * property applies to; this may be used to load other classes/resources
-	 * for generating value hints
+	 * for generating value hints, or {@code null} when the classes of the
+	 * artifact are not at hand, in which case only the metadata of the property
+	 * may be used
 	 * @return list of value hints for the provided property
 	 */
 	List<ValueHint> generateValueHints(ConfigurationMetadataProperty property, ClassLoader classLoader);
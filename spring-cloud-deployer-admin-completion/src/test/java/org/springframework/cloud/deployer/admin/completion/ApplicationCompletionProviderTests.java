@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.completion;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.deployer.admin.completion.Proposals.proposalThat;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+/**
+ * Tests for {@link ApplicationCompletionProvider}.
+ */
+public class ApplicationCompletionProviderTests {
+
+	private AppRegistry appRegistry;
+
+	private ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private ApplicationCompletionProvider completionProvider;
+
+	@Before
+	public void setup() {
+		DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+		appRegistry = mock(AppRegistry.class);
+		when(appRegistry.findAll()).thenReturn(Arrays.asList(
+				new AppRegistration("log", "sink", URI.create("file:///apps/log"), resourceLoader),
+				new AppRegistration("time", "source", URI.create("file:///apps/time"), resourceLoader),
+				new AppRegistration("timestamp", "task", URI.create("file:///apps/timestamp"), resourceLoader)));
+		metadataResolver = mock(ApplicationConfigurationMetadataResolver.class);
+		when(metadataResolver.listProperties(any(Resource.class))).thenAnswer(new Answer<List<ConfigurationMetadataProperty>>() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> answer(InvocationOnMock invocation) {
+				String app = ((Resource) invocation.getArguments()[0]).getFilename();
+				List<ConfigurationMetadataProperty> properties = new ArrayList<>();
+				if ("log".equals(app)) {
+					properties.add(property("log.level", "level", "debug", "info"));
+					properties.add(property("log.expression", "expression"));
+				}
+				else if ("time".equals(app)) {
+					properties.add(property("trigger.fixed-delay", "fixed-delay"));
+				}
+				else if ("timestamp".equals(app)) {
+					ConfigurationMetadataProperty fail = property("timestamp.fail", "fail");
+					fail.setType("java.lang.Boolean");
+					properties.add(fail);
+				}
+				return properties;
+			}
+		});
+		when(metadataResolver.listProperties(any(Resource.class), any(Boolean.class))).thenReturn(
+				Collections.singletonList(property("logging.pattern.console", "console")));
+		completionProvider = new ApplicationCompletionProvider(appRegistry, metadataResolver,
+				Collections.<ValueHintProvider>singletonList(new BooleanValueHintProvider()));
+	}
+
+	@Test
+	public void testEmptyStartProposesAllApps() {
+		assertThat(completionProvider.complete("", 1), containsInAnyOrder(
+				proposalThat(is("log")), proposalThat(is("time")), proposalThat(is("timestamp"))));
+	}
+
+	@Test
+	public void testUnfinishedAppName() {
+		assertThat(completionProvider.complete("ti", 1), containsInAnyOrder(
+				proposalThat(is("time")), proposalThat(is("timestamp"))));
+	}
+
+	@Test
+	public void testFinishedAppNameProposesLongerNamesAndOptions() {
+		assertThat(completionProvider.complete("time", 1), containsInAnyOrder(
+				proposalThat(is("timestamp")),
+				proposalThat(is("time --fixed-delay=")),
+				proposalThat(is("time --trigger.fixed-delay="))));
+	}
+
+	@Test
+	public void testUnfinishedOptionName() {
+		assertThat(completionProvider.complete("log --le", 1), containsInAnyOrder(
+				proposalThat(is("log --level="))));
+		assertThat(completionProvider.complete("log --log.", 1), containsInAnyOrder(
+				proposalThat(is("log --log.expression=")), proposalThat(is("log --log.level="))));
+	}
+
+	@Test
+	public void testOptionsAlreadySetAreNotProposed() {
+		assertThat(completionProvider.complete("log --level=info ", 1), containsInAnyOrder(
+				proposalThat(is("log --level=info --expression=")),
+				proposalThat(is("log --level=info --log.expression="))));
+	}
+
+	@Test
+	public void testOptionValues() {
+		assertThat(completionProvider.complete("log --level=", 1), containsInAnyOrder(
+				proposalThat(is("log --level=debug")), proposalThat(is("log --level=info"))));
+		assertThat(completionProvider.complete("log --level=de", 1), containsInAnyOrder(
+				proposalThat(is("log --level=debug"))));
+		assertThat(completionProvider.complete("log --level=debug", 1), is(empty()));
+	}
+
+	@Test
+	public void testOptionValuesFromValueHintProviders() {
+		assertThat(completionProvider.complete("timestamp --fail=", 1), containsInAnyOrder(
+				proposalThat(is("timestamp --fail=true")), proposalThat(is("timestamp --fail=false"))));
+		assertThat(completionProvider.complete("timestamp --fail=f", 1), containsInAnyOrder(
+				proposalThat(is("timestamp --fail=false"))));
+	}
+
+	@Test
+	public void testHigherDetailLevelProposesAllOptions() {
+		assertThat(completionProvider.complete("log --logging", 2), containsInAnyOrder(
+				proposalThat(is("log --logging.pattern.console="))));
+		assertThat(completionProvider.complete("log --logging", 1), is(empty()));
+	}
+
+	@Test
+	public void testOptionsIndexedOncePerArtifact() {
+		completionProvider.complete("log --le", 1);
+		completionProvider.complete("log --lev", 1);
+		completionProvider.complete("log --leve", 1);
+
+		verify(metadataResolver, times(1)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testAppNamesReindexedWhenRegistryChanges() {
+		completionProvider.complete("", 1);
+		when(appRegistry.getVersion()).thenReturn(1L);
+		when(appRegistry.findAll()).thenReturn(Collections.singletonList(
+				new AppRegistration("transform", "processor", URI.create("file:///apps/transform"),
+						new DefaultResourceLoader())));
+
+		assertThat(completionProvider.complete("t", 1), containsInAnyOrder(proposalThat(is("transform"))));
+	}
+
+	private static ConfigurationMetadataProperty property(String id, String name, String... values) {
+		ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+		property.setId(id);
+		property.setName(name);
+		for (String value : values) {
+			ValueHint valueHint = new ValueHint();
+			valueHint.setValue(value);
+			property.getValueHints().add(valueHint);
+		}
+		return property;
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.configuration.metadata;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.ExplodedArchive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded pool of app class loaders, keyed by artifact, that callers lease instead of
+ * creating and closing a class loader of their own.
+ *
+ * <p>Leases are reference counted: a class loader stays open for as long as it is leased,
+ * and is shared by every caller working with the same artifact. When the pool holds more
+ * than its maximum number of class loaders, the least recently leased ones are evicted
+ * and closed, right away if they are not leased or else as soon as their last lease is
+ * closed. An artifact is identified by its file and last modification time, so that a
+ * replaced artifact gets a class loader of its own.
+ */
+public class AppClassLoaderPool implements Closeable {
+
+	/**
+	 * Default maximum number of class loaders kept by a pool.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 16;
+
+	private static final Log logger = LogFactory.getLog(AppClassLoaderPool.class);
+
+	private final ClassLoader parent;
+
+	private final int maxSize;
+
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private int open;
+
+	private int leased;
+
+	private long evictions;
+
+	/**
+	 * Create a pool of at most {@link #DEFAULT_MAX_SIZE} class loaders.
+	 *
+	 * @param parent the parent of the class loaders created, may be {@code null}
+	 */
+	public AppClassLoaderPool(ClassLoader parent) {
+		this(parent, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a pool of at most {@code maxSize} class loaders.
+	 *
+	 * @param parent the parent of the class loaders created, may be {@code null}
+	 * @param maxSize the maximum number of class loaders kept
+	 */
+	public AppClassLoaderPool(ClassLoader parent, int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.parent = parent;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the parent of the class loaders created by this pool.
+	 */
+	public ClassLoader getParent() {
+		return parent;
+	}
+
+	/**
+	 * Lease the class loader of the given app, creating it if the pool does not hold one.
+	 * The lease must be closed once the class loader is no longer used.
+	 *
+	 * @param app a Boot uberjar or exploded directory
+	 * @return a lease on the class loader of the app
+	 * @throws IOException if the app could not be read
+	 */
+	public Lease lease(Resource app) throws IOException {
+		File file = app.getFile();
+		String key = file.getAbsolutePath() + "@" + file.lastModified();
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				entry.references++;
+				leased++;
+				return new Lease(entry);
+			}
+		}
+		Archive archive = file.isDirectory() ? new ExplodedArchive(file) : new JarFileArchive(file);
+		URLClassLoader classLoader = new BootClassLoaderFactory(archive, parent).createClassLoader();
+		List<Entry> evicted = new ArrayList<>();
+		Lease lease;
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				entry = new Entry(classLoader);
+				entries.put(key, entry);
+				open++;
+				classLoader = null;
+			}
+			entry.references++;
+			leased++;
+			lease = new Lease(entry);
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (entries.size() > maxSize && iterator.hasNext()) {
+				Entry eldest = iterator.next();
+				iterator.remove();
+				eldest.evicted = true;
+				evictions++;
+				if (eldest.references == 0) {
+					open--;
+					evicted.add(eldest);
+				}
+			}
+		}
+		if (classLoader != null) {
+			// another caller created a class loader for the same artifact in the meantime
+			close(classLoader);
+		}
+		for (Entry entry : evicted) {
+			close(entry.classLoader);
+		}
+		return lease;
+	}
+
+	/**
+	 * Return the number of class loaders currently open, including the evicted ones still leased.
+	 */
+	public synchronized int getOpenCount() {
+		return open;
+	}
+
+	/**
+	 * Return the number of leases currently not closed.
+	 */
+	public synchronized int getLeasedCount() {
+		return leased;
+	}
+
+	/**
+	 * Return the number of class loaders evicted since this pool was created.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Close all class loaders that are not leased, and evict the others so that they are
+	 * closed along with their last lease.
+	 */
+	@Override
+	public void close() {
+		List<Entry> idle = new ArrayList<>();
+		synchronized (this) {
+			for (Entry entry : entries.values()) {
+				entry.evicted = true;
+				if (entry.references == 0) {
+					open--;
+					idle.add(entry);
+				}
+			}
+			entries.clear();
+		}
+		for (Entry entry : idle) {
+			close(entry.classLoader);
+		}
+	}
+
+	private void release(Entry entry) {
+		boolean close;
+		synchronized (this) {
+			entry.references--;
+			leased--;
+			close = entry.evicted && entry.references == 0;
+			if (close) {
+				open--;
+			}
+		}
+		if (close) {
+			close(entry.classLoader);
+		}
+	}
+
+	private void close(URLClassLoader classLoader) {
+		try {
+			classLoader.close();
+		}
+		catch (IOException e) {
+			logger.warn("Failed to close app class loader", e);
+		}
+	}
+
+	private static class Entry {
+
+		private final URLClassLoader classLoader;
+
+		private int references;
+
+		private boolean evicted;
+
+		private Entry(URLClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+	}
+
+	/**
+	 * A lease on a pooled class loader, to be closed once the class loader is no longer used.
+	 */
+	public final class Lease implements Closeable {
+
+		private final Entry entry;
+
+		private boolean closed;
+
+		private Lease(Entry entry) {
+			this.entry = entry;
+		}
+
+		/**
+		 * Return the leased class loader. It must not be used once the lease is closed.
+		 */
+		public URLClassLoader getClassLoader() {
+			return entry.classLoader;
+		}
+
+		/**
+		 * Return the leased class loader to the pool. Closing a lease more than once has no effect.
+		 */
+		@Override
+		public void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+			}
+			release(entry);
+		}
+	}
+}
@@ -16,21 +16,48 @@
 
 package org.springframework.cloud.deployer.admin.configuration.metadata;
 
+import java.io.File;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
 
 /**
- * Automatically exposes an {@link ApplicationConfigurationMetadataResolver} if none is already registered.
+ * Automatically exposes an {@link ApplicationConfigurationMetadataResolver} if none is already registered,
+ * reading apps through a shared {@link AppClassLoaderPool}. Setting
+ * {@code spring.cloud.dataflow.apps.metadata-cache.directory} keeps the metadata read from
+ * apps in an {@link ApplicationMetadataCache} in that directory.
  *
  * @author Eric Bottard
  */
 @Configuration
 public class ApplicationConfigurationMetadataResolverAutoConfiguration {
 
+	@Bean(destroyMethod = "close")
+	@ConditionalOnMissingBean(AppClassLoaderPool.class)
+	public AppClassLoaderPool appClassLoaderPool(
+			@Value("${spring.cloud.dataflow.apps.class-loader-pool-size:" + AppClassLoaderPool.DEFAULT_MAX_SIZE + "}") int maxSize) {
+		return new AppClassLoaderPool(null, maxSize);
+	}
+
+	@Bean
+	@ConditionalOnProperty("spring.cloud.dataflow.apps.metadata-cache.directory")
+	@ConditionalOnMissingBean(ApplicationMetadataCache.class)
+	public ApplicationMetadataCache applicationMetadataCache(
+			@Value("${spring.cloud.dataflow.apps.metadata-cache.directory}") File directory,
+			@Value("${spring.cloud.dataflow.apps.metadata-cache.max-size:" + ApplicationMetadataCache.DEFAULT_MAX_SIZE + "}") long maxSize) {
+		return new ApplicationMetadataCache(directory, maxSize);
+	}
+
 	@Bean
 	@ConditionalOnMissingBean(ApplicationConfigurationMetadataResolver.class)
-	public ApplicationConfigurationMetadataResolver metadataResolver() {
-		return new DelegatingApplicationConfigurationMetadataResolver(new BootApplicationConfigurationMetadataResolver());
+	public ApplicationConfigurationMetadataResolver metadataResolver(AppClassLoaderPool appClassLoaderPool,
+			ObjectProvider<ApplicationMetadataCache> applicationMetadataCache) {
+		BootApplicationConfigurationMetadataResolver bootResolver = new BootApplicationConfigurationMetadataResolver(appClassLoaderPool);
+		bootResolver.setMetadataCache(applicationMetadataCache.getIfAvailable());
+		return new DelegatingApplicationConfigurationMetadataResolver(bootResolver);
 	}
 }
@@ -0,0 +1,470 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.configuration.metadata;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.Deprecation;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.boot.configurationmetadata.ValueProvider;
+import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A cache of the configuration metadata extracted from app artifacts, kept on local disk
+ * so that it survives restarts. Each artifact gets one file, named after the SHA-1 of the
+ * artifact, holding all its properties along with which of them are whitelisted. The
+ * SHA-1 is read from the {@code .sha1} file next to the artifact when there is one, as
+ * there is in a Maven repository, and computed otherwise.
+ * <p>
+ * Files use a compact binary format and are memory-mapped when read. Files that cannot
+ * be read, for example because they were written by another version of the format, are
+ * deleted and treated as missing. When the directory grows beyond its maximum size, the
+ * least recently used files are deleted.
+ */
+public class ApplicationMetadataCache {
+
+	/**
+	 * Default maximum size of the cache directory, in bytes.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+	private static final Log logger = LogFactory.getLog(ApplicationMetadataCache.class);
+
+	private static final int MAGIC = 0x5343444d;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String SUFFIX = ".metadata";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final byte NULL = 0, STRING = 1, BOOLEAN = 2, INTEGER = 3, LONG = 4, DOUBLE = 5, ARRAY = 6;
+
+	private final File directory;
+
+	private final long maxSize;
+
+	private final ConcurrentMap<String, String> keys = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a cache storing its files in the given directory, which is created if needed.
+	 *
+	 * @param directory the cache directory
+	 * @param maxSize the maximum size of the cache directory, in bytes
+	 */
+	public ApplicationMetadataCache(File directory, long maxSize) {
+		Assert.notNull(directory, "directory must not be null");
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the key identifying the given artifact in this cache, or {@code null} if the
+	 * artifact cannot be cached because it is a directory. The SHA-1 of an artifact is
+	 * computed at most once per file modification.
+	 *
+	 * @param artifact the artifact file
+	 * @return the key of the artifact, or {@code null}
+	 * @throws IOException if the artifact cannot be read
+	 */
+	public String key(File artifact) throws IOException {
+		if (artifact.isDirectory()) {
+			return null;
+		}
+		String fileKey = artifact.getAbsolutePath() + "@" + artifact.length() + "@" + artifact.lastModified();
+		String key = keys.get(fileKey);
+		if (key == null) {
+			key = sha1(artifact);
+			keys.put(fileKey, key);
+		}
+		return key;
+	}
+
+	/**
+	 * Return the metadata cached under the given key, or {@code null} if there is none.
+	 *
+	 * @param key the key of an artifact
+	 * @return the cached metadata, or {@code null}
+	 */
+	public Metadata get(String key) {
+		File file = new File(directory, key + SUFFIX);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+				FileChannel channel = randomAccessFile.getChannel()) {
+			Metadata metadata = read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			file.setLastModified(System.currentTimeMillis());
+			return metadata;
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn("Discarding unreadable metadata cache file " + file, e);
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Store the given metadata under the given key, then delete the least recently used
+	 * files if the cache directory outgrew its maximum size.
+	 *
+	 * @param key the key of an artifact
+	 * @param metadata the metadata of the artifact
+	 */
+	public void put(String key, Metadata metadata) {
+		File file = new File(directory, key + SUFFIX);
+		File temp = null;
+		try {
+			if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+				throw new IOException("Cannot create directory " + directory);
+			}
+			temp = File.createTempFile(key, ".tmp", directory);
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				write(metadata, output);
+			}
+			if (!temp.renameTo(file)) {
+				file.delete();
+				if (!temp.renameTo(file)) {
+					throw new IOException("Cannot rename " + temp + " to " + file);
+				}
+			}
+		}
+		catch (IOException e) {
+			logger.warn("Failed to write metadata cache file " + file, e);
+			if (temp != null) {
+				temp.delete();
+			}
+			return;
+		}
+		evict();
+	}
+
+	private synchronized void evict() {
+		File[] files = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(SUFFIX);
+			}
+		});
+		if (files == null) {
+			return;
+		}
+		long size = 0;
+		for (File file : files) {
+			size += file.length();
+		}
+		if (size <= maxSize) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File left, File right) {
+				long difference = left.lastModified() - right.lastModified();
+				return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+			}
+		});
+		for (File file : files) {
+			if (size <= maxSize) {
+				break;
+			}
+			long length = file.length();
+			if (file.delete()) {
+				size -= length;
+			}
+		}
+	}
+
+	private String sha1(File artifact) throws IOException {
+		File checksum = new File(artifact.getParentFile(), artifact.getName() + ".sha1");
+		if (checksum.isFile()) {
+			String content = new String(FileCopyUtils.copyToByteArray(checksum), UTF_8).trim();
+			String[] tokens = StringUtils.tokenizeToStringArray(content, " \t\r\n");
+			if (tokens.length > 0 && tokens[0].matches("[0-9a-fA-F]{40}")) {
+				return tokens[0].toLowerCase();
+			}
+		}
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] buffer = new byte[8192];
+		try (InputStream input = new FileInputStream(artifact)) {
+			for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(String.format("%02x", b & 0xff));
+		}
+		return hex.toString();
+	}
+
+	private void write(Metadata metadata, DataOutputStream output) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT_VERSION);
+		output.writeInt(metadata.properties.size());
+		for (int i = 0; i < metadata.properties.size(); i++) {
+			ConfigurationMetadataProperty property = metadata.properties.get(i);
+			output.writeBoolean(metadata.whitelisted.get(i));
+			writeString(property.getId(), output);
+			writeString(property.getName(), output);
+			writeString(property.getType(), output);
+			writeString(property.getDescription(), output);
+			writeString(property.getShortDescription(), output);
+			writeValue(property.getDefaultValue(), output);
+			Deprecation deprecation = property.getDeprecation();
+			output.writeBoolean(deprecation != null);
+			if (deprecation != null) {
+				writeString(deprecation.getReason(), output);
+				writeString(deprecation.getReplacement(), output);
+			}
+			output.writeInt(property.getValueHints().size());
+			for (ValueHint valueHint : property.getValueHints()) {
+				writeValue(valueHint.getValue(), output);
+				writeString(valueHint.getDescription(), output);
+				writeString(valueHint.getShortDescription(), output);
+			}
+			output.writeInt(property.getValueProviders().size());
+			for (ValueProvider valueProvider : property.getValueProviders()) {
+				writeString(valueProvider.getName(), output);
+				output.writeInt(valueProvider.getParameters().size());
+				for (Map.Entry<String, Object> parameter : valueProvider.getParameters().entrySet()) {
+					writeString(parameter.getKey(), output);
+					writeValue(parameter.getValue(), output);
+				}
+			}
+		}
+	}
+
+	private void writeString(String value, DataOutputStream output) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private void writeValue(Object value, DataOutputStream output) throws IOException {
+		if (value == null) {
+			output.writeByte(NULL);
+		}
+		else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Integer) {
+			output.writeByte(INTEGER);
+			output.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		}
+		else if (value instanceof Double) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		}
+		else if (value instanceof Object[]) {
+			Object[] values = (Object[]) value;
+			output.writeByte(ARRAY);
+			output.writeInt(values.length);
+			for (Object element : values) {
+				writeValue(element, output);
+			}
+		}
+		else {
+			output.writeByte(STRING);
+			writeString(value.toString(), output);
+		}
+	}
+
+	private Metadata read(ByteBuffer input) throws IOException {
+		try {
+			if (input.getInt() != MAGIC || input.getInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported metadata cache format");
+			}
+			int count = readLength(input);
+			List<ConfigurationMetadataProperty> properties = new ArrayList<>(count);
+			BitSet whitelisted = new BitSet(count);
+			for (int i = 0; i < count; i++) {
+				whitelisted.set(i, input.get() != 0);
+				ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+				property.setId(readString(input));
+				property.setName(readString(input));
+				property.setType(readString(input));
+				property.setDescription(readString(input));
+				property.setShortDescription(readString(input));
+				property.setDefaultValue(readValue(input));
+				if (input.get() != 0) {
+					Deprecation deprecation = new Deprecation();
+					deprecation.setReason(readString(input));
+					deprecation.setReplacement(readString(input));
+					property.setDeprecation(deprecation);
+				}
+				for (int hints = readLength(input); hints > 0; hints--) {
+					ValueHint valueHint = new ValueHint();
+					valueHint.setValue(readValue(input));
+					valueHint.setDescription(readString(input));
+					valueHint.setShortDescription(readString(input));
+					property.getValueHints().add(valueHint);
+				}
+				for (int providers = readLength(input); providers > 0; providers--) {
+					ValueProvider valueProvider = new ValueProvider();
+					valueProvider.setName(readString(input));
+					for (int parameters = readLength(input); parameters > 0; parameters--) {
+						valueProvider.getParameters().put(readString(input), readValue(input));
+					}
+					property.getValueProviders().add(valueProvider);
+				}
+				properties.add(property);
+			}
+			return new Metadata(properties, whitelisted);
+		}
+		catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("Truncated metadata cache file", e);
+		}
+	}
+
+	/**
+	 * Read the number of elements, or bytes, that follow. Each takes at least one byte, so
+	 * a number beyond the bytes left can only come from a corrupted file, and is rejected
+	 * before anything is allocated for it.
+	 */
+	private int readLength(ByteBuffer input) throws IOException {
+		return checkLength(input.getInt(), input);
+	}
+
+	private int checkLength(int length, ByteBuffer input) throws IOException {
+		if (length < 0 || length > input.remaining()) {
+			throw new IOException("Corrupted metadata cache file: invalid length " + length
+					+ " with " + input.remaining() + " bytes left");
+		}
+		return length;
+	}
+
+	private String readString(ByteBuffer input) throws IOException {
+		int length = input.getInt();
+		if (length == -1) {
+			return null;
+		}
+		byte[] bytes = new byte[checkLength(length, input)];
+		input.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private Object readValue(ByteBuffer input) throws IOException {
+		byte type = input.get();
+		switch (type) {
+			case NULL:
+				return null;
+			case STRING:
+				return readString(input);
+			case BOOLEAN:
+				return input.get() != 0;
+			case INTEGER:
+				return input.getInt();
+			case LONG:
+				return input.getLong();
+			case DOUBLE:
+				return input.getDouble();
+			case ARRAY:
+				Object[] values = new Object[readLength(input)];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = readValue(input);
+				}
+				return values;
+			default:
+				throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	/**
+	 * The configuration metadata of an app: all its properties, and which of them are
+	 * whitelisted.
+	 */
+	public static final class Metadata {
+
+		private final List<ConfigurationMetadataProperty> properties;
+
+		private final BitSet whitelisted;
+
+		/**
+		 * Create the metadata of an app.
+		 *
+		 * @param properties all the properties of the app
+		 * @param whitelisted the indexes in {@code properties} of the whitelisted properties
+		 */
+		public Metadata(List<ConfigurationMetadataProperty> properties, BitSet whitelisted) {
+			Assert.notNull(properties, "properties must not be null");
+			Assert.notNull(whitelisted, "whitelisted must not be null");
+			this.properties = properties;
+			this.whitelisted = whitelisted;
+		}
+
+		/**
+		 * Return the properties of the app.
+		 *
+		 * @param exhaustive whether to return all properties, or only the whitelisted ones
+		 * @return the properties
+		 */
+		public List<ConfigurationMetadataProperty> getProperties(boolean exhaustive) {
+			if (exhaustive) {
+				return new ArrayList<>(properties);
+			}
+			List<ConfigurationMetadataProperty> result = new ArrayList<>();
+			for (int i = whitelisted.nextSetBit(0); i >= 0 && i < properties.size(); i = whitelisted.nextSetBit(i + 1)) {
+				result.add(properties.get(i));
+			}
+			return result;
+		}
+	}
+}
@@ -18,18 +18,23 @@ package org.springframework.cloud.deployer.admin.configuration.metadata;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataGroup;
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataRepositoryJsonBuilder;
+import org.springframework.boot.configurationmetadata.ValueHint;
 import org.springframework.boot.loader.archive.Archive;
 import org.springframework.boot.loader.archive.ExplodedArchive;
 import org.springframework.boot.loader.archive.JarFileArchive;
@@ -44,6 +49,12 @@ import org.springframework.util.StringUtils;
  *
  * Supports Boot 1.3 and 1.4+ layouts thanks to a pluggable BootClassLoaderCreation strategy.
  *
+ * Properties of an enum type that declare no value hints of their own are given one hint
+ * per enum constant, read from the class file of the type with {@link EnumConstantsReader}.
+ *
+ * When given an {@link ApplicationMetadataCache}, the metadata read from an uber-jar is
+ * kept on disk and reused across restarts as long as the jar does not change.
+ *
  * @author Eric Bottard
  */
 public class BootApplicationConfigurationMetadataResolver extends ApplicationConfigurationMetadataResolver {
@@ -62,12 +73,31 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 
 	private final ClassLoader parent;
 
+	private final AppClassLoaderPool classLoaderPool;
+
+	private ApplicationMetadataCache metadataCache;
+
 	public BootApplicationConfigurationMetadataResolver() {
-		this(null);
+		this((ClassLoader) null);
 	}
 
 	public BootApplicationConfigurationMetadataResolver(ClassLoader parent) {
+		this(parent, null);
+	}
+
+	/**
+	 * Create a resolver that leases the class loaders of the apps it reads from the given pool,
+	 * rather than creating and closing a class loader each time.
+	 *
+	 * @param classLoaderPool the pool of app class loaders
+	 */
+	public BootApplicationConfigurationMetadataResolver(AppClassLoaderPool classLoaderPool) {
+		this(classLoaderPool.getParent(), classLoaderPool);
+	}
+
+	private BootApplicationConfigurationMetadataResolver(ClassLoader parent, AppClassLoaderPool classLoaderPool) {
 		this.parent = parent;
+		this.classLoaderPool = classLoaderPool;
 		JarFile.registerUrlProtocolHandler();
 		try {
 			Resource[] globalResources = new PathMatchingResourcePatternResolver(ApplicationConfigurationMetadataResolver.class.getClassLoader()).getResources(WHITELIST_PROPERTIES);
@@ -78,6 +108,16 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 		}
 	}
 
+	/**
+	 * Set the cache keeping the metadata read from app artifacts across restarts. Apps
+	 * provided as directories are never cached.
+	 *
+	 * @param metadataCache the metadata cache, or {@code null} not to cache metadata
+	 */
+	public void setMetadataCache(ApplicationMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
 	@Override
 	public boolean supports(Resource app) {
 		try {
@@ -98,53 +138,82 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 	 */
 	public List<ConfigurationMetadataProperty> listProperties(Resource app, boolean exhaustive) {
 		try {
-			Archive archive = resolveAsArchive(app);
-			return listProperties(archive, exhaustive);
+			String key = (metadataCache != null) ? metadataCache.key(app.getFile()) : null;
+			ApplicationMetadataCache.Metadata metadata = (key != null) ? metadataCache.get(key) : null;
+			if (metadata == null) {
+				metadata = readMetadata(app);
+				if (key != null) {
+					metadataCache.put(key, metadata);
+				}
+			}
+			return metadata.getProperties(exhaustive);
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Failed to list properties for " + app, e);
 		}
 	}
 
-	public List<ConfigurationMetadataProperty> listProperties(Archive archive, boolean exhaustive) {
-		try (URLClassLoader moduleClassLoader = new BootClassLoaderFactory(archive, parent).createClassLoader()) {
-			List<ConfigurationMetadataProperty> result = new ArrayList<>();
-			ResourcePatternResolver moduleResourceLoader = new PathMatchingResourcePatternResolver(moduleClassLoader);
-			Collection<String> whiteListedClasses = new HashSet<>(globalWhiteListedClasses);
-			Collection<String> whiteListedProperties = new HashSet<>(globalWhiteListedProperties);
-			Resource[] whitelistDescriptors = moduleResourceLoader.getResources(WHITELIST_PROPERTIES);
-			boolean include = (whitelistDescriptors.length == 0) || exhaustive; // when no descriptors, return everything
-			loadWhiteLists(whitelistDescriptors, whiteListedClasses, whiteListedProperties);
-			ConfigurationMetadataRepositoryJsonBuilder builder = ConfigurationMetadataRepositoryJsonBuilder.create();
-			for (Resource r : moduleResourceLoader.getResources(CONFIGURATION_METADATA_PATTERN)) {
-				builder.withJsonResource(r.getInputStream());
+	private ApplicationMetadataCache.Metadata readMetadata(Resource app) throws IOException {
+		if (classLoaderPool == null) {
+			Archive archive = resolveAsArchive(app);
+			try (URLClassLoader moduleClassLoader = new BootClassLoaderFactory(archive, parent).createClassLoader()) {
+				return readMetadata(moduleClassLoader);
 			}
-			for (ConfigurationMetadataGroup group : builder.build().getAllGroups().values()) {
-				if (include || isWhiteListed(group, whiteListedClasses)) {
-					result.addAll(group.getProperties().values());
-				} // Props in the root group have an id that looks prefixed itself. Handle here
-				else if ("_ROOT_GROUP_".equals(group.getId())) {
-					for (ConfigurationMetadataProperty property : group.getProperties().values()) {
-						if (isWhiteListed(property, whiteListedProperties)) {
-							result.add(property);
-						}
-					}
-				}
-				else { // Look for per property WL
-					for (ConfigurationMetadataProperty property : group.getProperties().values()) {
-						if (isWhiteListed(property, whiteListedProperties)) {
-							result.add(property);
-						}
-					}
-				}
+			catch (RuntimeException e) {
+				throw new RuntimeException("Exception trying to list configuration properties for application " + archive, e);
 			}
-			return result;
+		}
+		try (AppClassLoaderPool.Lease lease = classLoaderPool.lease(app)) {
+			return readMetadata(lease.getClassLoader());
+		}
+		catch (RuntimeException e) {
+			throw new RuntimeException("Exception trying to list configuration properties for application " + app, e);
+		}
+	}
+
+	public List<ConfigurationMetadataProperty> listProperties(Archive archive, boolean exhaustive) {
+		try (URLClassLoader moduleClassLoader = new BootClassLoaderFactory(archive, parent).createClassLoader()) {
+			return readMetadata(moduleClassLoader).getProperties(exhaustive);
 		}
 		catch (Exception e) {
 			throw new RuntimeException("Exception trying to list configuration properties for application " + archive, e);
 		}
 	}
 
+	/**
+	 * Read all the properties of an app, noting which of them are whitelisted. When the app
+	 * has no whitelist descriptor, all its properties are considered whitelisted.
+	 */
+	private ApplicationMetadataCache.Metadata readMetadata(ClassLoader moduleClassLoader) throws IOException {
+		List<ConfigurationMetadataProperty> result = new ArrayList<>();
+		BitSet whitelisted = new BitSet();
+		ResourcePatternResolver moduleResourceLoader = new PathMatchingResourcePatternResolver(moduleClassLoader);
+		Collection<String> whiteListedClasses = new HashSet<>(globalWhiteListedClasses);
+		Collection<String> whiteListedProperties = new HashSet<>(globalWhiteListedProperties);
+		Resource[] whitelistDescriptors = moduleResourceLoader.getResources(WHITELIST_PROPERTIES);
+		boolean include = (whitelistDescriptors.length == 0); // when no descriptors, everything is whitelisted
+		loadWhiteLists(whitelistDescriptors, whiteListedClasses, whiteListedProperties);
+		ConfigurationMetadataRepositoryJsonBuilder builder = ConfigurationMetadataRepositoryJsonBuilder.create();
+		for (Resource r : moduleResourceLoader.getResources(CONFIGURATION_METADATA_PATTERN)) {
+			try (InputStream inputStream = r.getInputStream()) {
+				builder.withJsonResource(inputStream);
+			}
+		}
+		for (ConfigurationMetadataGroup group : builder.build().getAllGroups().values()) {
+			boolean groupWhiteListed = include || isWhiteListed(group, whiteListedClasses);
+			// Props in the root group have an id that looks prefixed itself, so they are
+			// looked up in the per property WL like any other
+			for (ConfigurationMetadataProperty property : group.getProperties().values()) {
+				if (groupWhiteListed || isWhiteListed(property, whiteListedProperties)) {
+					whitelisted.set(result.size());
+				}
+				result.add(property);
+			}
+		}
+		addEnumValueHints(result, moduleClassLoader);
+		return new ApplicationMetadataCache.Metadata(result, whitelisted);
+	}
+
 	@Override
 	public URLClassLoader createAppClassLoader(Resource app) {
 		try {
@@ -160,6 +229,31 @@ public class BootApplicationConfigurationMetadataResolver extends ApplicationCon
 			return moduleFile.isDirectory() ? new ExplodedArchive(moduleFile) : new JarFileArchive(moduleFile);
 	}
 
+	/**
+	 * Adds the constants of enum typed properties as value hints, for properties that do not
+	 * declare hints of their own. Enum types are read from their class files, never loaded.
+	 */
+	private void addEnumValueHints(List<ConfigurationMetadataProperty> properties, ClassLoader moduleClassLoader) {
+		Map<String, List<String>> constantsByType = new HashMap<>();
+		for (ConfigurationMetadataProperty property : properties) {
+			String type = property.getType();
+			if (type == null || !property.getValueHints().isEmpty()) {
+				continue;
+			}
+			if (!constantsByType.containsKey(type)) {
+				constantsByType.put(type, EnumConstantsReader.readEnumConstants(type, moduleClassLoader));
+			}
+			List<String> constants = constantsByType.get(type);
+			if (constants != null) {
+				for (String constant : constants) {
+					ValueHint valueHint = new ValueHint();
+					valueHint.setValue(constant);
+					property.getValueHints().add(valueHint);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Loads white lists of properties and group classes and add them to the given collections.
 	 */
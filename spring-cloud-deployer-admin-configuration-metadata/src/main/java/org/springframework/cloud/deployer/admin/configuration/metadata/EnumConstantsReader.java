@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.configuration.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reads the constants of an enum type straight from its class file, without defining
+ * the class. This avoids loading, linking and initializing app classes in the server
+ * just to list the values a configuration property accepts.
+ */
+public final class EnumConstantsReader {
+
+	private EnumConstantsReader() {
+	}
+
+	/**
+	 * Return the constants of the given type, in declaration order, reading its class file
+	 * as a resource of the given class loader.
+	 *
+	 * @param typeName the fully qualified name of the type
+	 * @param classLoader the class loader used to locate the class file
+	 * @return the enum constants, or {@code null} if the type is not an enum or its class
+	 * file could not be found
+	 */
+	public static List<String> readEnumConstants(String typeName, ClassLoader classLoader) {
+		if (typeName == null || classLoader == null || !isPlainClassName(typeName)) {
+			return null;
+		}
+		InputStream classFile = classLoader.getResourceAsStream(ClassUtils.convertClassNameToResourcePath(typeName)
+				+ ClassUtils.CLASS_FILE_SUFFIX);
+		if (classFile == null) {
+			return null;
+		}
+		try {
+			return readEnumConstants(classFile);
+		}
+		catch (IOException | RuntimeException e) {
+			return null;
+		}
+		finally {
+			try {
+				classFile.close();
+			}
+			catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Return the constants of the enum type defined by the given class file, in declaration order.
+	 *
+	 * @param classFile the content of the class file
+	 * @return the enum constants, or {@code null} if the class file does not define an enum
+	 * @throws IOException if the class file could not be read
+	 */
+	public static List<String> readEnumConstants(InputStream classFile) throws IOException {
+		EnumConstantsVisitor visitor = new EnumConstantsVisitor();
+		new ClassReader(classFile).accept(visitor,
+				ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return visitor.isEnum ? visitor.constants : null;
+	}
+
+	private static boolean isPlainClassName(String typeName) {
+		return typeName.indexOf('<') == -1 && !typeName.endsWith("[]");
+	}
+
+	private static class EnumConstantsVisitor extends ClassVisitor {
+
+		private final List<String> constants = new ArrayList<>();
+
+		private boolean isEnum;
+
+		private EnumConstantsVisitor() {
+			super(SpringAsmInfo.ASM_VERSION);
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName,
+				String[] interfaces) {
+			isEnum = (access & Opcodes.ACC_ENUM) != 0 && "java/lang/Enum".equals(superName);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+			if (isEnum && (access & Opcodes.ACC_ENUM) != 0) {
+				constants.add(name);
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.configuration.metadata;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Tests for {@link AppClassLoaderPool}.
+ */
+public class AppClassLoaderPoolTests {
+
+	private final Resource filterProcessor = new ClassPathResource("apps/filter-processor", getClass());
+
+	private final Resource noWhitelist = new ClassPathResource("apps/no-whitelist", getClass());
+
+	private AppClassLoaderPool pool = new AppClassLoaderPool(null, 1);
+
+	@After
+	public void closePool() {
+		pool.close();
+	}
+
+	@Test
+	public void leasesOfTheSameAppShareAClassLoader() throws Exception {
+		try (AppClassLoaderPool.Lease first = pool.lease(filterProcessor);
+				AppClassLoaderPool.Lease second = pool.lease(filterProcessor)) {
+			assertThat(second.getClassLoader(), sameInstance(first.getClassLoader()));
+			assertThat(pool.getOpenCount(), is(1));
+			assertThat(pool.getLeasedCount(), is(2));
+		}
+		assertThat(pool.getOpenCount(), is(1));
+		assertThat(pool.getLeasedCount(), is(0));
+	}
+
+	@Test
+	public void idleClassLoadersAreEvictedRightAway() throws Exception {
+		pool.lease(filterProcessor).close();
+		try (AppClassLoaderPool.Lease lease = pool.lease(noWhitelist)) {
+			assertThat(pool.getOpenCount(), is(1));
+			assertThat(pool.getEvictionCount(), is(1L));
+		}
+	}
+
+	@Test
+	public void leasedClassLoadersAreClosedWithTheirLastLease() throws Exception {
+		AppClassLoaderPool.Lease first = pool.lease(filterProcessor);
+		try (AppClassLoaderPool.Lease second = pool.lease(noWhitelist)) {
+			assertThat(second.getClassLoader(), not(sameInstance(first.getClassLoader())));
+			assertThat(pool.getOpenCount(), is(2));
+			assertThat(pool.getEvictionCount(), is(1L));
+			first.close();
+			first.close();
+			assertThat(pool.getOpenCount(), is(1));
+			assertThat(pool.getLeasedCount(), is(1));
+		}
+	}
+
+	@Test
+	public void resolverListsPropertiesWithPooledClassLoaders() {
+		BootApplicationConfigurationMetadataResolver resolver = new BootApplicationConfigurationMetadataResolver(pool);
+		List<ConfigurationMetadataProperty> first = resolver.listProperties(filterProcessor, true);
+		List<ConfigurationMetadataProperty> second = resolver.listProperties(filterProcessor, true);
+		assertThat(second.size(), is(first.size()));
+		assertThat(pool.getOpenCount(), is(1));
+		assertThat(pool.getLeasedCount(), is(0));
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.configuration.metadata;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.Deprecation;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileCopyUtils;
+
+/**
+ * Tests for {@link ApplicationMetadataCache}.
+ */
+public class ApplicationMetadataCacheTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void metadataShouldSurviveARoundTrip() throws Exception {
+		ApplicationMetadataCache cache = new ApplicationMetadataCache(folder.newFolder("cache"), 1024 * 1024);
+		ConfigurationMetadataProperty property = property("log.level");
+		property.setDefaultValue(new Object[] {"INFO", 3, 4L, 1.5d, true, null});
+		Deprecation deprecation = new Deprecation();
+		deprecation.setReplacement("log.threshold");
+		property.setDeprecation(deprecation);
+		ValueHint valueHint = new ValueHint();
+		valueHint.setValue("DEBUG");
+		valueHint.setDescription("Debug level.");
+		property.getValueHints().add(valueHint);
+		BitSet whitelisted = new BitSet();
+		whitelisted.set(1);
+		cache.put("abc", new ApplicationMetadataCache.Metadata(Arrays.asList(property, property("log.name")), whitelisted));
+
+		ApplicationMetadataCache.Metadata metadata = cache.get("abc");
+
+		assertThat(ids(metadata.getProperties(true)), contains("log.level", "log.name"));
+		assertThat(ids(metadata.getProperties(false)), contains("log.name"));
+		ConfigurationMetadataProperty read = metadata.getProperties(true).get(0);
+		assertThat((Object[]) read.getDefaultValue(), arrayContaining((Object) "INFO", 3, 4L, 1.5d, true, null));
+		assertThat(read.getDeprecation().getReplacement(), is("log.threshold"));
+		assertThat(read.getDeprecation().getReason(), nullValue());
+		assertThat(read.getValueHints().get(0).getValue(), is((Object) "DEBUG"));
+		assertThat(read.getValueHints().get(0).getDescription(), is("Debug level."));
+	}
+
+	@Test
+	public void keyShouldComeFromTheChecksumFileWhenPresent() throws Exception {
+		ApplicationMetadataCache cache = new ApplicationMetadataCache(folder.newFolder("cache"), 1024 * 1024);
+		File artifact = folder.newFile("log-sink.jar");
+		FileCopyUtils.copy("da39a3ee5e6b4b0d3255bfef95601890afd80709  log-sink.jar".getBytes(), new File(folder.getRoot(), "log-sink.jar.sha1"));
+		File other = folder.newFile("time-source.jar");
+
+		assertThat(cache.key(artifact), is("da39a3ee5e6b4b0d3255bfef95601890afd80709"));
+		assertThat(cache.key(other), is("da39a3ee5e6b4b0d3255bfef95601890afd80709"));
+		assertThat(cache.key(folder.getRoot()), nullValue());
+	}
+
+	@Test
+	public void unreadableFilesShouldBeDiscarded() throws Exception {
+		File directory = folder.newFolder("cache");
+		ApplicationMetadataCache cache = new ApplicationMetadataCache(directory, 1024 * 1024);
+		File file = new File(directory, "abc.metadata");
+		FileCopyUtils.copy(new byte[] {1, 2, 3}, file);
+
+		assertThat(cache.get("abc"), nullValue());
+		assertThat(file.exists(), is(false));
+	}
+
+	@Test
+	public void corruptedLengthsShouldBeRejectedBeforeAllocating() throws Exception {
+		File directory = folder.newFolder("cache");
+		ApplicationMetadataCache cache = new ApplicationMetadataCache(directory, 1024 * 1024);
+		for (int length : new int[] {Integer.MAX_VALUE, -2}) {
+			File file = new File(directory, "abc.metadata");
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream output = new DataOutputStream(bytes);
+			output.writeInt(0x5343444d);
+			output.writeInt(1);
+			output.writeInt(1);
+			output.writeByte(0);
+			output.writeInt(length);
+			output.close();
+			FileCopyUtils.copy(bytes.toByteArray(), file);
+
+			assertThat(cache.get("abc"), nullValue());
+			assertThat(file.exists(), is(false));
+		}
+	}
+
+	@Test
+	public void leastRecentlyUsedFilesShouldBeEvicted() throws Exception {
+		File directory = folder.newFolder("cache");
+		ApplicationMetadataCache cache = new ApplicationMetadataCache(directory, 250);
+		List<ConfigurationMetadataProperty> properties = Arrays.asList(property("some.property.with.a.rather.long.name"));
+		cache.put("first", new ApplicationMetadataCache.Metadata(properties, new BitSet()));
+		cache.put("second", new ApplicationMetadataCache.Metadata(properties, new BitSet()));
+		new File(directory, "first.metadata").setLastModified(System.currentTimeMillis() - 60000);
+		new File(directory, "second.metadata").setLastModified(System.currentTimeMillis() - 30000);
+		cache.put("third", new ApplicationMetadataCache.Metadata(properties, new BitSet()));
+
+		assertThat(directory.list(), arrayWithSize(2));
+		assertThat(cache.get("first"), nullValue());
+	}
+
+	@Test
+	public void resolverShouldReuseCachedMetadata() throws Exception {
+		File directory = folder.newFolder("cache");
+		File jar = jar(new ClassPathResource("apps/filter-processor", getClass()).getFile());
+		BootApplicationConfigurationMetadataResolver resolver = new BootApplicationConfigurationMetadataResolver();
+		resolver.setMetadataCache(new ApplicationMetadataCache(directory, 1024 * 1024));
+		List<ConfigurationMetadataProperty> whitelisted = resolver.listProperties(new FileSystemResource(jar));
+		List<ConfigurationMetadataProperty> all = resolver.listProperties(new FileSystemResource(jar), true);
+
+		BootApplicationConfigurationMetadataResolver restarted = new BootApplicationConfigurationMetadataResolver();
+		restarted.setMetadataCache(new ApplicationMetadataCache(directory, 1024 * 1024));
+
+		assertThat(directory.list(), arrayWithSize(1));
+		assertThat(ids(restarted.listProperties(new FileSystemResource(jar))), is(ids(whitelisted)));
+		assertThat(ids(restarted.listProperties(new FileSystemResource(jar), true)), is(ids(all)));
+	}
+
+	private ConfigurationMetadataProperty property(String id) {
+		ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+		property.setId(id);
+		property.setType("java.lang.String");
+		return property;
+	}
+
+	private List<String> ids(List<ConfigurationMetadataProperty> properties) {
+		List<String> ids = new ArrayList<>();
+		for (ConfigurationMetadataProperty property : properties) {
+			ids.add(property.getId());
+		}
+		return ids;
+	}
+
+	private File jar(File directory) throws IOException {
+		File jar = folder.newFile(directory.getName() + ".jar");
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jar))) {
+			addEntries(directory, "", output);
+		}
+		return jar;
+	}
+
+	private void addEntries(File directory, String prefix, JarOutputStream output) throws IOException {
+		for (File file : directory.listFiles()) {
+			if (file.isDirectory()) {
+				output.putNextEntry(new JarEntry(prefix + file.getName() + "/"));
+				addEntries(file, prefix + file.getName() + "/", output);
+			}
+			else {
+				output.putNextEntry(new JarEntry(prefix + file.getName()));
+				output.write(FileCopyUtils.copyToByteArray(file));
+			}
+		}
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.deployer.admin.configuration.metadata;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
@@ -23,12 +25,14 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.deployer.admin.configuration.metadata.BootApplicationConfigurationMetadataResolver;
 import org.springframework.core.io.ClassPathResource;
@@ -65,6 +69,23 @@ public class BootApplicationConfigurationMetadataResolverTests {
 		assertThat(properties.size(), is(full.size()));
 	}
 
+	@Test
+	public void enumConstantsShouldBeHintedWithoutLoadingTheEnum() {
+		List<ConfigurationMetadataProperty> properties = resolver.listProperties(new ClassPathResource("apps/no-whitelist", getClass()));
+		for (ConfigurationMetadataProperty property : properties) {
+			if ("some.prefix.unit".equals(property.getId())) {
+				List<String> values = new ArrayList<>();
+				for (ValueHint valueHint : property.getValueHints()) {
+					values.add((String) valueHint.getValue());
+				}
+				assertThat(values, contains("NANOSECONDS", "MICROSECONDS", "MILLISECONDS", "SECONDS", "MINUTES", "HOURS", "DAYS"));
+			}
+			else {
+				assertThat(property.getValueHints(), is(empty()));
+			}
+		}
+	}
+
 	private Matcher<ConfigurationMetadataProperty> configPropertyIdentifiedAs(String name) {
 		return hasProperty("id", is(name));
 	}
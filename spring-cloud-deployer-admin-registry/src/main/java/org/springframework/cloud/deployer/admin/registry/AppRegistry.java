@@ -21,9 +21,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.admin.registry.support.AppRegistryIndex;
+import org.springframework.cloud.deployer.admin.registry.support.AppRegistryIndexFetcher;
 import org.springframework.cloud.deployer.admin.registry.support.NoSuchAppRegistrationException;
 import org.springframework.cloud.deployer.resource.registry.UriRegistry;
-import org.springframework.cloud.deployer.resource.registry.UriRegistryPopulator;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
@@ -37,20 +41,31 @@ import org.springframework.core.io.ResourceLoader;
  */
 public class AppRegistry {
 
+	private static final Log logger = LogFactory.getLog(AppRegistry.class);
+
+	private static final String CHANGE_VERSION_NAME = "URI_REGISTRY";
+
 	private final UriRegistry uriRegistry;
 
-	private final UriRegistryPopulator uriRegistryPopulator;
+	private final AppRegistryIndexFetcher indexFetcher;
 
 	private final ResourceLoader resourceLoader;
 
 	private EavRegistryRepository eavRegistryRepository;
 
+	private final ChangeVersions changeVersions;
+
 	public AppRegistry(UriRegistry uriRegistry, ResourceLoader resourceLoader, EavRegistryRepository eavRegistryRepository) {
+		this(uriRegistry, resourceLoader, eavRegistryRepository, new InMemoryChangeVersions());
+	}
+
+	public AppRegistry(UriRegistry uriRegistry, ResourceLoader resourceLoader, EavRegistryRepository eavRegistryRepository,
+			ChangeVersions changeVersions) {
 		this.uriRegistry = uriRegistry;
-		this.uriRegistryPopulator = new UriRegistryPopulator();
-		this.uriRegistryPopulator.setResourceLoader(resourceLoader);
+		this.indexFetcher = new AppRegistryIndexFetcher(resourceLoader);
 		this.resourceLoader = resourceLoader;
 		this.eavRegistryRepository = eavRegistryRepository;
+		this.changeVersions = changeVersions;
 	}
 
 	public AppRegistration find(String name, String type) {
@@ -74,22 +89,55 @@ public class AppRegistry {
 	public AppRegistration save(String name, String type, URI uri) {
 		this.uriRegistry.register(key(name, type), uri);
 		this.eavRegistryRepository.save("spring-cloud-deployer-admin-app-" + name, "type", type);
+		this.changeVersions.increment(CHANGE_VERSION_NAME);
 		return new AppRegistration(name, type, uri, this.resourceLoader);
 	}
 
+	/**
+	 * Import the app registrations listed in the given registry indexes, see
+	 * {@link AppRegistryIndex} for their format. Only the difference between an index and
+	 * the registry is written: entries that are already registered with the same URI are
+	 * left alone, so re-importing an unchanged index performs no writes. Registrations
+	 * that are not listed in an index are never removed.
+	 *
+	 * @param overwrite whether to replace existing registrations
+	 * @param resourceUris the locations of the registry indexes
+	 * @return the registrations listed in the indexes, except the ones that were
+	 * registered already when {@code overwrite} is not set
+	 */
 	public List<AppRegistration> importAll(boolean overwrite, String... resourceUris) {
 		List<AppRegistration> apps = new ArrayList<>();
 		for (String uri : resourceUris) {
+			int written = 0;
+			int unchanged = 0;
 			try {
-				Map<String, URI> registered = this.uriRegistryPopulator.populateRegistry(
-						overwrite, this.uriRegistry, uri);
-				for (Map.Entry<String, URI> entry : registered.entrySet()) {
+				AppRegistryIndex index = this.indexFetcher.fetch(uri);
+				Map<String, URI> registered = this.uriRegistry.findAll();
+				for (Map.Entry<String, URI> entry : index.getEntries().entrySet()) {
+					URI existing = registered.get(entry.getKey());
+					if (existing != null && !overwrite) {
+						continue;
+					}
+					if (entry.getValue().equals(existing)) {
+						unchanged++;
+					}
+					else {
+						written++;
+						this.uriRegistry.register(entry.getKey(), entry.getValue());
+					}
 					apps.add(createAppRegistration(entry.getKey(), entry.getValue()));
 				}
 			}
 			catch (Exception e) {
 				throw new IllegalStateException("Error when registering applications from " + uri + ": " + e.getMessage(), e);
 			}
+			finally {
+				if (written > 0) {
+					this.changeVersions.increment(CHANGE_VERSION_NAME);
+				}
+			}
+			logger.info(String.format("Imported %d apps from %s, %d of which were unchanged", written + unchanged,
+					uri, unchanged));
 		}
 		return apps;
 	}
@@ -104,12 +152,24 @@ public class AppRegistry {
 	public void delete(String name, String type) {
 		if (this.find(name, type) != null) {
 			this.uriRegistry.unregister(key(name, type));
+			this.changeVersions.increment(CHANGE_VERSION_NAME);
 		}
 		else {
 			throw new NoSuchAppRegistrationException(name, type);
 		}
 	}
 
+	/**
+	 * Return the change version of this registry, which is incremented on every write
+	 * performed through it, or through any other registry sharing its
+	 * {@link ChangeVersions}.
+	 *
+	 * @return the current change version
+	 */
+	public long getVersion() {
+		return this.changeVersions.get(CHANGE_VERSION_NAME);
+	}
+
 	private String key(String name, String type) {
 		return String.format("%s.%s", type, name);
 	}
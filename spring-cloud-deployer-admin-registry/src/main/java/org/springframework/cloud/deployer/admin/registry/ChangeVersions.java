@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.registry;
+
+/**
+ * Keeps a change version per named store, incremented on every write to the store, so
+ * that readers can tell whether its content may have changed since they last saw it.
+ */
+public interface ChangeVersions {
+
+	/**
+	 * Return the current change version of the given store.
+	 *
+	 * @param name the name of the store
+	 * @return the change version, or 0 if the store was never written to
+	 */
+	long get(String name);
+
+	/**
+	 * Record a write to the given store.
+	 *
+	 * @param name the name of the store
+	 */
+	void increment(String name);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.registry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In memory implementation of {@link ChangeVersions}, only suitable for a single
+ * process. Versions start from the time this instance was created, so that they don't
+ * repeat across restarts.
+ */
+public class InMemoryChangeVersions implements ChangeVersions {
+
+	private final long epoch = System.currentTimeMillis();
+
+	private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	@Override
+	public long get(String name) {
+		AtomicLong version = versions.get(name);
+		return version == null ? 0 : version.get();
+	}
+
+	@Override
+	public void increment(String name) {
+		AtomicLong version = versions.get(name);
+		if (version == null) {
+			AtomicLong created = new AtomicLong(epoch);
+			version = versions.putIfAbsent(name, created);
+			if (version == null) {
+				version = created;
+			}
+		}
+		version.incrementAndGet();
+	}
+}
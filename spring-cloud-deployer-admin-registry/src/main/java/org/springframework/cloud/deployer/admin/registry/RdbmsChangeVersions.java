@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.registry;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * RDBMS implementation of {@link ChangeVersions}, keeping one row per store in the
+ * {@code CHANGE_VERSIONS} table so that all servers sharing the database see the same
+ * versions. A row starts from the time it was created rather than from 0, so that
+ * a database which was recreated doesn't hand out versions that were seen before.
+ */
+public class RdbmsChangeVersions implements ChangeVersions {
+
+	private static final String TABLE_NAME = "CHANGE_VERSIONS";
+
+	private static final String SELECT_VERSION_SQL = String.format("select VERSION from %s where NAME = ?", TABLE_NAME);
+
+	private static final String INCREMENT_SQL = String.format("update %s set VERSION = VERSION + 1 where NAME = ?", TABLE_NAME);
+
+	private static final String INSERT_SQL = String.format("insert into %s (NAME, VERSION) values (?, ?)", TABLE_NAME);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public RdbmsChangeVersions(DataSource dataSource) {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public long get(String name) {
+		List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION_SQL, Long.class, name);
+		return versions.isEmpty() ? 0 : versions.get(0);
+	}
+
+	@Override
+	public void increment(String name) {
+		if (jdbcTemplate.update(INCREMENT_SQL, name) == 0) {
+			try {
+				jdbcTemplate.update(INSERT_SQL, name, System.currentTimeMillis());
+			}
+			catch (DataIntegrityViolationException e) {
+				// the row was created concurrently
+				jdbcTemplate.update(INCREMENT_SQL, name);
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.registry.support;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * A parsed app registry index, i.e. the {@code <type>.<name>=<uri>} entries of a resource
+ * passed to {@code AppRegistry.importAll}, along with a checksum of those entries.
+ * <p>
+ * Plain {@code .properties} indexes are supported as they are. A versioned index adds
+ * header comments, which keeps it readable as a {@code .properties} file by older servers:
+ *
+ * <pre class="code">
+ * #registry-index: 1
+ * #checksum: 2fd4e1c67a2d28fced849ee1bb76e7391b93eb12
+ * sink.log=maven://org.springframework.cloud.stream.app:log-sink-rabbit:1.1.0.RELEASE
+ * </pre>
+ *
+ * When a checksum is declared, it must be the SHA-1 of the entries sorted by key, each
+ * written as {@code key=uri} followed by a newline; an index whose entries don't match
+ * it is rejected. {@link #format()} writes an index in that form.
+ */
+public class AppRegistryIndex {
+
+	/**
+	 * The latest index format version this class can read.
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final String VERSION_HEADER = "#registry-index:";
+
+	private static final String CHECKSUM_HEADER = "#checksum:";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private static final Log logger = LogFactory.getLog(AppRegistryIndex.class);
+
+	private final Map<String, URI> entries;
+
+	private final String checksum;
+
+	/**
+	 * Create an index holding the given entries.
+	 *
+	 * @param entries the app URIs, keyed by {@code <type>.<name>}
+	 */
+	public AppRegistryIndex(Map<String, URI> entries) {
+		Assert.notNull(entries, "entries must not be null");
+		this.entries = Collections.unmodifiableMap(new TreeMap<>(entries));
+		this.checksum = checksum(this.entries);
+	}
+
+	/**
+	 * Parse an index from its content. Entries whose value is not a valid URI are
+	 * skipped with a warning.
+	 *
+	 * @param content the content of the index resource
+	 * @return the parsed index
+	 * @throws IOException if the content can't be read
+	 * @throws IllegalArgumentException if the index declares an unsupported version or
+	 * a checksum that doesn't match its entries
+	 */
+	public static AppRegistryIndex parse(byte[] content) throws IOException {
+		String declaredChecksum = null;
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(content), ISO_8859_1));
+		String line;
+		while ((line = reader.readLine()) != null && line.startsWith("#")) {
+			if (line.startsWith(VERSION_HEADER)) {
+				int version = Integer.parseInt(line.substring(VERSION_HEADER.length()).trim());
+				Assert.isTrue(version <= FORMAT_VERSION, "Unsupported registry index version " + version
+						+ ", the latest supported version is " + FORMAT_VERSION);
+			}
+			else if (line.startsWith(CHECKSUM_HEADER)) {
+				declaredChecksum = line.substring(CHECKSUM_HEADER.length()).trim();
+			}
+		}
+
+		Properties properties = new Properties();
+		properties.load(new ByteArrayInputStream(content));
+		Map<String, URI> entries = new TreeMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			try {
+				entries.put(key, new URI(properties.getProperty(key)));
+			}
+			catch (URISyntaxException e) {
+				logger.warn(String.format("'%s' for '%s' is not a properly formed URI", properties.getProperty(key), key), e);
+			}
+		}
+		AppRegistryIndex index = new AppRegistryIndex(entries);
+		if (declaredChecksum != null && !declaredChecksum.equalsIgnoreCase(index.getChecksum())) {
+			throw new IllegalArgumentException("Registry index checksum " + declaredChecksum
+					+ " doesn't match its entries, whose checksum is " + index.getChecksum());
+		}
+		return index;
+	}
+
+	/**
+	 * Return the entries of this index, sorted by key.
+	 *
+	 * @return the app URIs, keyed by {@code <type>.<name>}
+	 */
+	public Map<String, URI> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Return the SHA-1 of the entries of this index, as a lowercase hex string.
+	 *
+	 * @return the checksum of the entries
+	 */
+	public String getChecksum() {
+		return checksum;
+	}
+
+	/**
+	 * Write this index in the versioned format, with its checksum.
+	 *
+	 * @return the content of the index
+	 */
+	public String format() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(VERSION_HEADER).append(' ').append(FORMAT_VERSION).append('\n');
+		sb.append(CHECKSUM_HEADER).append(' ').append(checksum).append('\n');
+		appendEntries(entries, sb);
+		return sb.toString();
+	}
+
+	private static String checksum(Map<String, URI> sortedEntries) {
+		StringBuilder sb = new StringBuilder();
+		appendEntries(sortedEntries, sb);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] hash = digest.digest(sb.toString().getBytes(UTF_8));
+		StringBuilder hex = new StringBuilder(hash.length * 2);
+		for (byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	private static void appendEntries(Map<String, URI> sortedEntries, StringBuilder sb) {
+		for (Map.Entry<String, URI> entry : sortedEntries.entrySet()) {
+			sb.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.registry.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Fetches {@link AppRegistryIndex}es. Indexes served over HTTP are cached along with
+ * the {@code ETag} and {@code Last-Modified} headers of the response, and revalidated
+ * with a conditional request on the next fetch, so an unchanged index is neither
+ * transferred nor parsed again. Other resources are read through the
+ * {@link ResourceLoader}.
+ */
+public class AppRegistryIndexFetcher {
+
+	private final ResourceLoader resourceLoader;
+
+	private final ConcurrentMap<String, CachedIndex> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a fetcher reading non HTTP resources through the given loader.
+	 *
+	 * @param resourceLoader the loader used for non HTTP resources
+	 */
+	public AppRegistryIndexFetcher(ResourceLoader resourceLoader) {
+		Assert.notNull(resourceLoader, "ResourceLoader must not be null");
+		this.resourceLoader = resourceLoader;
+	}
+
+	/**
+	 * Fetch the index at the given URI.
+	 *
+	 * @param uri the location of the index
+	 * @return the index
+	 * @throws IOException if the index can't be read
+	 */
+	public AppRegistryIndex fetch(String uri) throws IOException {
+		Assert.hasText(uri, "uri must not be empty");
+		if (uri.startsWith("http:") || uri.startsWith("https:")) {
+			return fetchHttp(uri);
+		}
+		InputStream inputStream = resourceLoader.getResource(uri).getInputStream();
+		try {
+			return AppRegistryIndex.parse(StreamUtils.copyToByteArray(inputStream));
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
+	/**
+	 * Forget all cached indexes, so that the next fetches are unconditional.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	private AppRegistryIndex fetchHttp(String uri) throws IOException {
+		CachedIndex cached = cache.get(uri);
+		HttpURLConnection connection = (HttpURLConnection) new URL(uri).openConnection();
+		try {
+			if (cached != null && cached.eTag != null) {
+				connection.setRequestProperty("If-None-Match", cached.eTag);
+			}
+			if (cached != null && cached.lastModified != null) {
+				connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+			}
+			int status = connection.getResponseCode();
+			if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+				return cached.index;
+			}
+			if (status != HttpURLConnection.HTTP_OK) {
+				throw new IOException("Server returned HTTP response code: " + status + " for URL: " + uri);
+			}
+			InputStream inputStream = connection.getInputStream();
+			AppRegistryIndex index;
+			try {
+				index = AppRegistryIndex.parse(StreamUtils.copyToByteArray(inputStream));
+			}
+			finally {
+				inputStream.close();
+			}
+			String eTag = connection.getHeaderField("ETag");
+			String lastModified = connection.getHeaderField("Last-Modified");
+			if (eTag != null || lastModified != null) {
+				cache.put(uri, new CachedIndex(index, eTag, lastModified));
+			}
+			else {
+				cache.remove(uri);
+			}
+			return index;
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+
+	private static class CachedIndex {
+
+		private final AppRegistryIndex index;
+
+		private final String eTag;
+
+		private final String lastModified;
+
+		private CachedIndex(AppRegistryIndex index, String eTag, String lastModified) {
+			this.index = index;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+		}
+	}
+}
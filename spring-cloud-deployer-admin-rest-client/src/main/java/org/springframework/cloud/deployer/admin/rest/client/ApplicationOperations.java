@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.deployer.admin.rest.client;
 
+import java.util.Iterator;
 import java.util.Map;
 
 import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
@@ -28,6 +29,14 @@ public interface ApplicationOperations {
 	 */
 	public PagedResources<ApplicationDefinitionResource> list();
 
+	/**
+	 * Iterate over applications known to the system, fetching them from the server
+	 * one page at a time. The next page is prefetched while the current one is consumed.
+	 *
+	 * @param pageSize the number of applications to fetch per request
+	 */
+	public Iterator<ApplicationDefinitionResource> iterate(int pageSize);
+
 	/**
 	 * Create a new application, optionally deploying it.
 	 */
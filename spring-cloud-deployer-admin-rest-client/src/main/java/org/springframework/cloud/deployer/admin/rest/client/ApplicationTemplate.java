@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.deployer.admin.rest.client;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
@@ -23,6 +25,9 @@ import org.springframework.cloud.deployer.admin.rest.util.DeploymentPropertiesUt
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -36,14 +41,16 @@ import org.springframework.web.client.RestTemplate;
 public class ApplicationTemplate implements ApplicationOperations {
 
 	public static final String DEFINITIONS_REL = "applications/definitions";
-	private static final String DEFINITION_REL = "applications/definitions/definition";
+	static final String DEFINITION_REL = "applications/definitions/definition";
 	private static final String DEPLOYMENTS_REL = "applications/deployments";
-	private static final String DEPLOYMENT_REL = "applications/deployments/deployment";
+	static final String DEPLOYMENT_REL = "applications/deployments/deployment";
+	static final String DEPLOYMENT_JSON_REL = "applications/deployments/deployment/json";
 	private final RestTemplate restTemplate;
 	private final Link definitionsLink;
 	private final Link definitionLink;
 	private final Link deploymentsLink;
 	private final Link deploymentLink;
+	private final boolean jsonDeployments;
 
 	ApplicationTemplate(RestTemplate restTemplate, ResourceSupport resources) {
 		Assert.notNull(restTemplate, "RestTemplate can't be null");
@@ -55,6 +62,7 @@ public class ApplicationTemplate implements ApplicationOperations {
 		this.definitionLink = resources.getLink(DEFINITION_REL);
 		this.deploymentsLink = resources.getLink(DEPLOYMENTS_REL);
 		this.deploymentLink = resources.getLink(DEPLOYMENT_REL);
+		this.jsonDeployments = resources.hasLink(DEPLOYMENT_JSON_REL);
 	}
 
 	@Override
@@ -64,6 +72,12 @@ public class ApplicationTemplate implements ApplicationOperations {
 		return restTemplate.getForObject(uriTemplate, ApplicationDefinitionResource.Page.class);
 	}
 
+	@Override
+	public Iterator<ApplicationDefinitionResource> iterate(int pageSize) {
+		return new PagedResourcesIterator<>(restTemplate, definitionsLink.expand().getHref(), pageSize,
+				ApplicationDefinitionResource.Page.class, PagedResourcesIterator.DEFAULT_PREFETCH_EXECUTOR);
+	}
+
 	@Override
 	public ApplicationDefinitionResource createApplication(String name, String definition, boolean deploy) {
 		MultiValueMap<String, Object> values = new LinkedMultiValueMap<>();
@@ -77,9 +91,28 @@ public class ApplicationTemplate implements ApplicationOperations {
 
 	@Override
 	public void deploy(String name, Map<String, String> properties) {
+		restTemplate.postForObject(deploymentLink.expand(name).getHref(), deploymentRequest(jsonDeployments, properties),
+				Object.class);
+	}
+
+	/**
+	 * Create the body of a deployment request. Servers advertising the
+	 * {@value #DEPLOYMENT_JSON_REL} link are sent the deployment properties as a JSON
+	 * object, so that values don't need to be flattened into a comma-delimited string.
+	 * Older servers are sent the comma-delimited {@code properties} form parameter.
+	 */
+	static HttpEntity<?> deploymentRequest(boolean json, Map<String, String> properties) {
+		if (properties == null) {
+			properties = Collections.emptyMap();
+		}
+		if (json) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_JSON);
+			return new HttpEntity<Map<String, String>>(properties, headers);
+		}
 		MultiValueMap<String, Object> values = new LinkedMultiValueMap<>();
 		values.add("properties", DeploymentPropertiesUtils.format(properties));
-		restTemplate.postForObject(deploymentLink.expand(name).getHref(), values, Object.class);
+		return new HttpEntity<>(values);
 	}
 
 	@Override
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import org.springframework.cloud.deployer.admin.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.deployer.admin.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * Non-blocking counterpart of {@link AppRegistryOperations}.
+ */
+public interface AsyncAppRegistryOperations {
+
+	/**
+	 * Return a list of all application registrations, fetched page by page.
+	 *
+	 * @return future list of all application registrations
+	 */
+	ListenableFuture<PagedResources<AppRegistrationResource>> list();
+
+	/**
+	 * Retrieve information about an application registration.
+	 *
+	 * @param name name of application
+	 * @param type application type
+	 * @return future detailed information about an application registration
+	 */
+	ListenableFuture<DetailedAppRegistrationResource> info(String name, String type);
+
+	/**
+	 * Register an application name and type with its Maven coordinates.
+	 *
+	 * @param name  application name
+	 * @param type  application type
+	 * @param uri   URI for the application artifact
+	 * @param force if {@code true}, overwrites a pre-existing registration
+	 * @return future completed once the application is registered
+	 */
+	ListenableFuture<?> register(String name, String type, String uri, boolean force);
+
+	/**
+	 * Unregister an application name and type.
+	 *
+	 * @param name  application name
+	 * @param type  application type
+	 * @return future completed once the application is unregistered
+	 */
+	ListenableFuture<?> unregister(String name, String type);
+}
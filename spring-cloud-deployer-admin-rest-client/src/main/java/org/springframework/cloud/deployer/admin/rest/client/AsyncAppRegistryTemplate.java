@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.springframework.cloud.deployer.admin.rest.client.AsyncDataFlowTemplate.responseBody;
+
+import org.springframework.cloud.deployer.admin.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.deployer.admin.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.UriTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+
+/**
+ * Implementation of {@link AsyncAppRegistryOperations} that uses {@link AsyncRestTemplate}
+ * to issue commands to the Data Flow server.
+ */
+public class AsyncAppRegistryTemplate implements AsyncAppRegistryOperations {
+
+	/**
+	 * Template used for http interaction.
+	 */
+	private final AsyncRestTemplate asyncRestTemplate;
+
+	/**
+	 * Template for URI creation.
+	 */
+	private final UriTemplate uriTemplate;
+
+	AsyncAppRegistryTemplate(AsyncRestTemplate asyncRestTemplate, ResourceSupport resourceSupport) {
+		this.asyncRestTemplate = asyncRestTemplate;
+		this.uriTemplate = new UriTemplate(resourceSupport.getLink("apps").getHref());
+	}
+
+	@Override
+	public ListenableFuture<PagedResources<AppRegistrationResource>> list() {
+		return PagedResourcesCollector.collect(asyncRestTemplate, uriTemplate.toString(),
+				PagedResourcesCollector.DEFAULT_PAGE_SIZE, AppRegistrationResource.Page.class);
+	}
+
+	@Override
+	public ListenableFuture<DetailedAppRegistrationResource> info(String name, String type) {
+		return responseBody(asyncRestTemplate.getForEntity(uriTemplate.toString() + "/{type}/{name}",
+				DetailedAppRegistrationResource.class, type, name));
+	}
+
+	@Override
+	public ListenableFuture<?> register(String name, String type, String uri, boolean force) {
+		MultiValueMap<String, Object> values = new LinkedMultiValueMap<String, Object>();
+		values.add("uri", uri);
+		values.add("force", Boolean.toString(force));
+		return asyncRestTemplate.postForEntity(uriTemplate.toString() + "/{type}/{name}",
+				new HttpEntity<>(values), Object.class, type, name);
+	}
+
+	@Override
+	public ListenableFuture<?> unregister(String name, String type) {
+		return asyncRestTemplate.delete(uriTemplate.toString() + "/{type}/{name}", type, name);
+	}
+}
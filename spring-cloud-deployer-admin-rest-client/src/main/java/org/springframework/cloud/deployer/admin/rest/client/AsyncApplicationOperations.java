@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.util.Map;
+
+import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ApplicationOperations}.
+ */
+public interface AsyncApplicationOperations {
+
+	/**
+	 * List applications known to the system, fetched page by page.
+	 */
+	ListenableFuture<PagedResources<ApplicationDefinitionResource>> list();
+
+	/**
+	 * Deploy an already created application.
+	 */
+	ListenableFuture<?> deploy(String name, Map<String, String> properties);
+
+	/**
+	 * Undeploy a deployed application, retaining its definition.
+	 */
+	ListenableFuture<?> undeploy(String name);
+
+	/**
+	 * Destroy an existing application.
+	 */
+	ListenableFuture<?> destroy(String name);
+}
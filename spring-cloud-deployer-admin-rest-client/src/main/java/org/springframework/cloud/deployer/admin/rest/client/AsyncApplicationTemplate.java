@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.util.Map;
+
+import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+
+/**
+ * Implementation for {@link AsyncApplicationOperations}.
+ */
+public class AsyncApplicationTemplate implements AsyncApplicationOperations {
+
+	private final AsyncRestTemplate asyncRestTemplate;
+	private final Link definitionsLink;
+	private final Link definitionLink;
+	private final Link deploymentLink;
+	private final boolean jsonDeployments;
+
+	AsyncApplicationTemplate(AsyncRestTemplate asyncRestTemplate, ResourceSupport resources) {
+		Assert.notNull(asyncRestTemplate, "AsyncRestTemplate can't be null");
+		Assert.notNull(resources, "URI Resources can't be null");
+		Assert.notNull(resources.getLink(ApplicationTemplate.DEFINITIONS_REL), "Definitions relation is required");
+		this.asyncRestTemplate = asyncRestTemplate;
+		this.definitionsLink = resources.getLink(ApplicationTemplate.DEFINITIONS_REL);
+		this.definitionLink = resources.getLink(ApplicationTemplate.DEFINITION_REL);
+		this.deploymentLink = resources.getLink(ApplicationTemplate.DEPLOYMENT_REL);
+		this.jsonDeployments = resources.hasLink(ApplicationTemplate.DEPLOYMENT_JSON_REL);
+	}
+
+	@Override
+	public ListenableFuture<PagedResources<ApplicationDefinitionResource>> list() {
+		return PagedResourcesCollector.collect(asyncRestTemplate, definitionsLink.expand().getHref(),
+				PagedResourcesCollector.DEFAULT_PAGE_SIZE, ApplicationDefinitionResource.Page.class);
+	}
+
+	@Override
+	public ListenableFuture<?> deploy(String name, Map<String, String> properties) {
+		return asyncRestTemplate.postForEntity(deploymentLink.expand(name).getHref(),
+				ApplicationTemplate.deploymentRequest(jsonDeployments, properties), Object.class);
+	}
+
+	@Override
+	public ListenableFuture<?> undeploy(String name) {
+		return asyncRestTemplate.delete(deploymentLink.expand(name).getHref());
+	}
+
+	@Override
+	public ListenableFuture<?> destroy(String name) {
+		return asyncRestTemplate.delete(definitionLink.expand(name).getHref());
+	}
+}
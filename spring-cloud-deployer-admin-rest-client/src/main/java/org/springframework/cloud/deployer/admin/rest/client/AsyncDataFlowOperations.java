@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+/**
+ * Non-blocking counterpart of {@link DataFlowOperations}. Every operation returns as
+ * soon as its request has been handed to the HTTP transport, so a single caller thread
+ * can keep many requests in flight.
+ */
+public interface AsyncDataFlowOperations {
+
+	/**
+	 * Application registry related operations.
+	 */
+	AsyncAppRegistryOperations appRegistryOperations();
+
+	/**
+	 * Runtime related operations.
+	 */
+	AsyncRuntimeOperations runtimeOperations();
+
+	/**
+	 * Application related operations.
+	 */
+	AsyncApplicationOperations applicationOperations();
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureAdapter;
+import org.springframework.web.client.AsyncRestTemplate;
+
+/**
+ * Implementation of {@link AsyncDataFlowOperations} delegating to non-blocking
+ * sub-templates. The links of the server are discovered through a {@link DataFlowTemplate},
+ * which fetches the root resource once on first use; every subsequent operation is issued
+ * through an {@link AsyncRestTemplate}.
+ *
+ * By default requests are sent with Apache HttpAsyncClient, which multiplexes all
+ * in-flight requests over a small number of I/O threads. {@link #close()} must be
+ * called to release that client once the template is no longer needed.
+ */
+public class AsyncDataFlowTemplate implements AsyncDataFlowOperations, Closeable {
+
+	/**
+	 * Maximum number of concurrent connections of the default HTTP transport.
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS = 200;
+
+	/**
+	 * A template used for non-blocking http interaction.
+	 */
+	protected final AsyncRestTemplate asyncRestTemplate;
+
+	/**
+	 * Template used to discover the resources of the server.
+	 */
+	private final DataFlowTemplate dataFlowTemplate;
+
+	/**
+	 * Whether the HTTP transport was created by this template and must be closed by it.
+	 */
+	private final boolean ownsTransport;
+
+	private volatile boolean initialized;
+
+	private AsyncAppRegistryOperations appRegistryOperations;
+
+	private AsyncRuntimeOperations runtimeOperations;
+
+	private AsyncApplicationOperations applicationOperations;
+
+	/**
+	 * Setup an {@link AsyncDataFlowTemplate} using the provided baseURI, with a default
+	 * {@link DataFlowTemplate} for discovery and a default non-blocking HTTP transport.
+	 *
+	 * @param baseURI Must not be null
+	 */
+	public AsyncDataFlowTemplate(URI baseURI) {
+		this(new DataFlowTemplate(baseURI), getDefaultAsyncRestTemplate(), true);
+	}
+
+	/**
+	 * Setup an {@link AsyncDataFlowTemplate} using the provided templates. Any missing
+	 * Mixins for Jackson will be added implicitly to the {@link AsyncRestTemplate}.
+	 *
+	 * @param dataFlowTemplate template used to discover the server's links, must not be null
+	 * @param asyncRestTemplate template used to issue requests, must not be null
+	 */
+	public AsyncDataFlowTemplate(DataFlowTemplate dataFlowTemplate, AsyncRestTemplate asyncRestTemplate) {
+		this(dataFlowTemplate, asyncRestTemplate, false);
+	}
+
+	private AsyncDataFlowTemplate(DataFlowTemplate dataFlowTemplate, AsyncRestTemplate asyncRestTemplate,
+			boolean ownsTransport) {
+		Assert.notNull(dataFlowTemplate, "The provided dataFlowTemplate must not be null.");
+		Assert.notNull(asyncRestTemplate, "The provided asyncRestTemplate must not be null.");
+		this.dataFlowTemplate = dataFlowTemplate;
+		this.asyncRestTemplate = prepareAsyncRestTemplate(asyncRestTemplate);
+		this.ownsTransport = ownsTransport;
+	}
+
+	@Override
+	public AsyncAppRegistryOperations appRegistryOperations() {
+		initialize();
+		return appRegistryOperations;
+	}
+
+	@Override
+	public AsyncRuntimeOperations runtimeOperations() {
+		initialize();
+		return runtimeOperations;
+	}
+
+	@Override
+	public AsyncApplicationOperations applicationOperations() {
+		initialize();
+		return applicationOperations;
+	}
+
+	private void initialize() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					ResourceSupport resourceSupport = dataFlowTemplate.getRootResource();
+					this.appRegistryOperations = new AsyncAppRegistryTemplate(asyncRestTemplate, resourceSupport);
+					this.runtimeOperations = new AsyncRuntimeTemplate(asyncRestTemplate, resourceSupport);
+					if (resourceSupport.hasLink(ApplicationTemplate.DEFINITIONS_REL)) {
+						this.applicationOperations = new AsyncApplicationTemplate(asyncRestTemplate, resourceSupport);
+					}
+					initialized = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Releases the HTTP transport if it was created by this template.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (ownsTransport && asyncRestTemplate.getAsyncRequestFactory() instanceof DisposableBean) {
+			try {
+				((DisposableBean) asyncRestTemplate.getAsyncRequestFactory()).destroy();
+			}
+			catch (Exception e) {
+				throw new IOException("Failed to close the HTTP transport", e);
+			}
+		}
+	}
+
+	/**
+	 * Will augment the provided {@link AsyncRestTemplate} with the Jackson
+	 * {@link Jackson2HalModule} and the {@link VndErrorResponseErrorHandler}.
+	 *
+	 * @param asyncRestTemplate Can be null. Instantiates a new {@link AsyncRestTemplate} if null
+	 * @return AsyncRestTemplate with the required Jackson Mixins
+	 */
+	public static AsyncRestTemplate prepareAsyncRestTemplate(AsyncRestTemplate asyncRestTemplate) {
+		if (asyncRestTemplate == null) {
+			asyncRestTemplate = new AsyncRestTemplate();
+		}
+
+		asyncRestTemplate.setErrorHandler(new VndErrorResponseErrorHandler(asyncRestTemplate.getMessageConverters()));
+
+		boolean containsMappingJackson2HttpMessageConverter = false;
+
+		for (HttpMessageConverter<?> converter : asyncRestTemplate.getMessageConverters()) {
+			if (converter instanceof MappingJackson2HttpMessageConverter) {
+				containsMappingJackson2HttpMessageConverter = true;
+				((MappingJackson2HttpMessageConverter) converter).getObjectMapper()
+					.registerModule(new Jackson2HalModule());
+			}
+		}
+
+		if (!containsMappingJackson2HttpMessageConverter) {
+			throw new IllegalArgumentException("The AsyncRestTemplate does not contain a required MappingJackson2HttpMessageConverter.");
+		}
+		return asyncRestTemplate;
+	}
+
+	/**
+	 * Creates an {@link AsyncRestTemplate} backed by Apache HttpAsyncClient, allowing up to
+	 * {@link #DEFAULT_MAX_CONNECTIONS} concurrent connections, and invokes
+	 * {@link #prepareAsyncRestTemplate(AsyncRestTemplate)} on it.
+	 *
+	 * @return AsyncRestTemplate with the required Jackson MixIns applied
+	 */
+	public static AsyncRestTemplate getDefaultAsyncRestTemplate() {
+		CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+				.setMaxConnPerRoute(DEFAULT_MAX_CONNECTIONS)
+				.setMaxConnTotal(DEFAULT_MAX_CONNECTIONS)
+				.build();
+		return prepareAsyncRestTemplate(new AsyncRestTemplate(new HttpComponentsAsyncClientHttpRequestFactory(httpClient)));
+	}
+
+	/**
+	 * @return The underlying AsyncRestTemplate, will never return null
+	 */
+	public AsyncRestTemplate getAsyncRestTemplate() {
+		return asyncRestTemplate;
+	}
+
+	static <T, B extends T> ListenableFuture<T> responseBody(ListenableFuture<ResponseEntity<B>> future) {
+		return new ListenableFutureAdapter<T, ResponseEntity<B>>(future) {
+
+			@Override
+			protected T adapt(ResponseEntity<B> entity) {
+				return entity.getBody();
+			}
+		};
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.springframework.cloud.deployer.admin.rest.client.AsyncDataFlowTemplate.responseBody;
+
+import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+
+/**
+ * Implementation for {@link AsyncRuntimeOperations}.
+ */
+public class AsyncRuntimeTemplate implements AsyncRuntimeOperations {
+
+	private final AsyncRestTemplate asyncRestTemplate;
+
+	/**
+	 * Uri template for accessing status of all apps.
+	 */
+	private final Link appStatusesUriTemplate;
+
+	/**
+	 * Uri template for accessing status of a single app.
+	 */
+	private final Link appStatusUriTemplate;
+
+	AsyncRuntimeTemplate(AsyncRestTemplate asyncRestTemplate, ResourceSupport resources) {
+		this.asyncRestTemplate = asyncRestTemplate;
+		this.appStatusesUriTemplate = resources.getLink("runtime/apps");
+		this.appStatusUriTemplate = resources.getLink("runtime/apps/app");
+	}
+
+	@Override
+	public ListenableFuture<PagedResources<AppStatusResource>> status() {
+		return responseBody(asyncRestTemplate.getForEntity(appStatusesUriTemplate.expand().getHref(),
+				AppStatusResource.Page.class));
+	}
+
+	@Override
+	public ListenableFuture<AppStatusResource> status(String deploymentId) {
+		return responseBody(asyncRestTemplate.getForEntity(appStatusUriTemplate.expand(deploymentId).getHref(),
+				AppStatusResource.class));
+	}
+}
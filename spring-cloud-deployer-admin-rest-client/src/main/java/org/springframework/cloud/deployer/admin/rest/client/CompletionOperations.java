@@ -40,4 +40,12 @@ public interface CompletionOperations {
 	 * @param levelOfDetail integer value that specifies the level of detail user wants in task completions
 	 */
 	CompletionProposalsResource taskCompletions(String prefix, int levelOfDetail);
+
+	/**
+	 * Return the list of completions for an application definition that are compatible with the given DSL prefix.
+	 *
+	 * @param prefix the provided prefix value from DSL
+	 * @param levelOfDetail integer value that specifies the level of detail user wants in application completions
+	 */
+	CompletionProposalsResource applicationCompletions(String prefix, int levelOfDetail);
 }
@@ -19,6 +19,7 @@ package org.springframework.cloud.deployer.admin.rest.client;
 import org.springframework.cloud.deployer.admin.rest.resource.CompletionProposalsResource;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.UriTemplate;
+import org.springframework.util.Assert;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -35,10 +36,17 @@ public class CompletionTemplate implements CompletionOperations {
 
 	private final UriTemplate taskCompletionUriTemplate;
 
+	private final UriTemplate applicationCompletionUriTemplate;
+
 	public CompletionTemplate(RestTemplate restTemplate, Link streamLink, Link taskLink) {
+		this(restTemplate, streamLink, taskLink, null);
+	}
+
+	public CompletionTemplate(RestTemplate restTemplate, Link streamLink, Link taskLink, Link applicationLink) {
 		this.restTemplate = restTemplate;
 		this.streamCompletionUriTemplate = new UriTemplate(streamLink.getHref());
 		this.taskCompletionUriTemplate = new UriTemplate(taskLink.getHref());
+		this.applicationCompletionUriTemplate = applicationLink != null ? new UriTemplate(applicationLink.getHref()) : null;
 	}
 
 	@Override
@@ -51,4 +59,10 @@ public class CompletionTemplate implements CompletionOperations {
 		return restTemplate.getForObject(taskCompletionUriTemplate.expand(prefix, levelOfDetail), CompletionProposalsResource.class);
 	}
 
+	@Override
+	public CompletionProposalsResource applicationCompletions(String prefix, int levelOfDetail) {
+		Assert.state(applicationCompletionUriTemplate != null, "The server does not provide application completions");
+		return restTemplate.getForObject(applicationCompletionUriTemplate.expand(prefix, levelOfDetail), CompletionProposalsResource.class);
+	}
+
 }
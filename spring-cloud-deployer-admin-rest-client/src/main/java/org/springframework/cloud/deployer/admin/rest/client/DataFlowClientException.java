@@ -33,6 +33,13 @@ public class DataFlowClientException extends RuntimeException {
 		this.vndErrors = error;
 	}
 
+	/**
+	 * Return the errors sent by the server.
+	 */
+	public VndErrors getVndErrors() {
+		return vndErrors;
+	}
+
 	@Override
 	public String getMessage() {
 		StringBuilder builder = new StringBuilder();
@@ -53,25 +53,40 @@ public class DataFlowTemplate implements DataFlowOperations {
 	 */
 	protected final Map<String, UriTemplate> resources = new HashMap<String, UriTemplate>();
 
+	/**
+	 * Base URI of the Data Flow server.
+	 */
+	private final URI baseURI;
+
+	/**
+	 * Cache used to discover the root resource of the server.
+	 */
+	private final ResourceDiscoveryCache resourceDiscoveryCache;
+
+	/**
+	 * Root resource of the server, discovered on first use.
+	 */
+	private volatile ResourceSupport rootResource;
+
 	/**
 	 * REST client for app registry operations.
 	 */
-	private final AppRegistryOperations appRegistryOperations;
+	private AppRegistryOperations appRegistryOperations;
 
 	/**
 	 * REST client for completion operations.
 	 */
-	private final CompletionOperations completionOperations;
+	private CompletionOperations completionOperations;
 
 	/**
 	 * REST Client for runtime operations.
 	 */
-	private final RuntimeOperations runtimeOperations;
+	private RuntimeOperations runtimeOperations;
 
 	/**
 	 * Rest client for application operations.
 	 */
-	private final ApplicationOperations applicationOperations;
+	private ApplicationOperations applicationOperations;
 
 	/**
 	 * Setup a {@link DataFlowTemplate} using the provided baseURI. Will create a {@link RestTemplate} implicitly with
@@ -102,23 +117,55 @@ public class DataFlowTemplate implements DataFlowOperations {
 	 * @param restTemplate Must not be null
 	 */
 	public DataFlowTemplate(URI baseURI, RestTemplate restTemplate) {
+		this(baseURI, restTemplate, ResourceDiscoveryCache.getSharedInstance());
+	}
+
+	/**
+	 * Setup a {@link DataFlowTemplate} using the provide {@link RestTemplate} and {@link ResourceDiscoveryCache}.
+	 * The root resource of the server is not fetched until the first operation is requested, and is then
+	 * obtained through the given cache.
+	 *
+	 * @param baseURI Must not be null
+	 * @param restTemplate Must not be null
+	 * @param resourceDiscoveryCache Must not be null
+	 */
+	public DataFlowTemplate(URI baseURI, RestTemplate restTemplate, ResourceDiscoveryCache resourceDiscoveryCache) {
 
 		Assert.notNull(baseURI, "The provided baseURI must not be null.");
 		Assert.notNull(restTemplate, "The provided restTemplate must not be null.");
+		Assert.notNull(resourceDiscoveryCache, "The provided resourceDiscoveryCache must not be null.");
 
 		this.restTemplate = prepareRestTemplate(restTemplate);
-		final ResourceSupport resourceSupport = restTemplate.getForObject(baseURI, ResourceSupport.class);
-		this.runtimeOperations = new RuntimeTemplate(restTemplate, resourceSupport);
-		this.appRegistryOperations = new AppRegistryTemplate(restTemplate, resourceSupport);
-		this.completionOperations = new CompletionTemplate(restTemplate,
-			resourceSupport.getLink("completions/stream"),
-			resourceSupport.getLink("completions/task"));
-		if (resourceSupport.hasLink(ApplicationTemplate.DEFINITIONS_REL)) {
-			this.applicationOperations = new ApplicationTemplate(restTemplate, resourceSupport);
-		}
-		else {
-			this.applicationOperations = null;
+		this.baseURI = baseURI;
+		this.resourceDiscoveryCache = resourceDiscoveryCache;
+	}
+
+	/**
+	 * Return the root resource of the Data Flow server, discovering it on first access.
+	 *
+	 * @return the root resource, never null
+	 */
+	public ResourceSupport getRootResource() {
+		ResourceSupport resourceSupport = this.rootResource;
+		if (resourceSupport == null) {
+			synchronized (this) {
+				resourceSupport = this.rootResource;
+				if (resourceSupport == null) {
+					resourceSupport = resourceDiscoveryCache.discover(baseURI, restTemplate);
+					this.runtimeOperations = new RuntimeTemplate(restTemplate, resourceSupport);
+					this.appRegistryOperations = new AppRegistryTemplate(restTemplate, resourceSupport);
+					this.completionOperations = new CompletionTemplate(restTemplate,
+						resourceSupport.getLink("completions/stream"),
+						resourceSupport.getLink("completions/task"),
+						resourceSupport.getLink("completions/application"));
+					if (resourceSupport.hasLink(ApplicationTemplate.DEFINITIONS_REL)) {
+						this.applicationOperations = new ApplicationTemplate(restTemplate, resourceSupport);
+					}
+					this.rootResource = resourceSupport;
+				}
+			}
 		}
+		return resourceSupport;
 	}
 
 	public Link getLink(ResourceSupport resourceSupport, String rel) {
@@ -132,21 +179,25 @@ public class DataFlowTemplate implements DataFlowOperations {
 
 	@Override
 	public AppRegistryOperations appRegistryOperations() {
+		getRootResource();
 		return appRegistryOperations;
 	}
 
 	@Override
 	public CompletionOperations completionOperations() {
+		getRootResource();
 		return completionOperations;
 	}
 
 	@Override
 	public RuntimeOperations runtimeOperations() {
+		getRootResource();
 		return runtimeOperations;
 	}
 
 	@Override
 	public ApplicationOperations applicationOperations() {
+		getRootResource();
 		return applicationOperations;
 	}
 
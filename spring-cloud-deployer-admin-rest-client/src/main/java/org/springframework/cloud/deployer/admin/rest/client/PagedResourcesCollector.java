@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Collects the whole content of a paged collection resource without blocking, by
+ * following the HAL {@code next} links returned by the server one page at a time. This
+ * is the non-blocking counterpart of {@link PagedResourcesIterator}, for callers that
+ * want all elements at once.
+ *
+ * @param <T> the type of the elements of the collection
+ */
+class PagedResourcesCollector<T> {
+
+	/**
+	 * Number of elements requested per page.
+	 */
+	static final int DEFAULT_PAGE_SIZE = 1000;
+
+	private final AsyncRestTemplate asyncRestTemplate;
+
+	private final Class<? extends PagedResources<T>> pageType;
+
+	private final List<T> content = new ArrayList<>();
+
+	private final SettableListenableFuture<PagedResources<T>> result = new SettableListenableFuture<>();
+
+	private PagedResourcesCollector(AsyncRestTemplate asyncRestTemplate, Class<? extends PagedResources<T>> pageType) {
+		this.asyncRestTemplate = asyncRestTemplate;
+		this.pageType = pageType;
+	}
+
+	/**
+	 * Fetch all the pages of the given collection.
+	 *
+	 * @param asyncRestTemplate the template used to fetch pages
+	 * @param collectionUri the URI of the collection resource
+	 * @param pageSize the number of elements to request per page
+	 * @param pageType the type each page is deserialized into
+	 * @param <T> the type of the elements of the collection
+	 * @return a future single page holding all the elements of the collection
+	 */
+	static <T> ListenableFuture<PagedResources<T>> collect(AsyncRestTemplate asyncRestTemplate, String collectionUri,
+			int pageSize, Class<? extends PagedResources<T>> pageType) {
+		Assert.notNull(asyncRestTemplate, "AsyncRestTemplate can't be null");
+		Assert.hasText(collectionUri, "Collection URI can't be empty");
+		Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+		Assert.notNull(pageType, "Page type can't be null");
+		PagedResourcesCollector<T> collector = new PagedResourcesCollector<>(asyncRestTemplate, pageType);
+		collector.fetch(UriComponentsBuilder.fromUriString(collectionUri)
+				.replaceQueryParam("page", 0)
+				.replaceQueryParam("size", pageSize)
+				.build().toUriString());
+		return collector.result;
+	}
+
+	private void fetch(String uri) {
+		ListenableFuture<? extends ResponseEntity<? extends PagedResources<T>>> page;
+		try {
+			page = asyncRestTemplate.getForEntity(uri, pageType);
+		}
+		catch (RuntimeException e) {
+			result.setException(e);
+			return;
+		}
+		page.addCallback(new ListenableFutureCallback<ResponseEntity<? extends PagedResources<T>>>() {
+
+			@Override
+			public void onSuccess(ResponseEntity<? extends PagedResources<T>> entity) {
+				PagedResources<T> body = entity.getBody();
+				content.addAll(body.getContent());
+				Link next = body.getNextLink();
+				if (next != null) {
+					fetch(next.expand().getHref());
+				}
+				else {
+					result.set(new PagedResources<>(content,
+							new PagedResources.PageMetadata(content.size(), 0, content.size(), 1)));
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable ex) {
+				result.setException(ex);
+			}
+		});
+	}
+}
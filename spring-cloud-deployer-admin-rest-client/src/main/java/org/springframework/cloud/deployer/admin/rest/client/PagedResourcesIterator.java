@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link Iterator} over the content of a paged collection resource that follows the
+ * HAL {@code next} links returned by the server. Only the page being consumed and the
+ * page after it are held in memory; the next page is fetched on the given
+ * {@link Executor} while the current one is being iterated.
+ *
+ * @param <T> the type of the elements of the collection
+ */
+class PagedResourcesIterator<T> implements Iterator<T> {
+
+	/**
+	 * Executor used to prefetch the next page when none has been provided.
+	 */
+	static final Executor DEFAULT_PREFETCH_EXECUTOR;
+
+	static {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dataflow-prefetch-");
+		executor.setDaemon(true);
+		DEFAULT_PREFETCH_EXECUTOR = executor;
+	}
+
+	private final RestTemplate restTemplate;
+
+	private final Class<? extends PagedResources<T>> pageType;
+
+	private final Executor executor;
+
+	private Iterator<T> current = Collections.<T>emptyIterator();
+
+	private Future<PagedResources<T>> nextPage;
+
+	/**
+	 * Create an iterator starting at the first page of the given collection.
+	 *
+	 * @param restTemplate the template used to fetch pages
+	 * @param collectionUri the URI of the collection resource
+	 * @param pageSize the number of elements to request per page
+	 * @param pageType the type each page is deserialized into
+	 * @param executor the executor used to prefetch the next page
+	 */
+	PagedResourcesIterator(RestTemplate restTemplate, String collectionUri, int pageSize,
+			Class<? extends PagedResources<T>> pageType, Executor executor) {
+		Assert.notNull(restTemplate, "RestTemplate can't be null");
+		Assert.hasText(collectionUri, "Collection URI can't be empty");
+		Assert.isTrue(pageSize > 0, "Page size must be greater than 0");
+		Assert.notNull(pageType, "Page type can't be null");
+		Assert.notNull(executor, "Executor can't be null");
+		this.restTemplate = restTemplate;
+		this.pageType = pageType;
+		this.executor = executor;
+		String firstPage = UriComponentsBuilder.fromUriString(collectionUri)
+				.replaceQueryParam("page", 0)
+				.replaceQueryParam("size", pageSize)
+				.build().toUriString();
+		FutureTask<PagedResources<T>> task = fetchTask(firstPage);
+		task.run();
+		this.nextPage = task;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!current.hasNext() && nextPage != null) {
+			PagedResources<T> page = join(nextPage);
+			Link next = page.getNextLink();
+			nextPage = (next != null) ? prefetch(next.expand().getHref()) : null;
+			current = page.getContent().iterator();
+		}
+		return current.hasNext();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return current.next();
+	}
+
+	private Future<PagedResources<T>> prefetch(String uri) {
+		FutureTask<PagedResources<T>> task = fetchTask(uri);
+		executor.execute(task);
+		return task;
+	}
+
+	private FutureTask<PagedResources<T>> fetchTask(final String uri) {
+		return new FutureTask<>(new Callable<PagedResources<T>>() {
+			@Override
+			public PagedResources<T> call() {
+				return restTemplate.getForObject(uri, pageType);
+			}
+		});
+	}
+
+	private PagedResources<T> join(Future<PagedResources<T>> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the next page", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to fetch the next page", e.getCause());
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Caches the root {@link ResourceSupport} discovered from a Data Flow server, keyed by
+ * the server's base URI, so that several {@link DataFlowTemplate} instances targeting
+ * the same server can share it. A cached root resource is revalidated with an
+ * {@code If-None-Match} request carrying the {@code ETag} previously returned by the
+ * server, so an unchanged resource costs a {@code 304} instead of a full response.
+ */
+public class ResourceDiscoveryCache {
+
+	private static final ResourceDiscoveryCache SHARED_INSTANCE = new ResourceDiscoveryCache();
+
+	private final ConcurrentMap<URI, CachedResource> resources = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the {@code ResourceDiscoveryCache} shared by all {@link DataFlowTemplate}s
+	 * that were not given a cache of their own.
+	 *
+	 * @return the shared cache
+	 */
+	public static ResourceDiscoveryCache getSharedInstance() {
+		return SHARED_INSTANCE;
+	}
+
+	/**
+	 * Discover the root resource served at the given base URI, revalidating a
+	 * previously cached copy with the server if there is one.
+	 *
+	 * @param baseURI the base URI of the server
+	 * @param restTemplate the template used to issue the request
+	 * @return the root resource of the server
+	 */
+	public ResourceSupport discover(URI baseURI, RestTemplate restTemplate) {
+		Assert.notNull(baseURI, "The provided baseURI must not be null.");
+		Assert.notNull(restTemplate, "The provided restTemplate must not be null.");
+		CachedResource cached = resources.get(baseURI);
+		HttpHeaders headers = new HttpHeaders();
+		if (cached != null) {
+			headers.setIfNoneMatch(cached.eTag);
+		}
+		ResponseEntity<ResourceSupport> response = restTemplate.exchange(baseURI, HttpMethod.GET,
+				new HttpEntity<Void>(headers), ResourceSupport.class);
+		if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+			return cached.resourceSupport;
+		}
+		ResourceSupport resourceSupport = response.getBody();
+		if (resourceSupport == null) {
+			throw new DataFlowServerException("Server did not return a root resource at '" + baseURI + "'");
+		}
+		String eTag = response.getHeaders().getETag();
+		if (eTag != null) {
+			resources.put(baseURI, new CachedResource(eTag, resourceSupport));
+		}
+		else {
+			resources.remove(baseURI);
+		}
+		return resourceSupport;
+	}
+
+	/**
+	 * Remove the cached root resource for the given base URI, if any.
+	 *
+	 * @param baseURI the base URI of the server
+	 */
+	public void evict(URI baseURI) {
+		resources.remove(baseURI);
+	}
+
+	/**
+	 * Remove all cached root resources.
+	 */
+	public void clear() {
+		resources.clear();
+	}
+
+	private static class CachedResource {
+
+		private final String eTag;
+
+		private final ResourceSupport resourceSupport;
+
+		private CachedResource(String eTag, ResourceSupport resourceSupport) {
+			this.eTag = eTag;
+			this.resourceSupport = resourceSupport;
+		}
+	}
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.deployer.admin.rest.client;
 
+import java.util.Iterator;
+
 import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
 import org.springframework.hateoas.PagedResources;
 
@@ -32,6 +34,26 @@ public interface RuntimeOperations {
 	 */
 	PagedResources<AppStatusResource> status();
 
+	/**
+	 * Iterate over runtime information about all deployed apps, fetching it from the
+	 * server one page at a time. The next page is prefetched while the current one is
+	 * consumed.
+	 *
+	 * @param pageSize the number of app deployments to fetch per request
+	 */
+	Iterator<AppStatusResource> iterateStatus(int pageSize);
+
+	/**
+	 * Return runtime information about the deployed apps matching the given filters,
+	 * which are applied by the server. Any filter may be {@code null}.
+	 *
+	 * @param group only return apps deployed in this group
+	 * @param namePattern only return apps whose registered name matches this pattern,
+	 * which may contain {@code *} wildcards
+	 * @param state only return apps in this deployment state
+	 */
+	PagedResources<AppStatusResource> status(String group, String namePattern, String state);
+
 	/**
 	 * Return runtime information about a single app deployment.
 	 */
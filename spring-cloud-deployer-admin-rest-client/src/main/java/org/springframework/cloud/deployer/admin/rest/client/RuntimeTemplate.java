@@ -16,11 +16,14 @@
 
 package org.springframework.cloud.deployer.admin.rest.client;
 
+import java.util.Iterator;
+
 import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.ResourceSupport;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Implementation for {@link RuntimeOperations}.
@@ -53,6 +56,27 @@ public class RuntimeTemplate implements RuntimeOperations {
 		return restTemplate.getForObject(appStatusesUriTemplate.expand().getHref(), AppStatusResource.Page.class);
 	}
 
+	@Override
+	public PagedResources<AppStatusResource> status(String group, String namePattern, String state) {
+		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(appStatusesUriTemplate.expand().getHref());
+		if (group != null) {
+			builder.queryParam("group", group);
+		}
+		if (namePattern != null) {
+			builder.queryParam("namePattern", namePattern);
+		}
+		if (state != null) {
+			builder.queryParam("state", state);
+		}
+		return restTemplate.getForObject(builder.build().encode().toUri(), AppStatusResource.Page.class);
+	}
+
+	@Override
+	public Iterator<AppStatusResource> iterateStatus(int pageSize) {
+		return new PagedResourcesIterator<>(restTemplate, appStatusesUriTemplate.expand().getHref(), pageSize,
+				AppStatusResource.Page.class, PagedResourcesIterator.DEFAULT_PREFETCH_EXECUTOR);
+	}
+
 	@Override
 	public AppStatusResource status(String deploymentId) {
 		return restTemplate.getForObject(appStatusUriTemplate.expand(deploymentId).getHref(), AppStatusResource.class);
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for {@link ApplicationTemplate}.
+ */
+public class ApplicationTemplateTests {
+
+	@Test
+	public void testDeploySendsPropertiesAsJson() {
+		RestTemplate restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+		server.expect(requestTo("http://localhost:9393/applications/deployments/foo"))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(content().string("{\"app.foo.list\":\"a,b\",\"deployer.foo.count\":\"2\"}"))
+				.andRespond(withStatus(HttpStatus.CREATED));
+
+		Map<String, String> properties = new LinkedHashMap<>();
+		properties.put("app.foo.list", "a,b");
+		properties.put("deployer.foo.count", "2");
+		new ApplicationTemplate(restTemplate, resources(true)).deploy("foo", properties);
+
+		server.verify();
+	}
+
+	@Test
+	public void testDeploySendsPropertiesAsFormToOlderServers() {
+		RestTemplate restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+		server.expect(requestTo("http://localhost:9393/applications/deployments/foo"))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_FORM_URLENCODED))
+				.andExpect(content().string("properties=deployer.foo.count%3D2"))
+				.andRespond(withStatus(HttpStatus.CREATED));
+
+		new ApplicationTemplate(restTemplate, resources(false)).deploy("foo",
+				Collections.singletonMap("deployer.foo.count", "2"));
+
+		server.verify();
+	}
+
+	@Test
+	public void testDeployWithoutPropertiesSendsEmptyObject() {
+		RestTemplate restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+		server.expect(requestTo("http://localhost:9393/applications/deployments/foo"))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(content().string("{}"))
+				.andRespond(withStatus(HttpStatus.CREATED));
+
+		new ApplicationTemplate(restTemplate, resources(true)).deploy("foo", null);
+
+		server.verify();
+	}
+
+	private ResourceSupport resources(boolean json) {
+		ResourceSupport resources = new ResourceSupport();
+		resources.add(new Link("http://localhost:9393/applications/definitions", ApplicationTemplate.DEFINITIONS_REL));
+		resources.add(new Link("http://localhost:9393/applications/definitions/{name}", ApplicationTemplate.DEFINITION_REL));
+		resources.add(new Link("http://localhost:9393/applications/deployments/{name}", ApplicationTemplate.DEPLOYMENT_REL));
+		if (json) {
+			resources.add(new Link("http://localhost:9393/applications/deployments/{name}",
+					ApplicationTemplate.DEPLOYMENT_JSON_REL));
+		}
+		return resources;
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for {@link AsyncDataFlowTemplate}.
+ */
+public class AsyncDataFlowTemplateTests {
+
+	private static final String ROOT = "{\"_links\":{"
+			+ "\"apps\":{\"href\":\"http://localhost:9393/apps\"},"
+			+ "\"runtime/apps\":{\"href\":\"http://localhost:9393/runtime/apps\"},"
+			+ "\"runtime/apps/app\":{\"href\":\"http://localhost:9393/runtime/apps/{appId}\",\"templated\":true},"
+			+ "\"completions/stream\":{\"href\":\"http://localhost:9393/completions/stream{?start,detailLevel}\"},"
+			+ "\"completions/task\":{\"href\":\"http://localhost:9393/completions/task{?start,detailLevel}\"}}}";
+
+	@Test
+	public void testRuntimeStatusIsFetchedAsynchronously() throws Exception {
+		URI baseURI = URI.create("http://localhost:9393");
+		RestTemplate restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		MockRestServiceServer discovery = MockRestServiceServer.createServer(restTemplate);
+		discovery.expect(requestTo(baseURI)).andRespond(withSuccess(ROOT, MediaType.APPLICATION_JSON));
+
+		AsyncRestTemplate asyncRestTemplate = AsyncDataFlowTemplate.prepareAsyncRestTemplate(null);
+		MockRestServiceServer server = MockRestServiceServer.createServer(asyncRestTemplate);
+		server.expect(requestTo("http://localhost:9393/runtime/apps/foo"))
+				.andRespond(withSuccess("{\"deploymentId\":\"foo\",\"state\":\"deployed\"}", MediaType.APPLICATION_JSON));
+
+		AsyncDataFlowTemplate template = new AsyncDataFlowTemplate(
+				new DataFlowTemplate(baseURI, restTemplate, new ResourceDiscoveryCache()), asyncRestTemplate);
+		ListenableFuture<AppStatusResource> status = template.runtimeOperations().status("foo");
+
+		assertEquals("deployed", status.get().getState());
+		discovery.verify();
+		server.verify();
+	}
+
+}
@@ -62,9 +62,14 @@ public class DataflowTemplateTests {
 		fail("Expected an IllegalArgumentException to be thrown.");
 	}
 
-	@Test(expected = ResourceAccessException.class)
+	@Test
 	public void testDataFlowTemplateContructorWithNonExistingUri() throws URISyntaxException {
-			new DataFlowTemplate(new URI("http://doesnotexist:1234"));
+		new DataFlowTemplate(new URI("http://doesnotexist:1234"));
+	}
+
+	@Test(expected = ResourceAccessException.class)
+	public void testDataFlowTemplateOperationsWithNonExistingUri() throws URISyntaxException {
+		new DataFlowTemplate(new URI("http://doesnotexist:1234")).appRegistryOperations();
 	}
 
 	@Test
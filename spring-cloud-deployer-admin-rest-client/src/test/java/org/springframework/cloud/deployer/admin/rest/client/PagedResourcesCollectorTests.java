@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.client.AsyncRestTemplate;
+
+/**
+ * Tests for {@link PagedResourcesCollector}.
+ */
+public class PagedResourcesCollectorTests {
+
+	private static final String DEFINITIONS = "http://localhost:9393/applications/definitions";
+
+	@Test
+	public void testFollowsNextLinks() throws Exception {
+		AsyncRestTemplate asyncRestTemplate = AsyncDataFlowTemplate.prepareAsyncRestTemplate(null);
+		MockRestServiceServer server = MockRestServiceServer.createServer(asyncRestTemplate);
+		server.expect(requestTo(DEFINITIONS + "?page=0&size=2"))
+				.andRespond(withSuccess(page(DEFINITIONS + "?page=1&size=2", "a", "b"), MediaType.APPLICATION_JSON));
+		server.expect(requestTo(DEFINITIONS + "?page=1&size=2"))
+				.andRespond(withSuccess(page(null, "c"), MediaType.APPLICATION_JSON));
+
+		ListenableFuture<PagedResources<ApplicationDefinitionResource>> future = PagedResourcesCollector.collect(
+				asyncRestTemplate, DEFINITIONS, 2, ApplicationDefinitionResource.Page.class);
+		PagedResources<ApplicationDefinitionResource> all = future.get();
+		List<String> names = new ArrayList<>();
+		for (ApplicationDefinitionResource definition : all.getContent()) {
+			names.add(definition.getName());
+		}
+
+		assertEquals("[a, b, c]", names.toString());
+		assertEquals(3, all.getMetadata().getTotalElements());
+		server.verify();
+	}
+
+	@Test
+	public void testFailsWhenAPageFails() throws Exception {
+		AsyncRestTemplate asyncRestTemplate = AsyncDataFlowTemplate.prepareAsyncRestTemplate(null);
+		MockRestServiceServer server = MockRestServiceServer.createServer(asyncRestTemplate);
+		server.expect(requestTo(DEFINITIONS + "?page=0&size=2"))
+				.andRespond(withSuccess(page(DEFINITIONS + "?page=1&size=2", "a", "b"), MediaType.APPLICATION_JSON));
+		server.expect(requestTo(DEFINITIONS + "?page=1&size=2")).andRespond(withServerError()
+				.contentType(MediaType.APPLICATION_JSON).body("[{\"logref\":\"boom\",\"message\":\"boom\"}]"));
+
+		ListenableFuture<PagedResources<ApplicationDefinitionResource>> future = PagedResourcesCollector.collect(
+				asyncRestTemplate, DEFINITIONS, 2, ApplicationDefinitionResource.Page.class);
+		try {
+			future.get();
+		}
+		catch (ExecutionException e) {
+			assertEquals(DataFlowClientException.class, e.getCause().getClass());
+			return;
+		}
+		throw new AssertionError("Expected the collection to fail");
+	}
+
+	private String page(String next, String... names) {
+		StringBuilder content = new StringBuilder();
+		for (String name : names) {
+			if (content.length() > 0) {
+				content.append(',');
+			}
+			content.append("{\"name\":\"").append(name).append("\",\"dslText\":\"time\"}");
+		}
+		String links = next == null ? "{}" : "{\"next\":{\"href\":\"" + next + "\"}}";
+		return "{\"_embedded\":{\"applicationDefinitionResourceList\":[" + content + "]},\"_links\":" + links
+				+ ",\"page\":{\"size\":2,\"totalElements\":3,\"totalPages\":2,\"number\":0}}";
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for {@link PagedResourcesIterator}.
+ */
+public class PagedResourcesIteratorTests {
+
+	private static final String DEFINITIONS = "http://localhost:9393/applications/definitions";
+
+	@Test
+	public void testFollowsNextLinks() {
+		RestTemplate restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+		server.expect(requestTo(DEFINITIONS + "?page=0&size=2"))
+				.andRespond(withSuccess(page(DEFINITIONS + "?page=1&size=2", "a", "b"), MediaType.APPLICATION_JSON));
+		server.expect(requestTo(DEFINITIONS + "?page=1&size=2"))
+				.andRespond(withSuccess(page(null, "c"), MediaType.APPLICATION_JSON));
+
+		Iterator<ApplicationDefinitionResource> iterator = new PagedResourcesIterator<>(restTemplate, DEFINITIONS, 2,
+				ApplicationDefinitionResource.Page.class, new SyncTaskExecutor());
+		List<String> names = new ArrayList<>();
+		while (iterator.hasNext()) {
+			names.add(iterator.next().getName());
+		}
+
+		assertEquals("[a, b, c]", names.toString());
+		assertFalse(iterator.hasNext());
+		server.verify();
+	}
+
+	private String page(String next, String... names) {
+		StringBuilder content = new StringBuilder();
+		for (String name : names) {
+			if (content.length() > 0) {
+				content.append(',');
+			}
+			content.append("{\"name\":\"").append(name).append("\",\"dslText\":\"time\"}");
+		}
+		String links = next == null ? "{}" : "{\"next\":{\"href\":\"" + next + "\"}}";
+		return "{\"_embedded\":{\"applicationDefinitionResourceList\":[" + content + "]},\"_links\":" + links
+				+ ",\"page\":{\"size\":2,\"totalElements\":3,\"totalPages\":2,\"number\":0}}";
+	}
+
+}
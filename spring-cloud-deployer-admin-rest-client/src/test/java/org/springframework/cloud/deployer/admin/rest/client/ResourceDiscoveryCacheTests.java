@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.rest.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.URI;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for {@link ResourceDiscoveryCache}.
+ */
+public class ResourceDiscoveryCacheTests {
+
+	private static final String ROOT = "{\"_links\":{"
+			+ "\"apps\":{\"href\":\"http://localhost:9393/apps\"},"
+			+ "\"completions/stream\":{\"href\":\"http://localhost:9393/completions/stream{?start,detailLevel}\"},"
+			+ "\"completions/task\":{\"href\":\"http://localhost:9393/completions/task{?start,detailLevel}\"}}}";
+
+	private final URI baseURI = URI.create("http://localhost:9393");
+
+	private RestTemplate restTemplate;
+
+	private MockRestServiceServer server;
+
+	@Before
+	public void setup() {
+		restTemplate = DataFlowTemplate.getDefaultDataflowRestTemplate();
+		server = MockRestServiceServer.createServer(restTemplate);
+	}
+
+	@Test
+	public void testRevalidatesWithETag() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"abc\"");
+		server.expect(requestTo(baseURI)).andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(ROOT, MediaType.APPLICATION_JSON).headers(headers));
+		server.expect(requestTo(baseURI)).andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+		ResourceDiscoveryCache cache = new ResourceDiscoveryCache();
+		ResourceSupport first = cache.discover(baseURI, restTemplate);
+		ResourceSupport second = cache.discover(baseURI, restTemplate);
+
+		assertNotNull(first.getLink("apps"));
+		assertSame(first, second);
+		server.verify();
+	}
+
+	@Test
+	public void testDataFlowTemplateDiscoversLazilyOnce() {
+		server.expect(requestTo(baseURI)).andRespond(withSuccess(ROOT, MediaType.APPLICATION_JSON));
+
+		DataFlowTemplate template = new DataFlowTemplate(baseURI, restTemplate, new ResourceDiscoveryCache());
+		template.appRegistryOperations();
+		template.completionOperations();
+
+		assertEquals("http://localhost:9393/apps", template.getRootResource().getLink("apps").getHref());
+		server.verify();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.rest.resource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+/**
+ * REST representation of the time spent in each stage of a past deployment of an
+ * application.
+ */
+public class DeploymentTimelineResource extends ResourceSupport {
+
+	private String name;
+
+	private Date startTime;
+
+	private boolean successful;
+
+	private long totalMillis;
+
+	private List<Stage> stages = new ArrayList<>();
+
+	@SuppressWarnings("unused")
+	private DeploymentTimelineResource() {
+		// Noarg constructor for serialization;
+	}
+
+	public DeploymentTimelineResource(String name, Date startTime, boolean successful, long totalMillis) {
+		this.name = name;
+		this.startTime = startTime;
+		this.successful = successful;
+		this.totalMillis = totalMillis;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public List<Stage> getStages() {
+		return stages;
+	}
+
+	/**
+	 * The time spent in one stage of a deployment.
+	 */
+	public static class Stage {
+
+		private String name;
+
+		private long durationMillis;
+
+		@SuppressWarnings("unused")
+		private Stage() {
+			// Noarg constructor for serialization;
+		}
+
+		public Stage(String name, long durationMillis) {
+			this.name = name;
+			this.durationMillis = durationMillis;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getDurationMillis() {
+			return durationMillis;
+		}
+	}
+}
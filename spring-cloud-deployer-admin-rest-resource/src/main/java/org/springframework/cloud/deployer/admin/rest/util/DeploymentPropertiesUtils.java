@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2016 the original author or authors.
+ * Copyright 2015-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,20 +41,15 @@ public final class DeploymentPropertiesUtils {
 		// prevent instantiation
 	}
 
-	/**
-	 * Pattern used for parsing a String of comma-delimited key=value pairs.
-	 */
-	private static final Pattern DEPLOYMENT_PROPERTIES_PATTERN = Pattern.compile(",\\s*(app|deployer)\\.[^\\.]+\\.[^=]+=");
-
-	/**
-	 * Pattern used for parsing a String of command-line arguments.
-	 */
-	private static final Pattern DEPLOYMENT_PARAMS_PATTERN = Pattern.compile("(\\s(?=([^\\\"']*[\\\"'][^\\\"']*[\\\"'])*[^\\\"']*$))");
-
 	/**
 	 * Parses a String comprised of 0 or more comma-delimited key=value pairs where each key has the format:
 	 * {@code app.[appname].[key]} or {@code deployer.[appname].[key]}.
 	 * Values may themselves contain commas, since the split points will be based upon the key pattern.
+	 * <p>
+	 * A comma is a split point when it is followed by optional whitespace, {@code app.} or {@code deployer.},
+	 * at least one character up to the next dot, and at least one character up to the next equals sign.
+	 * The string is scanned once: the positions of the next dot and equals sign are remembered between
+	 * candidate commas, so that long values with many commas don't get rescanned.
 	 *
 	 * @param s the string to parse
 	 * @return the Map of parsed key value pairs
@@ -66,13 +57,51 @@ public final class DeploymentPropertiesUtils {
 	public static Map<String, String> parse(String s) {
 		Map<String, String> deploymentProperties = new HashMap<String, String>();
 		if (!StringUtils.isEmpty(s)) {
-			Matcher matcher = DEPLOYMENT_PROPERTIES_PATTERN.matcher(s);
+			int length = s.length();
 			int start = 0;
-			while (matcher.find()) {
-				addKeyValuePairAsProperty(s.substring(start, matcher.start()), deploymentProperties);
-				start = matcher.start() + 1;
+			int from = 0;
+			int nextDot = -1;
+			int nextEquals = -1;
+			int comma;
+			while ((comma = s.indexOf(',', from)) != -1) {
+				from = comma + 1;
+				int p = comma + 1;
+				while (p < length && isWhitespace(s.charAt(p))) {
+					p++;
+				}
+				if (s.startsWith("app.", p)) {
+					p += "app.".length();
+				}
+				else if (s.startsWith("deployer.", p)) {
+					p += "deployer.".length();
+				}
+				else {
+					continue;
+				}
+				if (nextDot < p) {
+					nextDot = s.indexOf('.', p);
+					if (nextDot == -1) {
+						break;
+					}
+				}
+				if (nextDot == p) {
+					continue;
+				}
+				int q = nextDot + 1;
+				if (nextEquals < q) {
+					nextEquals = s.indexOf('=', q);
+					if (nextEquals == -1) {
+						break;
+					}
+				}
+				if (nextEquals == q) {
+					continue;
+				}
+				addKeyValuePairAsProperty(s, start, comma, deploymentProperties);
+				start = comma + 1;
+				from = nextEquals + 1;
 			}
-			addKeyValuePairAsProperty(s.substring(start), deploymentProperties);
+			addKeyValuePairAsProperty(s, start, length, deploymentProperties);
 		}
 		return deploymentProperties;
 	}
@@ -83,22 +112,8 @@ public final class DeploymentPropertiesUtils {
 	 * and qualify all property values with the {@code spring.cloud.deployer.} prefix.
 	 */
 	public static Map<String, String> extractAndQualifyDeployerProperties(Map<String, String> input, String appName) {
-		final String wildcardPrefix = "deployer.*.";
-		final int wildcardLength = wildcardPrefix.length();
-		final String appPrefix = String.format("deployer.%s.", appName);
-		final int appLength = appPrefix.length();
-
-		// Using a TreeMap makes sure wildcard entries appear before app specific ones
-		Map<String, String> result = new TreeMap<>(input).entrySet().stream()
-			.filter(kv -> kv.getKey().startsWith(wildcardPrefix) || kv.getKey().startsWith(appPrefix))
-			.collect(Collectors.toMap(
-				kv -> kv.getKey().startsWith(wildcardPrefix)
-					? "spring.cloud.deployer." + kv.getKey().substring(wildcardLength)
-					: "spring.cloud.deployer." + kv.getKey().substring(appLength),
-				kv -> kv.getValue(),
-				(fromWildcard, fromApp) -> fromApp
-				)
-			);
+		Map<String, String> result = extractQualified(input, "deployer.*.", "deployer." + appName + ".",
+				"spring.cloud.deployer.");
 
 		Map<String, String> deprecated = extractDeprecatedDeployerProperties(input, appName);
 		// Also, 'count' used to be treated as a special case. Handle here
@@ -132,21 +147,27 @@ public final class DeploymentPropertiesUtils {
 	}
 
 	private static Map<String, String> extractDeprecatedDeployerProperties(Map<String, String> input, String appName) {
-		final String wildcardPrefix = "app.*.spring.cloud.deployer.";
-		final int wildcardLength = "app.*.".length();
-		final String appPrefix = String.format("app.%s.spring.cloud.deployer.", appName);
-		final int appLength = String.format("app.%s.", appName).length();
-
-		return new TreeMap<>(input).entrySet().stream()
-			.filter(kv -> kv.getKey().startsWith(wildcardPrefix) || kv.getKey().startsWith(appPrefix))
-			.collect(Collectors.toMap(
-				kv -> kv.getKey().startsWith(wildcardPrefix)
-					? kv.getKey().substring(wildcardLength)
-					: kv.getKey().substring(appLength),
-				kv -> kv.getValue(),
-				(fromWildcard, fromApp) -> fromApp
-				)
-			);
+		return extractQualified(input, "app.*.spring.cloud.deployer.", "app." + appName + ".spring.cloud.deployer.",
+				"spring.cloud.deployer.");
+	}
+
+	/**
+	 * Collect the entries of {@code input} whose key starts with either prefix, replacing the prefix
+	 * with {@code qualifier}. App specific entries win over wildcard ones, whatever the iteration order.
+	 */
+	private static Map<String, String> extractQualified(Map<String, String> input, String wildcardPrefix,
+			String appPrefix, String qualifier) {
+		Map<String, String> result = new HashMap<>();
+		for (Map.Entry<String, String> kv : input.entrySet()) {
+			String key = kv.getKey();
+			if (key.startsWith(wildcardPrefix)) {
+				result.putIfAbsent(qualifier + key.substring(wildcardPrefix.length()), kv.getValue());
+			}
+			else if (key.startsWith(appPrefix)) {
+				result.put(qualifier + key.substring(appPrefix.length()), kv.getValue());
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -178,22 +199,29 @@ public final class DeploymentPropertiesUtils {
 	}
 
 	/**
-	 * Adds a String of format key=value to the provided Map as a key/value pair.
+	 * Adds the region {@code [begin, end)} of {@code s}, of format key=value, to the provided Map as a
+	 * key/value pair.
 	 *
-	 * @param pair the String representation
+	 * @param s the String holding the pair
+	 * @param begin the index of the first character of the pair
+	 * @param end the index after the last character of the pair
 	 * @param properties the Map to which the key/value pair should be added
 	 */
-	private static void addKeyValuePairAsProperty(String pair, Map<String, String> properties) {
-		int firstEquals = pair.indexOf('=');
-		if (firstEquals != -1) {
+	private static void addKeyValuePairAsProperty(String s, int begin, int end, Map<String, String> properties) {
+		int firstEquals = s.indexOf('=', begin);
+		if (firstEquals != -1 && firstEquals < end) {
 			// todo: should key only be a "flag" as in: put(key, true)?
-			properties.put(pair.substring(0, firstEquals).trim(), pair.substring(firstEquals + 1).trim());
+			properties.put(trimmedSubstring(s, begin, firstEquals), trimmedSubstring(s, firstEquals + 1, end));
 		}
 	}
 
 	/**
 	 * Parses a list of command line parameters and returns a list of parameters
 	 * which doesn't contain any special quoting either for values or whole parameter.
+	 * <p>
+	 * Each parameter is split on whitespace that is followed by an even number of quote
+	 * characters, that is whitespace that doesn't sit inside a quoted section. Quote
+	 * characters are counted once up front so that each parameter is scanned in linear time.
 	 *
 	 * @param params the params
 	 * @return the list
@@ -202,35 +230,49 @@ public final class DeploymentPropertiesUtils {
 		List<String> paramsToUse = new ArrayList<>();
 		if (params != null) {
 			for (String param : params) {
-				Matcher regexMatcher = DEPLOYMENT_PARAMS_PATTERN.matcher(param);
-				int start = 0;
-				while (regexMatcher.find()) {
-					String p = removeQuoting(param.substring(start, regexMatcher.start()).trim());
-					if (StringUtils.hasText(p)) {
-						paramsToUse.add(p);
+				if (param == null || param.length() == 0) {
+					continue;
+				}
+				int length = param.length();
+				int quotesAfter = 0;
+				for (int i = 0; i < length; i++) {
+					if (isQuote(param.charAt(i))) {
+						quotesAfter++;
 					}
-					start = regexMatcher.start();
 				}
-				if (param != null && param.length() > 0) {
-					String p = removeQuoting(param.substring(start, param.length()).trim());
-					if (StringUtils.hasText(p)) {
-						paramsToUse.add(p);
+				int start = 0;
+				for (int i = 0; i < length; i++) {
+					char c = param.charAt(i);
+					if (isQuote(c)) {
+						quotesAfter--;
+					}
+					else if ((quotesAfter & 1) == 0 && isWhitespace(c)) {
+						addParam(param, start, i, paramsToUse);
+						start = i;
 					}
 				}
+				addParam(param, start, length, paramsToUse);
 			}
 		}
 		return paramsToUse;
 	}
 
+	private static void addParam(String param, int begin, int end, List<String> paramsToUse) {
+		String p = removeQuoting(trimmedSubstring(param, begin, end));
+		if (StringUtils.hasText(p)) {
+			paramsToUse.add(p);
+		}
+	}
+
 	private static String removeQuoting(String param) {
 		param = removeQuote(param, '\'');
 		param = removeQuote(param, '"');
 		if (StringUtils.hasText(param)) {
-			String[] split = param.split("=", 2);
-			if (split.length == 2) {
-				String value = removeQuote(split[1], '\'');
+			int equals = param.indexOf('=');
+			if (equals != -1) {
+				String value = removeQuote(param.substring(equals + 1), '\'');
 				value = removeQuote(value, '"');
-				param = split[0] + "=" + value;
+				param = param.substring(0, equals + 1) + value;
 			}
 		}
 		return param;
@@ -244,4 +286,28 @@ public final class DeploymentPropertiesUtils {
 		}
 		return param;
 	}
+
+	/**
+	 * Same as {@code s.substring(begin, end).trim()}, without the intermediate String.
+	 */
+	private static String trimmedSubstring(String s, int begin, int end) {
+		while (begin < end && s.charAt(begin) <= ' ') {
+			begin++;
+		}
+		while (end > begin && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return s.substring(begin, end);
+	}
+
+	/**
+	 * Whether {@code c} is matched by the {@code \s} regular expression character class.
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isQuote(char c) {
+		return c == '\'' || c == '"';
+	}
 }
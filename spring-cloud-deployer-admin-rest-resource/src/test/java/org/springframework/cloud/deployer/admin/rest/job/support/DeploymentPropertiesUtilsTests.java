@@ -19,12 +19,19 @@ package org.springframework.cloud.deployer.admin.rest.job.support;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 import org.springframework.cloud.deployer.admin.rest.util.DeploymentPropertiesUtils;
@@ -127,6 +134,117 @@ public class DeploymentPropertiesUtilsTests {
 				new String[] { "--format=yyyy-MM-dd HH:mm:ss.SSS", "--foo1=bar1" });
 	}
 
+	@Test
+	public void testParseMatchesRegexSplitting() {
+		Random random = new Random(46);
+		String[] fragments = { "app.", "deployer.", "foo", "*", ".", "=", ",", ", ", " ", "\t", "\n", "a", "b1", "'", "\"" };
+		for (int i = 0; i < 20000; i++) {
+			String s = randomString(random, fragments);
+			assertEquals(s, regexParse(s), DeploymentPropertiesUtils.parse(s));
+		}
+	}
+
+	@Test
+	public void testParseParamsMatchesRegexSplitting() {
+		Random random = new Random(46);
+		String[] fragments = { "--", "foo", "=", " ", "  ", "\t", "'", "\"", "a b", ".", "x" };
+		for (int i = 0; i < 20000; i++) {
+			List<String> params = Collections.singletonList(randomString(random, fragments));
+			assertEquals(params.toString(), regexParseParams(params), DeploymentPropertiesUtils.parseParams(params));
+		}
+	}
+
+	@Test
+	public void testDeployerPropertiesAppWinsWhateverTheOrder() {
+		Map<String, String> props = new LinkedHashMap<>();
+		props.put("deployer.#app.precedence", "app");
+		props.put("deployer.*.precedence", "wildcard");
+		props.put("deployer.*.other", "wildcard");
+		Map<String, String> result = DeploymentPropertiesUtils.extractAndQualifyDeployerProperties(props, "#app");
+		assertThat(result.keySet(), hasSize(2));
+		assertThat(result, hasEntry("spring.cloud.deployer.precedence", "app"));
+		assertThat(result, hasEntry("spring.cloud.deployer.other", "wildcard"));
+	}
+
+	private static String randomString(Random random, String[] fragments) {
+		StringBuilder sb = new StringBuilder();
+		int count = random.nextInt(12);
+		for (int j = 0; j < count; j++) {
+			sb.append(fragments[random.nextInt(fragments.length)]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * The regex based implementation {@link DeploymentPropertiesUtils#parse(String)} used to have.
+	 */
+	private static Map<String, String> regexParse(String s) {
+		Map<String, String> result = new HashMap<>();
+		if (s.isEmpty()) {
+			return result;
+		}
+		Matcher matcher = Pattern.compile(",\\s*(app|deployer)\\.[^\\.]+\\.[^=]+=").matcher(s);
+		List<String> pairs = new ArrayList<>();
+		int start = 0;
+		while (matcher.find()) {
+			pairs.add(s.substring(start, matcher.start()));
+			start = matcher.start() + 1;
+		}
+		pairs.add(s.substring(start));
+		for (String pair : pairs) {
+			int firstEquals = pair.indexOf('=');
+			if (firstEquals != -1) {
+				result.put(pair.substring(0, firstEquals).trim(), pair.substring(firstEquals + 1).trim());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The regex based implementation {@link DeploymentPropertiesUtils#parseParams(List)} used to have.
+	 */
+	private static List<String> regexParseParams(List<String> params) {
+		List<String> result = new ArrayList<>();
+		Pattern pattern = Pattern.compile("(\\s(?=([^\\\"']*[\\\"'][^\\\"']*[\\\"'])*[^\\\"']*$))");
+		for (String param : params) {
+			Matcher matcher = pattern.matcher(param);
+			List<String> pieces = new ArrayList<>();
+			int start = 0;
+			while (matcher.find()) {
+				pieces.add(param.substring(start, matcher.start()));
+				start = matcher.start();
+			}
+			if (param.length() > 0) {
+				pieces.add(param.substring(start));
+			}
+			for (String piece : pieces) {
+				String p = regexRemoveQuotes(piece.trim());
+				if (!p.trim().isEmpty()) {
+					result.add(p);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static String regexRemoveQuotes(String param) {
+		param = stripQuote(stripQuote(param, '\''), '"');
+		if (!param.trim().isEmpty()) {
+			String[] split = param.split("=", 2);
+			if (split.length == 2) {
+				param = split[0] + "=" + stripQuote(stripQuote(split[1], '\''), '"');
+			}
+		}
+		return param;
+	}
+
+	private static String stripQuote(String param, char c) {
+		if (param.length() > 1 && param.charAt(0) == c && param.charAt(param.length() - 1) == c) {
+			return param.substring(1, param.length() - 1);
+		}
+		return param;
+	}
+
 	private static void assertArrays(String[] left, String[] right) {
 		ArrayList<String> params = new ArrayList<>(Arrays.asList(left));
 		assertThat(DeploymentPropertiesUtils.parseParams(params), containsInAnyOrder(right));
@@ -17,11 +17,13 @@
 package org.springframework.cloud.deployer.admin.server.config;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.sql.DataSource;
 
 import org.springframework.batch.admin.service.JobService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -29,12 +31,17 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.deployer.admin.completion.ApplicationCompletionProvider;
 import org.springframework.cloud.deployer.admin.completion.CompletionConfiguration;
+import org.springframework.cloud.deployer.admin.completion.ValueHintProvider;
+import org.springframework.cloud.deployer.admin.configuration.metadata.AppClassLoaderPool;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
 import org.springframework.cloud.deployer.admin.registry.EavRegistryRepository;
+import org.springframework.cloud.deployer.admin.registry.RdbmsChangeVersions;
 import org.springframework.cloud.deployer.admin.registry.RdbmsEavRegistryRepository;
 import org.springframework.cloud.deployer.admin.registry.RdbmsUriRegistry;
+import org.springframework.cloud.deployer.admin.server.config.apps.AppClassLoaderPoolMetrics;
 import org.springframework.cloud.deployer.admin.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.deployer.admin.server.config.features.FeaturesProperties;
 import org.springframework.cloud.deployer.admin.server.controller.AppRegistryController;
@@ -49,6 +56,10 @@ import org.springframework.cloud.deployer.admin.server.controller.UiController;
 import org.springframework.cloud.deployer.admin.server.controller.RuntimeAppsController.AppInstanceController;
 import org.springframework.cloud.deployer.admin.server.controller.security.LoginController;
 import org.springframework.cloud.deployer.admin.server.controller.security.SecurityController;
+import org.springframework.cloud.deployer.admin.server.controller.support.AppCacheWarmer;
+import org.springframework.cloud.deployer.admin.server.controller.support.DeploymentTimelineBuffer;
+import org.springframework.cloud.deployer.admin.server.controller.support.DetailedAppRegistrationCache;
+import org.springframework.cloud.deployer.admin.server.controller.support.RuntimeAppStatusPoller;
 import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
 import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
@@ -92,8 +103,13 @@ public class DataFlowControllerAutoConfiguration {
 
 	@Bean
 	public AppRegistry appRegistry(UriRegistry uriRegistry, DelegatingResourceLoader resourceLoader,
-			EavRegistryRepository eavRegistryRepository) {
-		return new AppRegistry(uriRegistry, resourceLoader, eavRegistryRepository);
+			EavRegistryRepository eavRegistryRepository, DataSource dataSource) {
+		return new AppRegistry(uriRegistry, resourceLoader, eavRegistryRepository, new RdbmsChangeVersions(dataSource));
+	}
+
+	@Bean
+	public AppClassLoaderPoolMetrics appClassLoaderPoolMetrics(AppClassLoaderPool appClassLoaderPool) {
+		return new AppClassLoaderPoolMetrics(appClassLoaderPool);
 	}
 
 	@Bean
@@ -109,8 +125,17 @@ public class DataFlowControllerAutoConfiguration {
 	@Bean
 	@ConditionalOnBean(ApplicationDefinitionRepository.class)
 	public RuntimeAppsController runtimeAppsController(ApplicationDefinitionRepository repository,
-			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer) {
-		return new RuntimeAppsController(repository, deploymentIdRepository, appDeployer);
+			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer,
+			RuntimeAppStatusPoller runtimeAppStatusPoller) {
+		return new RuntimeAppsController(repository, deploymentIdRepository, appDeployer, runtimeAppStatusPoller);
+	}
+
+	@Bean
+	@ConditionalOnBean(ApplicationDefinitionRepository.class)
+	public RuntimeAppStatusPoller runtimeAppStatusPoller(ApplicationDefinitionRepository repository,
+			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer,
+			@Value("${spring.cloud.dataflow.runtime.status-poll-interval:" + RuntimeAppStatusPoller.DEFAULT_POLL_INTERVAL + "}") long pollInterval) {
+		return new RuntimeAppStatusPoller(repository, deploymentIdRepository, appDeployer, pollInterval);
 	}
 
 	@Bean
@@ -127,21 +152,39 @@ public class DataFlowControllerAutoConfiguration {
 	}
 
 	@Bean
-	public CompletionController completionController() {
-		return new CompletionController();
+	public CompletionController completionController(ApplicationCompletionProvider applicationCompletionProvider) {
+		return new CompletionController(applicationCompletionProvider);
+	}
+
+	@Bean
+	public AppRegistryController appRegistryController(AppRegistry appRegistry,
+			DetailedAppRegistrationCache detailedAppRegistrationCache) {
+		return new AppRegistryController(appRegistry, detailedAppRegistrationCache);
+	}
+
+	@Bean
+	public DetailedAppRegistrationCache detailedAppRegistrationCache(ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders) {
+		return new DetailedAppRegistrationCache(metadataResolver, valueHintProviders);
 	}
 
 	@Bean
-	public AppRegistryController appRegistryController(AppRegistry appRegistry, ApplicationConfigurationMetadataResolver metadataResolver) {
-		return new AppRegistryController(appRegistry, metadataResolver);
+	@ConditionalOnProperty(name = "spring.cloud.dataflow.apps.warm-cache.enabled", havingValue = "true")
+	public AppCacheWarmer appCacheWarmer(AppRegistry appRegistry, DetailedAppRegistrationCache detailedAppRegistrationCache,
+			MavenProperties mavenProperties,
+			@Value("${spring.cloud.dataflow.apps.warm-cache.concurrency:" + DetailedAppRegistrationCache.DEFAULT_CONCURRENCY + "}") int concurrency,
+			@Value("${spring.cloud.dataflow.apps.warm-cache.out-of-service-until-warm:false}") boolean outOfServiceUntilWarm) {
+		return new AppCacheWarmer(appRegistry, detailedAppRegistrationCache, mavenProperties, concurrency,
+				outOfServiceUntilWarm);
 	}
 
 	@Bean
 	@ConditionalOnBean(ApplicationDefinitionRepository.class)
 	public ApplicationDefinitionController applicationDefinitionController(ApplicationDefinitionRepository repository,
 			DeploymentIdRepository deploymentIdRepository, ApplicationDeploymentController deploymentController,
-			AppDeployer deployer, AppRegistry appRegistry) {
-		return new ApplicationDefinitionController(repository, deploymentIdRepository, deploymentController, deployer, appRegistry);
+			AppDeployer deployer, AppRegistry appRegistry, DeploymentTimelineBuffer deploymentTimelineBuffer) {
+		return new ApplicationDefinitionController(repository, deploymentIdRepository, deploymentController, deployer,
+				appRegistry, deploymentTimelineBuffer);
 	}
 
 	@Bean
@@ -149,9 +192,15 @@ public class DataFlowControllerAutoConfiguration {
 	public ApplicationDeploymentController applicationDeploymentController(ApplicationDefinitionRepository repository,
 			DeploymentIdRepository deploymentIdRepository, EavRegistryRepository eavRegistryRepository,
 			AppDeployer deployer, AppRegistry appRegistry, ApplicationConfigurationMetadataResolver metadataResolver,
-			CommonApplicationProperties appsProperties) {
+			CommonApplicationProperties appsProperties, DeploymentTimelineBuffer deploymentTimelineBuffer) {
 		return new ApplicationDeploymentController(repository, deploymentIdRepository, eavRegistryRepository, deployer,
-				appRegistry, metadataResolver, appsProperties);
+				appRegistry, metadataResolver, appsProperties, deploymentTimelineBuffer);
+	}
+
+	@Bean
+	public DeploymentTimelineBuffer deploymentTimelineBuffer(
+			@Value("${spring.cloud.dataflow.deployments.timeline-capacity:" + DeploymentTimelineBuffer.DEFAULT_CAPACITY + "}") int capacity) {
+		return new DeploymentTimelineBuffer(capacity, DeploymentTimelineBuffer.DEFAULT_MAX_APPLICATIONS);
 	}
 
 	@Bean
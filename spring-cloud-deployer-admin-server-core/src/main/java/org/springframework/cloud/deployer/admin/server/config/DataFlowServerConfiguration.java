@@ -33,6 +33,7 @@ import org.springframework.cloud.deployer.admin.completion.CompletionConfigurati
 import org.springframework.cloud.deployer.admin.server.config.apps.CommonApplicationProperties;
 import org.springframework.cloud.deployer.admin.server.config.features.FeaturesConfiguration;
 import org.springframework.cloud.deployer.admin.server.config.features.FeaturesProperties;
+import org.springframework.cloud.deployer.admin.server.config.metrics.MetricsConfiguration;
 import org.springframework.cloud.deployer.admin.server.config.security.BasicAuthSecurityConfiguration;
 import org.springframework.cloud.deployer.admin.server.config.security.FileAuthenticationConfiguration;
 import org.springframework.cloud.deployer.admin.server.config.security.LdapAuthenticationConfiguration;
@@ -67,7 +68,7 @@ import org.springframework.util.StringUtils;
 @EnableSpringDataWebSupport
 @Configuration
 @Import({CompletionConfiguration.class, FeaturesConfiguration.class, WebConfiguration.class,
-		BasicAuthSecurityConfiguration.class, FileAuthenticationConfiguration.class,
+		MetricsConfiguration.class, BasicAuthSecurityConfiguration.class, FileAuthenticationConfiguration.class,
 		LdapAuthenticationConfiguration.class, OAuthSecurityConfiguration.class})
 @EnableConfigurationProperties({BatchProperties.class, CommonApplicationProperties.class})
 public class DataFlowServerConfiguration {
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.apps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cloud.deployer.admin.configuration.metadata.AppClassLoaderPool;
+import org.springframework.util.Assert;
+
+/**
+ * Exposes the state of the {@link AppClassLoaderPool} on the {@code /metrics} endpoint.
+ */
+public class AppClassLoaderPoolMetrics implements PublicMetrics {
+
+	private final AppClassLoaderPool appClassLoaderPool;
+
+	public AppClassLoaderPoolMetrics(AppClassLoaderPool appClassLoaderPool) {
+		Assert.notNull(appClassLoaderPool, "appClassLoaderPool must not be null");
+		this.appClassLoaderPool = appClassLoaderPool;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		Collection<Metric<?>> metrics = new ArrayList<>();
+		metrics.add(new Metric<Integer>("gauge.apps.classloaders.open", appClassLoaderPool.getOpenCount()));
+		metrics.add(new Metric<Integer>("gauge.apps.classloaders.leased", appClassLoaderPool.getLeasedCount()));
+		metrics.add(new Metric<Long>("counter.apps.classloaders.evictions", appClassLoaderPool.getEvictionCount()));
+		return metrics;
+	}
+}
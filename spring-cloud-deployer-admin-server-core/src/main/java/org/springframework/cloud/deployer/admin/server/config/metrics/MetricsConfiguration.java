@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
+import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times the calls made by the server to the {@link AppDeployer}, to its repositories and
+ * to the app metadata resolver. Can be switched off with
+ * {@code spring.cloud.dataflow.metrics.timing.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cloud.dataflow.metrics.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+	@Bean
+	public static TimingBeanPostProcessor timingBeanPostProcessor() {
+		Map<Class<?>, String> timedTypes = new LinkedHashMap<>();
+		timedTypes.put(AppDeployer.class, "deployer");
+		timedTypes.put(ApplicationDefinitionRepository.class, "repository.application-definitions");
+		timedTypes.put(DeploymentIdRepository.class, "repository.deployment-ids");
+		timedTypes.put(ApplicationConfigurationMetadataResolver.class, "metadata");
+		return new TimingBeanPostProcessor(timedTypes);
+	}
+}
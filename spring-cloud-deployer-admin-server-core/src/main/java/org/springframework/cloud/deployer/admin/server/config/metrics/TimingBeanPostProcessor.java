@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link BeanPostProcessor} timing every call made to the beans of the given types.
+ * <p>
+ * A call to method {@code m} of a bean registered under {@code prefix} is submitted to the
+ * {@link GaugeService} as {@code timer.prefix.m.success} or {@code timer.prefix.m.failure},
+ * in milliseconds, and counted by the {@link CounterService} as
+ * {@code counter.prefix.m.success} or {@code counter.prefix.m.failure}. With Dropwizard
+ * metrics on the classpath the {@code timer.} names are backed by timers, which also
+ * keep a histogram of the durations.
+ */
+public class TimingBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+	private final Map<Class<?>, String> timedTypes;
+
+	private BeanFactory beanFactory;
+
+	private volatile GaugeService gaugeService;
+
+	private volatile CounterService counterService;
+
+	private volatile boolean resolved;
+
+	/**
+	 * Create a post processor timing the beans of the given types.
+	 *
+	 * @param timedTypes the metric name prefix to use for each timed type; a bean gets the
+	 * prefix of the first type it is an instance of
+	 */
+	public TimingBeanPostProcessor(Map<Class<?>, String> timedTypes) {
+		Assert.notNull(timedTypes, "timedTypes must not be null");
+		this.timedTypes = new LinkedHashMap<>(timedTypes);
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		for (Map.Entry<Class<?>, String> timedType : timedTypes.entrySet()) {
+			if (timedType.getKey().isInstance(bean)) {
+				ProxyFactory proxyFactory = new ProxyFactory(bean);
+				proxyFactory.setProxyTargetClass(!timedType.getKey().isInterface());
+				proxyFactory.addAdvice(new TimingInterceptor(timedType.getValue()));
+				return proxyFactory.getProxy(bean.getClass().getClassLoader());
+			}
+		}
+		return bean;
+	}
+
+	private void record(String name, String outcome, long nanos) {
+		if (!resolved) {
+			// resolved on first use, as post processors are created before the metric services
+			gaugeService = findBean(GaugeService.class);
+			counterService = findBean(CounterService.class);
+			resolved = true;
+		}
+		if (gaugeService != null) {
+			gaugeService.submit("timer." + name + "." + outcome, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		if (counterService != null) {
+			counterService.increment("counter." + name + "." + outcome);
+		}
+	}
+
+	private <T> T findBean(Class<T> type) {
+		if (beanFactory == null) {
+			return null;
+		}
+		try {
+			return beanFactory.getBean(type);
+		}
+		catch (NoSuchBeanDefinitionException e) {
+			return null;
+		}
+	}
+
+	private class TimingInterceptor implements MethodInterceptor {
+
+		private final String prefix;
+
+		private TimingInterceptor(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			if (ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+				return invocation.proceed();
+			}
+			String outcome = "failure";
+			long start = System.nanoTime();
+			try {
+				Object result = invocation.proceed();
+				outcome = "success";
+				return result;
+			}
+			finally {
+				record(prefix + "." + invocation.getMethod().getName(), outcome, System.nanoTime() - start);
+			}
+		}
+	}
+}
@@ -17,13 +17,25 @@ package org.springframework.cloud.deployer.admin.server.config.security;
 
 import static org.springframework.cloud.deployer.admin.server.controller.UiController.dashboard;
 
+import javax.sql.DataSource;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.deployer.admin.server.config.security.support.BoundedMapSessionRepository;
+import org.springframework.cloud.deployer.admin.server.config.security.support.ExpiredSessionReaper;
 import org.springframework.cloud.deployer.admin.server.config.security.support.OnSecurityEnabledAndOAuth2Disabled;
+import org.springframework.cloud.deployer.admin.server.config.security.support.SessionStoreProperties;
+import org.springframework.cloud.deployer.admin.server.repository.support.DatabaseType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -36,10 +48,11 @@ import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.MediaTypeRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.session.ExpiringSession;
-import org.springframework.session.MapSessionRepository;
 import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcOperationsSessionRepository;
 import org.springframework.session.web.http.HeaderHttpSessionStrategy;
 import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.util.Assert;
 import org.springframework.web.accept.ContentNegotiationStrategy;
 
 /**
@@ -57,19 +70,52 @@ import org.springframework.web.accept.ContentNegotiationStrategy;
 @Configuration
 @Conditional(OnSecurityEnabledAndOAuth2Disabled.class)
 @EnableWebSecurity
+@EnableConfigurationProperties(SessionStoreProperties.class)
 public class BasicAuthSecurityConfiguration extends WebSecurityConfigurerAdapter {
 
-	@Bean
-	public SessionRepository<ExpiringSession> sessionRepository() {
-		return new MapSessionRepository();
-	}
-
 	@Autowired
 	private ContentNegotiationStrategy contentNegotiationStrategy;
 
 	@Autowired
 	private SecurityProperties securityProperties;
 
+	@Autowired
+	private SessionStoreProperties sessionStoreProperties;
+
+	@Autowired(required = false)
+	private DataSource dataSource;
+
+	@Bean
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public SessionRepository<ExpiringSession> sessionRepository() {
+		if (sessionStoreProperties.getStore() == SessionStoreProperties.Store.jdbc) {
+			Assert.state(dataSource != null, "A DataSource is required to store sessions with JDBC");
+			initializeSessionSchema();
+			JdbcOperationsSessionRepository sessionRepository = new JdbcOperationsSessionRepository(dataSource,
+					new DataSourceTransactionManager(dataSource));
+			sessionRepository.setDefaultMaxInactiveInterval(sessionStoreProperties.getMaxInactiveInterval());
+			return (SessionRepository) sessionRepository;
+		}
+		return new BoundedMapSessionRepository(sessionStoreProperties.getMaxSessions(),
+				sessionStoreProperties.getMaxInactiveInterval());
+	}
+
+	@Bean
+	public ExpiredSessionReaper expiredSessionReaper() {
+		final Object sessionRepository = sessionRepository();
+		return new ExpiredSessionReaper(new Runnable() {
+			@Override
+			public void run() {
+				if (sessionRepository instanceof JdbcOperationsSessionRepository) {
+					((JdbcOperationsSessionRepository) sessionRepository).cleanUpExpiredSessions();
+				}
+				else if (sessionRepository instanceof BoundedMapSessionRepository) {
+					((BoundedMapSessionRepository) sessionRepository).cleanUpExpiredSessions();
+				}
+			}
+		}, sessionStoreProperties.getCleanupInterval());
+	}
+
 	@Override
 	protected void configure(HttpSecurity http) throws Exception {
 		final RequestMatcher textHtmlMatcher = new MediaTypeRequestMatcher(
@@ -123,4 +169,25 @@ public class BasicAuthSecurityConfiguration extends WebSecurityConfigurerAdapter
 		http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED);
 	}
 
+	private void initializeSessionSchema() {
+		String platform;
+		try {
+			platform = DatabaseType.fromMetaData(dataSource).name().toLowerCase();
+		}
+		catch (MetaDataAccessException e) {
+			throw new IllegalStateException("Unable to detect database type", e);
+		}
+		if ("hsql".equals(platform)) {
+			platform = "hsqldb";
+		}
+		if ("postgres".equals(platform)) {
+			platform = "postgresql";
+		}
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+				new ClassPathResource("org/springframework/session/jdbc/schema-" + platform + ".sql"));
+		// the tables may already exist, e.g. when created by another server
+		populator.setContinueOnError(true);
+		DatabasePopulatorUtils.execute(populator, dataSource);
+	}
+
 }
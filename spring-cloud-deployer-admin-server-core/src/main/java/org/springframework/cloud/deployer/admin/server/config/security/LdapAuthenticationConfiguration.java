@@ -19,11 +19,14 @@ import java.util.Collection;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.deployer.admin.server.config.security.support.CachingAuthenticationProvider;
 import org.springframework.cloud.deployer.admin.server.config.security.support.LdapSecurityProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.config.annotation.ObjectPostProcessor;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configurers.GlobalAuthenticationConfigurerAdapter;
 import org.springframework.security.config.annotation.authentication.configurers.ldap.LdapAuthenticationProviderConfigurer;
@@ -48,10 +51,19 @@ public class LdapAuthenticationConfiguration extends GlobalAuthenticationConfigu
 	@Autowired
 	private LdapSecurityProperties ldapSecurityProperties;
 
+	@Autowired
+	private ObjectPostProcessor<Object> objectPostProcessor;
+
+	@Autowired(required = false)
+	private CounterService counterService;
+
 	@Override
 	public void init(AuthenticationManagerBuilder auth) throws Exception {
+		boolean cacheEnabled = ldapSecurityProperties.getCacheTimeToLive() > 0
+				|| ldapSecurityProperties.getCacheNegativeTimeToLive() > 0;
+		AuthenticationManagerBuilder ldapAuth = cacheEnabled ? new AuthenticationManagerBuilder(objectPostProcessor) : auth;
 
-		LdapAuthenticationProviderConfigurer<AuthenticationManagerBuilder> ldapConfigurer = auth.ldapAuthentication();
+		LdapAuthenticationProviderConfigurer<AuthenticationManagerBuilder> ldapConfigurer = ldapAuth.ldapAuthentication();
 
 		ldapConfigurer.contextSource()
 				.url(ldapSecurityProperties.getUrl().toString())
@@ -82,5 +94,13 @@ public class LdapAuthenticationConfiguration extends GlobalAuthenticationConfigu
 			});
 		}
 
+		if (cacheEnabled) {
+			// The LDAP provider is built separately so that every bind goes through the cache
+			CachingAuthenticationProvider cachingProvider = new CachingAuthenticationProvider(ldapAuth.build(),
+					ldapSecurityProperties.getCacheTimeToLive(), ldapSecurityProperties.getCacheNegativeTimeToLive(),
+					ldapSecurityProperties.getCacheMaxEntries());
+			cachingProvider.setCounterService(counterService);
+			auth.authenticationProvider(cachingProvider);
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.session.ExpiringSession;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SessionRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRepository} holding at most a fixed number of {@link MapSession}s in
+ * memory. Unlike {@link MapSessionRepository}, expired sessions can be removed without
+ * being looked up, through {@link #cleanUpExpiredSessions()}, and when the repository is
+ * full the least recently used session is evicted to make room for a new one. As all
+ * sessions are kept in the order they were last used, the expired ones are the first
+ * to go.
+ */
+public class BoundedMapSessionRepository implements SessionRepository<ExpiringSession> {
+
+	private final Map<String, ExpiringSession> sessions;
+
+	private final int defaultMaxInactiveInterval;
+
+	/**
+	 * Create a repository holding at most {@code maxSessions} sessions.
+	 *
+	 * @param maxSessions the maximum number of sessions held
+	 * @param defaultMaxInactiveInterval the number of seconds a new session may stay
+	 * unused before it expires
+	 */
+	public BoundedMapSessionRepository(final int maxSessions, int defaultMaxInactiveInterval) {
+		Assert.isTrue(maxSessions > 0, "maxSessions must be greater than 0");
+		this.sessions = new LinkedHashMap<String, ExpiringSession>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ExpiringSession> eldest) {
+				return size() > maxSessions;
+			}
+		};
+		this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+	}
+
+	@Override
+	public ExpiringSession createSession() {
+		ExpiringSession session = new MapSession();
+		session.setMaxInactiveIntervalInSeconds(defaultMaxInactiveInterval);
+		return session;
+	}
+
+	@Override
+	public void save(ExpiringSession session) {
+		MapSession copy = new MapSession(session);
+		synchronized (sessions) {
+			sessions.put(copy.getId(), copy);
+		}
+	}
+
+	@Override
+	public ExpiringSession getSession(String id) {
+		synchronized (sessions) {
+			ExpiringSession saved = sessions.get(id);
+			if (saved == null) {
+				return null;
+			}
+			if (saved.isExpired()) {
+				sessions.remove(id);
+				return null;
+			}
+			return new MapSession(saved);
+		}
+	}
+
+	@Override
+	public void delete(String id) {
+		synchronized (sessions) {
+			sessions.remove(id);
+		}
+	}
+
+	/**
+	 * Remove all the expired sessions.
+	 *
+	 * @return the number of sessions removed
+	 */
+	public int cleanUpExpiredSessions() {
+		int removed = 0;
+		synchronized (sessions) {
+			for (Iterator<ExpiringSession> iterator = sessions.values().iterator(); iterator.hasNext();) {
+				if (iterator.next().isExpired()) {
+					iterator.remove();
+					removed++;
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Return the number of sessions currently held, including expired sessions that were
+	 * not removed yet.
+	 */
+	public int size() {
+		synchronized (sessions) {
+			return sessions.size();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthenticationProvider} remembering the outcome of the username and
+ * password authentications performed by a delegate, so that clients sending their
+ * credentials with every request do not hit the backing directory each time.
+ * <p>
+ * Successful authentications are cached for {@code timeToLive} seconds, and rejected
+ * credentials for the (usually shorter) {@code negativeTimeToLive} seconds. Entries are
+ * keyed by a salted hash of the credentials, so the cache never holds passwords. Cache
+ * hits and misses are counted as {@code security.authentication.cache.hit},
+ * {@code security.authentication.cache.negative-hit} and
+ * {@code security.authentication.cache.miss} when a {@link CounterService} is set.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+	private static final String METRIC_PREFIX = "security.authentication.cache.";
+
+	private final AuthenticationManager delegate;
+
+	private final long timeToLive;
+
+	private final long negativeTimeToLive;
+
+	private final int maxEntries;
+
+	private final byte[] salt = new byte[16];
+
+	private final ConcurrentMap<String, CachedResult> cache = new ConcurrentHashMap<>();
+
+	private CounterService counterService;
+
+	/**
+	 * Create a caching provider in front of the given delegate.
+	 *
+	 * @param delegate the authentication manager performing the actual authentications
+	 * @param timeToLive the number of seconds a successful authentication is cached
+	 * @param negativeTimeToLive the number of seconds rejected credentials are cached,
+	 * or 0 not to cache them
+	 * @param maxEntries the maximum number of cached outcomes
+	 */
+	public CachingAuthenticationProvider(AuthenticationManager delegate, long timeToLive,
+			long negativeTimeToLive, int maxEntries) {
+		Assert.notNull(delegate, "delegate must not be null");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		this.delegate = delegate;
+		this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLive);
+		this.negativeTimeToLive = TimeUnit.SECONDS.toMillis(negativeTimeToLive);
+		this.maxEntries = maxEntries;
+		new SecureRandom().nextBytes(salt);
+	}
+
+	public void setCounterService(CounterService counterService) {
+		this.counterService = counterService;
+	}
+
+	@Override
+	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		String key = cacheKey(authentication.getName(), String.valueOf(authentication.getCredentials()));
+		CachedResult cached = cache.get(key);
+		if (cached != null && cached.isExpired()) {
+			cache.remove(key, cached);
+			cached = null;
+		}
+		if (cached != null) {
+			if (cached.authentication == null) {
+				count("negative-hit");
+				throw new BadCredentialsException("Bad credentials");
+			}
+			count("hit");
+			UsernamePasswordAuthenticationToken result = new UsernamePasswordAuthenticationToken(
+					cached.authentication.getPrincipal(), authentication.getCredentials(),
+					cached.authentication.getAuthorities());
+			result.setDetails(authentication.getDetails());
+			return result;
+		}
+
+		count("miss");
+		Authentication result;
+		try {
+			result = delegate.authenticate(authentication);
+		}
+		catch (BadCredentialsException e) {
+			if (negativeTimeToLive > 0) {
+				put(key, new CachedResult(null, negativeTimeToLive));
+			}
+			throw e;
+		}
+		if (result != null && result.isAuthenticated() && timeToLive > 0) {
+			put(key, new CachedResult(result, timeToLive));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+	}
+
+	/**
+	 * Return the number of cached outcomes, including expired ones that were not removed
+	 * yet.
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	private void put(String key, CachedResult result) {
+		if (cache.size() >= maxEntries) {
+			evict();
+		}
+		cache.put(key, result);
+	}
+
+	private synchronized void evict() {
+		String soonestKey = null;
+		long soonest = Long.MAX_VALUE;
+		for (Iterator<Map.Entry<String, CachedResult>> iterator = cache.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<String, CachedResult> entry = iterator.next();
+			if (entry.getValue().isExpired()) {
+				iterator.remove();
+			}
+			else if (entry.getValue().expiresAt < soonest) {
+				soonest = entry.getValue().expiresAt;
+				soonestKey = entry.getKey();
+			}
+		}
+		if (cache.size() >= maxEntries && soonestKey != null) {
+			cache.remove(soonestKey);
+		}
+	}
+
+	private void count(String metric) {
+		if (counterService != null) {
+			counterService.increment(METRIC_PREFIX + metric);
+		}
+	}
+
+	private String cacheKey(String username, String password) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(salt);
+			digest.update(username.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(password.getBytes(StandardCharsets.UTF_8));
+			return new String(Hex.encode(digest.digest()));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	/**
+	 * The outcome of an authentication; a {@code null} authentication denotes rejected
+	 * credentials.
+	 */
+	private static class CachedResult {
+
+		private final Authentication authentication;
+
+		private final long expiresAt;
+
+		private CachedResult(Authentication authentication, long timeToLive) {
+			this.authentication = authentication;
+			this.expiresAt = System.currentTimeMillis() + timeToLive;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+/**
+ * Periodically runs a task removing expired sessions from a session store, on a
+ * single background thread that lives as long as the bean.
+ */
+public class ExpiredSessionReaper implements InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ExpiredSessionReaper.class);
+
+	private final Runnable cleanupTask;
+
+	private final int cleanupInterval;
+
+	private ScheduledExecutorService executor;
+
+	/**
+	 * Create a reaper running the given task every {@code cleanupInterval} seconds.
+	 *
+	 * @param cleanupTask the task removing expired sessions
+	 * @param cleanupInterval the number of seconds between two runs
+	 */
+	public ExpiredSessionReaper(Runnable cleanupTask, int cleanupInterval) {
+		Assert.notNull(cleanupTask, "cleanupTask must not be null");
+		Assert.isTrue(cleanupInterval > 0, "cleanupInterval must be greater than 0");
+		this.cleanupTask = cleanupTask;
+		this.cleanupInterval = cleanupInterval;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "expired-session-reaper");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					cleanupTask.run();
+				}
+				catch (RuntimeException e) {
+					logger.warn("Failed to remove expired sessions", e);
+				}
+			}
+		}, cleanupInterval, cleanupInterval, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -50,6 +50,12 @@ public class LdapSecurityProperties {
 
 	private String groupRoleAttribute = "cn";
 
+	private long cacheTimeToLive = 0;
+
+	private long cacheNegativeTimeToLive = 0;
+
+	private int cacheMaxEntries = 1000;
+
 	public URI getUrl() {
 		return url;
 	}
@@ -122,4 +128,39 @@ public class LdapSecurityProperties {
 		this.groupRoleAttribute = groupRoleAttribute;
 	}
 
+	/**
+	 * Return the number of seconds a successful authentication is cached, or 0 to
+	 * disable the cache. Defaults to 0: while cached, credentials keep working after
+	 * their password was changed or their account locked in the directory, so the cache
+	 * is only worth enabling, with a short time to live such as 60 seconds, when the LDAP
+	 * server can't keep up with the bind requests.
+	 */
+	public long getCacheTimeToLive() {
+		return cacheTimeToLive;
+	}
+
+	public void setCacheTimeToLive(long cacheTimeToLive) {
+		this.cacheTimeToLive = cacheTimeToLive;
+	}
+
+	/**
+	 * Return the number of seconds rejected credentials are cached, or 0 not to cache
+	 * them. Defaults to 0, so that a newly set password is accepted right away.
+	 */
+	public long getCacheNegativeTimeToLive() {
+		return cacheNegativeTimeToLive;
+	}
+
+	public void setCacheNegativeTimeToLive(long cacheNegativeTimeToLive) {
+		this.cacheNegativeTimeToLive = cacheNegativeTimeToLive;
+	}
+
+	public int getCacheMaxEntries() {
+		return cacheMaxEntries;
+	}
+
+	public void setCacheMaxEntries(int cacheMaxEntries) {
+		this.cacheMaxEntries = cacheMaxEntries;
+	}
+
 }
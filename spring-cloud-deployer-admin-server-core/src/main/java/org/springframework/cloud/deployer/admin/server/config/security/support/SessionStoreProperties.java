@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.session.MapSession;
+
+/**
+ * Properties for the store holding the HTTP sessions of authenticated clients.
+ */
+@ConfigurationProperties(prefix = "dataflow.security.session")
+public class SessionStoreProperties {
+
+	/**
+	 * The kind of store holding the sessions.
+	 */
+	public enum Store {
+
+		/**
+		 * Sessions are held in memory, and are local to one server.
+		 */
+		memory,
+
+		/**
+		 * Sessions are stored in the server's {@code DataSource}, and are shared by all
+		 * servers using the same database.
+		 */
+		jdbc
+	}
+
+	private Store store = Store.memory;
+
+	private int maxSessions = 10000;
+
+	private int maxInactiveInterval = MapSession.DEFAULT_MAX_INACTIVE_INTERVAL_SECONDS;
+
+	private int cleanupInterval = 60;
+
+	public Store getStore() {
+		return store;
+	}
+
+	public void setStore(Store store) {
+		this.store = store;
+	}
+
+	/**
+	 * Return the maximum number of sessions held by the in-memory store. When it is
+	 * full, the least recently used session is evicted.
+	 */
+	public int getMaxSessions() {
+		return maxSessions;
+	}
+
+	public void setMaxSessions(int maxSessions) {
+		this.maxSessions = maxSessions;
+	}
+
+	/**
+	 * Return the number of seconds a session may stay unused before it expires.
+	 */
+	public int getMaxInactiveInterval() {
+		return maxInactiveInterval;
+	}
+
+	public void setMaxInactiveInterval(int maxInactiveInterval) {
+		this.maxInactiveInterval = maxInactiveInterval;
+	}
+
+	/**
+	 * Return the number of seconds between two removals of the expired sessions.
+	 */
+	public int getCleanupInterval() {
+		return cleanupInterval;
+	}
+
+	public void setCleanupInterval(int cleanupInterval) {
+		this.cleanupInterval = cleanupInterval;
+	}
+}
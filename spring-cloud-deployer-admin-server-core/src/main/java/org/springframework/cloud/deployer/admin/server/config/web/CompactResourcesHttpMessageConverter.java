@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.config.web;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.Assert;
+
+/**
+ * Writes collection resources in a compact, columnar JSON representation for clients that
+ * ask for {@link #COMPACT_JSON} in their {@code Accept} header. Links are dropped, the
+ * field names of the elements are written once as {@code columns}, and each element
+ * becomes a row of values in that order:
+ *
+ * <pre class="code">
+ * {"columns":["name","type"],"rows":[["log","sink"],["time","source"]],"page":{...}}
+ * </pre>
+ *
+ * Fields missing from an element are written as {@code null}; nested values such as
+ * attribute maps are written as regular JSON, without their links.
+ */
+public class CompactResourcesHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+	/**
+	 * Media type of the compact representation.
+	 */
+	public static final MediaType COMPACT_JSON = MediaType.valueOf("application/vnd.spring.cloud.dataflow.compact+json");
+
+	private static final String LINKS = "links";
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Create a converter serializing elements with the given {@link ObjectMapper}.
+	 *
+	 * @param objectMapper the object mapper used to serialize collection elements
+	 */
+	public CompactResourcesHttpMessageConverter(ObjectMapper objectMapper) {
+		super(COMPACT_JSON);
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Resources.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	protected boolean canRead(MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("The compact representation is write only");
+	}
+
+	@Override
+	protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+		Resources<?> resources = (Resources<?>) object;
+		Map<String, Integer> columns = new LinkedHashMap<>();
+		List<ObjectNode> elements = new ArrayList<>();
+		for (Object element : resources.getContent()) {
+			JsonNode node = stripLinks(objectMapper.valueToTree(element));
+			ObjectNode fields;
+			if (node instanceof ObjectNode) {
+				fields = (ObjectNode) node;
+			}
+			else {
+				fields = objectMapper.createObjectNode();
+				fields.set("value", node);
+			}
+			for (Iterator<String> names = fields.fieldNames(); names.hasNext();) {
+				String name = names.next();
+				if (!columns.containsKey(name)) {
+					columns.put(name, columns.size());
+				}
+			}
+			elements.add(fields);
+		}
+
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("columns");
+		for (String column : columns.keySet()) {
+			generator.writeString(column);
+		}
+		generator.writeEndArray();
+		generator.writeArrayFieldStart("rows");
+		for (ObjectNode element : elements) {
+			generator.writeStartArray();
+			for (String column : columns.keySet()) {
+				JsonNode value = element.get(column);
+				objectMapper.writeTree(generator, value != null ? value : NullNode.getInstance());
+			}
+			generator.writeEndArray();
+		}
+		generator.writeEndArray();
+		if (resources instanceof PagedResources && ((PagedResources<?>) resources).getMetadata() != null) {
+			generator.writeFieldName("page");
+			objectMapper.writeValue(generator, ((PagedResources<?>) resources).getMetadata());
+		}
+		generator.writeEndObject();
+		generator.flush();
+	}
+
+	private static JsonNode stripLinks(JsonNode node) {
+		if (node instanceof ObjectNode) {
+			JsonNode links = node.get(LINKS);
+			if (links != null && links.isArray()) {
+				((ObjectNode) node).remove(LINKS);
+			}
+		}
+		if (node instanceof ObjectNode || node instanceof ArrayNode) {
+			for (JsonNode child : node) {
+				stripLinks(child);
+			}
+		}
+		return node;
+	}
+}
@@ -2,6 +2,9 @@ package org.springframework.cloud.deployer.admin.server.config.web;
 
 import java.util.Arrays;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
@@ -17,12 +20,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 /**
  * @author Mark Fisher
@@ -63,8 +69,10 @@ public class WebConfiguration {
 		return new HttpMessageConverters(
 				// Prevent default converters
 				false,
-				// Have Jackson2 converter as the sole converter
-				Arrays.<HttpMessageConverter<?>>asList(new MappingJackson2HttpMessageConverter(objectMapper)));
+				// Only render JSON: the compact representation of collections comes first, as the
+				// Jackson2 converter would otherwise claim it through application/*+json
+				Arrays.<HttpMessageConverter<?>>asList(new CompactResourcesHttpMessageConverter(objectMapper),
+						new MappingJackson2HttpMessageConverter(objectMapper)));
 	}
 
 	@Bean
@@ -75,6 +83,20 @@ public class WebConfiguration {
 			public void configurePathMatch(PathMatchConfigurer configurer) {
 				configurer.setUseSuffixPatternMatch(false);
 			}
+
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addInterceptor(new HandlerInterceptorAdapter() {
+
+					@Override
+					public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+							Object handler) {
+						// Representations, and the ETags built for them, depend on the Accept header
+						response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+						return true;
+					}
+				});
+			}
 		};
 	}
 
@@ -21,22 +21,29 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
-import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.cloud.deployer.admin.completion.ValueHintProvider;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.deployer.admin.registry.AppRegistration;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
 import org.springframework.cloud.deployer.admin.registry.support.NoSuchAppRegistrationException;
 import org.springframework.cloud.deployer.admin.rest.resource.AppRegistrationResource;
 import org.springframework.cloud.deployer.admin.rest.resource.DetailedAppRegistrationResource;
-import org.springframework.core.io.Resource;
+import org.springframework.cloud.deployer.admin.server.controller.support.ChangeVersionETags;
+import org.springframework.cloud.deployer.admin.server.controller.support.DetailedAppRegistrationCache;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.ResourceAssembler;
 import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -45,6 +52,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Handles all {@link AppRegistry} related interactions.
@@ -66,50 +74,112 @@ public class AppRegistryController {
 
 	private final AppRegistry appRegistry;
 
-	private ApplicationConfigurationMetadataResolver metadataResolver;
+	private final DetailedAppRegistrationCache detailedAppRegistrationCache;
 
 	public AppRegistryController(AppRegistry appRegistry, ApplicationConfigurationMetadataResolver metadataResolver) {
+		this(appRegistry, metadataResolver, Collections.<ValueHintProvider>emptyList());
+	}
+
+	/**
+	 * Create a {@code AppRegistryController} that adds the value hints contributed by the
+	 * given providers to the options of the apps it describes.
+	 *
+	 * @param appRegistry the registry of apps
+	 * @param metadataResolver the resolver used to list app options
+	 * @param valueHintProviders the providers contributing value hints to app options
+	 */
+	public AppRegistryController(AppRegistry appRegistry, ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders) {
+		this(appRegistry, new DetailedAppRegistrationCache(metadataResolver, valueHintProviders));
+	}
+
+	/**
+	 * Create a {@code AppRegistryController} describing apps through the given cache,
+	 * which may be shared with other components warming or evicting it.
+	 *
+	 * @param appRegistry the registry of apps
+	 * @param detailedAppRegistrationCache the cache of app descriptions
+	 */
+	public AppRegistryController(AppRegistry appRegistry, DetailedAppRegistrationCache detailedAppRegistrationCache) {
+		Assert.notNull(appRegistry, "AppRegistry must not be null");
+		Assert.notNull(detailedAppRegistrationCache, "DetailedAppRegistrationCache must not be null");
 		this.appRegistry = appRegistry;
-		this.metadataResolver = metadataResolver;
+		this.detailedAppRegistrationCache = detailedAppRegistrationCache;
 	}
 
 	/**
-	 * List app registrations.
+	 * List app registrations. Answers {@code 304 Not Modified} without reading the registry
+	 * when the registry did not change since the {@code ETag} sent by the client. When
+	 * {@code detailed} is set, each app is described along with its options, the apps
+	 * whose options are not cached yet being resolved concurrently; the response only
+	 * carries an {@code ETag} once the options of every app could be resolved, and must
+	 * not be stored otherwise.
 	 */
 	@RequestMapping(method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<? extends AppRegistrationResource> list(
 			PagedResourcesAssembler<AppRegistration> pagedResourcesAssembler,
-			@RequestParam(value = "detailed", defaultValue = "false") boolean detailed) {
+			@RequestParam(value = "detailed", defaultValue = "false") boolean detailed,
+			WebRequest request, HttpServletResponse response) {
+		String eTag = ChangeVersionETags.of(request, appRegistry.getVersion());
+		if (!detailed && request.checkNotModified(eTag)) {
+			return null;
+		}
 
 		List<AppRegistration> list = new ArrayList<>(appRegistry.findAll());
 		Collections.sort(list);
+		if (detailed) {
+			final Map<AppRegistration, AppRegistrationResource> resources =
+					detailedAppRegistrationCache.getAll(list, assembler);
+			if (isComplete(resources)) {
+				if (request.checkNotModified(eTag)) {
+					return null;
+				}
+			}
+			else {
+				// some options are missing: a later request may well get them
+				response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+			}
+			return pagedResourcesAssembler.toResource(new PageImpl<>(list),
+					new ResourceAssembler<AppRegistration, AppRegistrationResource>() {
+						@Override
+						public AppRegistrationResource toResource(AppRegistration registration) {
+							return resources.get(registration);
+						}
+					});
+		}
 		return pagedResourcesAssembler.toResource(new PageImpl<>(list), assembler);
 	}
 
+	private boolean isComplete(Map<AppRegistration, AppRegistrationResource> resources) {
+		for (AppRegistrationResource resource : resources.values()) {
+			if (!(resource instanceof DetailedAppRegistrationResource)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
-	 * Retrieve detailed information about a particular application.
+	 * Retrieve detailed information about a particular application. The options of an
+	 * application artifact are resolved once and cached until the artifact is registered again.
 	 * @param type application type
 	 * @param name application name
-	 * @return detailed application information
+	 * @param request the current request, used for conditional requests
+	 * @return detailed application information, or {@code null} if not modified
 	 */
 	@RequestMapping(value = "/{type}/{name}", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public DetailedAppRegistrationResource info(
 			@PathVariable("type") String type,
-			@PathVariable("name") String name) {
+			@PathVariable("name") String name,
+			WebRequest request) {
+		if (request.checkNotModified(ChangeVersionETags.of(request, appRegistry.getVersion()))) {
+			return null;
+		}
 		AppRegistration registration = appRegistry.find(name, type);
 		if (registration == null) {
 			throw new NoSuchAppRegistrationException(name, type);
 		}
-		DetailedAppRegistrationResource result = new DetailedAppRegistrationResource(assembler.toResource(registration));
-		Resource resource = registration.getResource();
-
-		List<ConfigurationMetadataProperty> properties = metadataResolver.listProperties(resource);
-		for (ConfigurationMetadataProperty property : properties) {
-			result.addOption(property);
-		}
-		return result;
+		return detailedAppRegistrationCache.get(registration, assembler.toResource(registration));
 	}
 
 	/**
@@ -131,7 +201,11 @@ public class AppRegistryController {
 			throw new AppAlreadyRegisteredException(previous);
 		}
 		try {
-			appRegistry.save(name, type, new URI(uri));
+			AppRegistration registration = appRegistry.save(name, type, new URI(uri));
+			detailedAppRegistrationCache.evict(registration.getUri());
+			if (previous != null) {
+				detailedAppRegistrationCache.evict(previous.getUri());
+			}
 		}
 		catch (URISyntaxException e) {
 			throw new IllegalArgumentException(e);
@@ -148,7 +222,11 @@ public class AppRegistryController {
 	@RequestMapping(value = "/{type}/{name}", method = RequestMethod.DELETE)
 	@ResponseStatus(HttpStatus.OK)
 	public void unregister(@PathVariable("type") String type, @PathVariable("name") String name) {
+		AppRegistration registration = appRegistry.find(name, type);
 		appRegistry.delete(name, type);
+		if (registration != null) {
+			detailedAppRegistrationCache.evict(registration.getUri());
+		}
 	}
 
 	/**
@@ -187,6 +265,9 @@ public class AppRegistryController {
 				}
 			}
 		}
+		for (AppRegistration registration : registrations) {
+			detailedAppRegistrationCache.evict(registration.getUri());
+		}
 		Collections.sort(registrations);
 		return pagedResourcesAssembler.toResource(new PageImpl<>(registrations), assembler);
 	}
@@ -16,11 +16,16 @@
 
 package org.springframework.cloud.deployer.admin.server.controller;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.admin.core.ApplicationDefinition;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
 import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDefinitionResource;
+import org.springframework.cloud.deployer.admin.server.controller.support.ChangeVersionETags;
+import org.springframework.cloud.deployer.admin.server.controller.support.DeploymentTimelineBuffer;
 import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
 import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
 import org.springframework.cloud.deployer.admin.server.repository.NoSuchApplicationDefinitionException;
@@ -28,6 +33,7 @@ import org.springframework.cloud.deployer.admin.server.repository.support.Search
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
@@ -41,6 +47,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller for operations on {@link ApplicationDefinition}.  This includes CRUD operations.
@@ -53,40 +60,65 @@ import org.springframework.web.bind.annotation.RestController;
 public class ApplicationDefinitionController {
 
 	private static final Logger logger = LoggerFactory.getLogger(ApplicationDefinitionController.class);
-	private final Assembler applicationAssembler = new Assembler();
 	private final ApplicationDefinitionRepository definitionRepository;
 	private final ApplicationDeploymentController deploymentController;
 	private final DeploymentIdRepository deploymentIdRepository;
 	private final AppDeployer appDeployer;
 	private final AppRegistry appRegistry;
+	private final DeploymentTimelineBuffer timelineBuffer;
 
 	public ApplicationDefinitionController(ApplicationDefinitionRepository definitionRepository,
 			DeploymentIdRepository deploymentIdRepository, ApplicationDeploymentController deploymentController,
 			AppDeployer appDeployer, AppRegistry appRegistry) {
+		this(definitionRepository, deploymentIdRepository, deploymentController, appDeployer, appRegistry,
+				new DeploymentTimelineBuffer());
+	}
+
+	public ApplicationDefinitionController(ApplicationDefinitionRepository definitionRepository,
+			DeploymentIdRepository deploymentIdRepository, ApplicationDeploymentController deploymentController,
+			AppDeployer appDeployer, AppRegistry appRegistry, DeploymentTimelineBuffer timelineBuffer) {
 		Assert.notNull(definitionRepository, "ApplicationDefinitionRepository must not be null");
 		Assert.notNull(deploymentIdRepository, "DeploymentIdRepository must not be null");
 		Assert.notNull(deploymentController, "ApplicationDeploymentController must not be null");
 		Assert.notNull(appDeployer, "AppDeployer must not be null");
 		Assert.notNull(appRegistry, "AppRegistry must not be null");
+		Assert.notNull(timelineBuffer, "DeploymentTimelineBuffer must not be null");
 		this.definitionRepository = definitionRepository;
 		this.deploymentIdRepository = deploymentIdRepository;
 		this.deploymentController = deploymentController;
 		this.appDeployer = appDeployer;
 		this.appRegistry = appRegistry;
+		this.timelineBuffer = timelineBuffer;
 	}
 
+	/**
+	 * List application definitions with their deployment status. Answers
+	 * {@code 304 Not Modified} without rendering the page when neither the definitions,
+	 * the deployments, nor the deployment states of the listed definitions changed since
+	 * the {@code ETag} sent by the client.
+	 */
 	@RequestMapping(value = "", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<ApplicationDefinitionResource> list(Pageable pageable, @RequestParam(required=false) String search,
-			PagedResourcesAssembler<ApplicationDefinition> assembler) {
+			PagedResourcesAssembler<ApplicationDefinition> assembler, WebRequest request) {
+		long definitionsVersion = definitionRepository.getVersion();
+		long deploymentsVersion = deploymentIdRepository.getVersion();
+		Page<ApplicationDefinition> page;
 		if (search != null) {
 			final SearchPageable searchPageable = new SearchPageable(pageable, search);
 			searchPageable.addColumns("DEFINITION_NAME", "DEFINITION");
-			return assembler.toResource(definitionRepository.search(searchPageable), applicationAssembler);
+			page = definitionRepository.search(searchPageable);
 		}
 		else {
-			return assembler.toResource(definitionRepository.findAll(pageable), applicationAssembler);
+			page = definitionRepository.findAll(pageable);
+		}
+		Map<String, String> states = new LinkedHashMap<>();
+		for (ApplicationDefinition application : page) {
+			states.put(application.getName(), calculateApplicationState(application));
 		}
+		if (request.checkNotModified(ChangeVersionETags.of(request, definitionsVersion, deploymentsVersion, states))) {
+			return null;
+		}
+		return assembler.toResource(page, new Assembler(states));
 	}
 
 	@RequestMapping(value = "", method = RequestMethod.POST)
@@ -110,6 +142,7 @@ public class ApplicationDefinitionController {
 		}
 		deploymentController.undeploy(name);
 		this.definitionRepository.delete(name);
+		this.timelineBuffer.remove(name);
 	}
 
 	@RequestMapping(value = "", method = RequestMethod.DELETE)
@@ -117,10 +150,10 @@ public class ApplicationDefinitionController {
 	public void deleteAll() throws Exception {
 		deploymentController.undeployAll();
 		this.definitionRepository.deleteAll();
+		this.timelineBuffer.clear();
 	}
 
-	private String calculateApplicationState(String name) {
-		ApplicationDefinition application = definitionRepository.findOne(name);
+	private String calculateApplicationState(ApplicationDefinition application) {
 		logger.debug("Calcuating application state for stream " + application.getName());
 
 		String key = forApplicationDefinition(application);
@@ -145,8 +178,11 @@ public class ApplicationDefinitionController {
 
 	class Assembler extends ResourceAssemblerSupport<ApplicationDefinition, ApplicationDefinitionResource> {
 
-		public Assembler() {
+		private final Map<String, String> states;
+
+		public Assembler(Map<String, String> states) {
 			super(ApplicationDefinitionController.class, ApplicationDefinitionResource.class);
+			this.states = states;
 		}
 
 		@Override
@@ -157,7 +193,7 @@ public class ApplicationDefinitionController {
 		@Override
 		public ApplicationDefinitionResource instantiateResource(ApplicationDefinition application) {
 			ApplicationDefinitionResource resource = new ApplicationDefinitionResource(application.getName(), application.getDslText());
-			resource.setStatus(calculateApplicationState(application.getName()));
+			resource.setStatus(states.get(application.getName()));
 			return resource;
 		}
 	}
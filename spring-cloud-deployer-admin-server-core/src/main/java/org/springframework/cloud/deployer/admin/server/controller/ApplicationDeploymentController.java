@@ -16,9 +16,11 @@
 
 package org.springframework.cloud.deployer.admin.server.controller;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,8 +32,11 @@ import org.springframework.cloud.deployer.admin.registry.AppRegistration;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
 import org.springframework.cloud.deployer.admin.registry.EavRegistryRepository;
 import org.springframework.cloud.deployer.admin.rest.resource.ApplicationDeploymentResource;
+import org.springframework.cloud.deployer.admin.rest.resource.DeploymentTimelineResource;
 import org.springframework.cloud.deployer.admin.rest.util.DeploymentPropertiesUtils;
 import org.springframework.cloud.deployer.admin.server.config.apps.CommonApplicationProperties;
+import org.springframework.cloud.deployer.admin.server.controller.support.DeploymentTimeline;
+import org.springframework.cloud.deployer.admin.server.controller.support.DeploymentTimelineBuffer;
 import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
 import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
 import org.springframework.cloud.deployer.admin.server.repository.NoSuchApplicationDefinitionException;
@@ -42,9 +47,13 @@ import org.springframework.cloud.deployer.spi.core.AppDefinition;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.core.io.Resource;
 import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.Resources;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -65,11 +74,21 @@ public class ApplicationDeploymentController {
 	private final WhitelistProperties whitelistProperties;
 	private final CommonApplicationProperties commonApplicationProperties;
 	private final EavRegistryRepository eavRegistryRepository;
+	private final DeploymentTimelineBuffer timelineBuffer;
 
 	public ApplicationDeploymentController(ApplicationDefinitionRepository definitionRepository,
 			DeploymentIdRepository deploymentIdRepository, EavRegistryRepository eavRegistryRepository,
 			AppDeployer appDeployer, AppRegistry appRegistry,
 			ApplicationConfigurationMetadataResolver metadataResolver, CommonApplicationProperties commonProperties) {
+		this(definitionRepository, deploymentIdRepository, eavRegistryRepository, appDeployer, appRegistry,
+				metadataResolver, commonProperties, new DeploymentTimelineBuffer());
+	}
+
+	public ApplicationDeploymentController(ApplicationDefinitionRepository definitionRepository,
+			DeploymentIdRepository deploymentIdRepository, EavRegistryRepository eavRegistryRepository,
+			AppDeployer appDeployer, AppRegistry appRegistry,
+			ApplicationConfigurationMetadataResolver metadataResolver, CommonApplicationProperties commonProperties,
+			DeploymentTimelineBuffer timelineBuffer) {
 		Assert.notNull(definitionRepository, "ApplicationDefinitionRepository must not be null");
 		Assert.notNull(deploymentIdRepository, "DeploymentIdRepository must not be null");
 		Assert.notNull(eavRegistryRepository, "EavRegistryRepository must not be null");
@@ -77,6 +96,7 @@ public class ApplicationDeploymentController {
 		Assert.notNull(appRegistry, "AppRegistry must not be null");
 		Assert.notNull(commonProperties, "CommonApplicationProperties must not be null");
 		Assert.notNull(metadataResolver, "MetadataResolver must not be null");
+		Assert.notNull(timelineBuffer, "DeploymentTimelineBuffer must not be null");
 		this.definitionRepository = definitionRepository;
 		this.deploymentIdRepository = deploymentIdRepository;
 		this.eavRegistryRepository = eavRegistryRepository;
@@ -84,12 +104,27 @@ public class ApplicationDeploymentController {
 		this.appRegistry = appRegistry;
 		this.whitelistProperties = new WhitelistProperties(metadataResolver);
 		this.commonApplicationProperties = commonProperties;
+		this.timelineBuffer = timelineBuffer;
 	}
 
 	@RequestMapping(value = "/{name}", method = RequestMethod.POST)
 	@ResponseStatus(HttpStatus.CREATED)
 	public void deploy(@PathVariable("name") String name,
 			@RequestParam(required = false) String properties) {
+		deployWithProperties(name, DeploymentPropertiesUtils.parse(properties));
+	}
+
+	/**
+	 * Deploy an application with the deployment properties sent as a JSON object in the
+	 * request body, rather than as a single comma-delimited {@code properties} parameter.
+	 *
+	 * @param name the name of the application definition to deploy
+	 * @param properties the deployment properties, may be null
+	 */
+	@RequestMapping(value = "/{name}", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(HttpStatus.CREATED)
+	public void deployWithProperties(@PathVariable("name") String name,
+			@RequestBody(required = false) Map<String, String> properties) {
 		ApplicationDefinition application = this.definitionRepository.findOne(name);
 		if (application == null) {
 			throw new NoSuchApplicationDefinitionException(name);
@@ -101,7 +136,32 @@ public class ApplicationDeploymentController {
 		else if (DeploymentState.deploying.equals(DeploymentState.valueOf(status))) {
 			throw new ApplicationAlreadyDeployingException(name);
 		}
-		deployApplication(application, DeploymentPropertiesUtils.parse(properties));
+		deployApplication(application, properties);
+	}
+
+	/**
+	 * Return the time spent in each stage of the latest deployments of an application,
+	 * latest first.
+	 *
+	 * @param name the name of the application definition
+	 * @return the deployment timelines kept for the application
+	 */
+	@RequestMapping(value = "/{name}/timeline", method = RequestMethod.GET)
+	public Resources<DeploymentTimelineResource> timeline(@PathVariable("name") String name) {
+		if (!this.definitionRepository.exists(name)) {
+			throw new NoSuchApplicationDefinitionException(name);
+		}
+		List<DeploymentTimelineResource> resources = new ArrayList<>();
+		for (DeploymentTimeline timeline : this.timelineBuffer.get(name)) {
+			DeploymentTimelineResource resource = new DeploymentTimelineResource(timeline.getName(),
+					timeline.getStartTime(), timeline.isSuccessful(), timeline.getTotalMillis());
+			for (Map.Entry<String, Long> stage : timeline.getStageMillis().entrySet()) {
+				resource.getStages().add(new DeploymentTimelineResource.Stage(stage.getKey(), stage.getValue()));
+			}
+			resources.add(resource);
+		}
+		return new Resources<>(resources,
+				ControllerLinkBuilder.linkTo(ControllerLinkBuilder.methodOn(ApplicationDeploymentController.class).timeline(name)).withSelfRel());
 	}
 
 	@RequestMapping(value = "/{name}", method = RequestMethod.DELETE)
@@ -147,31 +207,48 @@ public class ApplicationDeploymentController {
 			applicationDeploymentProperties = Collections.emptyMap();
 		}
 
-		String type = eavRegistryRepository.findOne("spring-cloud-deployer-admin-app-" + application.getRegisteredAppName(), "type");
-
-		AppRegistration registration = this.appRegistry.find(application.getRegisteredAppName(), type);
+		DeploymentTimeline timeline = new DeploymentTimeline(application.getName());
+		boolean deployed = false;
+		try {
+			String type = eavRegistryRepository.findOne("spring-cloud-deployer-admin-app-" + application.getRegisteredAppName(), "type");
+			timeline.stage("type-lookup");
 
-		Map<String, String> deployerDeploymentProperties = DeploymentPropertiesUtils
-				.extractAndQualifyDeployerProperties(applicationDeploymentProperties, application.getRegisteredAppName());
-		deployerDeploymentProperties.put(AppDeployer.GROUP_PROPERTY_KEY, application.getName());
+			AppRegistration registration = this.appRegistry.find(application.getRegisteredAppName(), type);
+			timeline.stage("registry-find");
 
-		Resource resource = registration.getResource();
+			Resource resource = registration.getResource();
+			timeline.stage("resource-resolution");
 
-		AppDefinition revisedDefinition = mergeAndExpandAppProperties(application, resource, applicationDeploymentProperties);
-		logger.info("Using AppDefinition [" + revisedDefinition + "]");
-		AppDeploymentRequest request = new AppDeploymentRequest(revisedDefinition, resource, deployerDeploymentProperties);
-		logger.info("Using AppDeploymentRequest [" + request + "]");
+			Map<String, String> deployerDeploymentProperties = DeploymentPropertiesUtils
+					.extractAndQualifyDeployerProperties(applicationDeploymentProperties, application.getRegisteredAppName());
+			deployerDeploymentProperties.put(AppDeployer.GROUP_PROPERTY_KEY, application.getName());
+			AppDefinition revisedDefinition = mergeAndExpandAppProperties(application, resource, applicationDeploymentProperties);
+			timeline.stage("property-qualification");
+			logger.info("Using AppDefinition [" + revisedDefinition + "]");
+			AppDeploymentRequest request = new AppDeploymentRequest(revisedDefinition, resource, deployerDeploymentProperties);
+			logger.info("Using AppDeploymentRequest [" + request + "]");
 
-		try {
-			String id = this.appDeployer.deploy(request);
-			this.deploymentIdRepository.save(forApplicationDefinition(application), id);
+			try {
+				String id = this.appDeployer.deploy(request);
+				timeline.stage("deploy");
+				this.deploymentIdRepository.save(forApplicationDefinition(application), id);
+				timeline.stage("deployment-id-save");
+				deployed = true;
+			}
+			// If the deployer implementation handles the deployment request synchronously, log error message if
+			// any exception is thrown out of the deployment and proceed to the next deployment.
+			catch (Exception e) {
+				logger.error(String.format("Exception when deploying the app %s: %s", application, e.getMessage()), e);
+			}
 		}
-		// If the deployer implementation handles the deployment request synchronously, log error message if
-		// any exception is thrown out of the deployment and proceed to the next deployment.
-		catch (Exception e) {
-			logger.error(String.format("Exception when deploying the app %s: %s", application, e.getMessage()), e);
+		finally {
+			timeline.finish(deployed);
+			this.timelineBuffer.add(timeline);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Deployment of [" + application.getName() + "] took " + timeline.getTotalMillis()
+						+ "ms: " + timeline.getStageMillis());
+			}
 		}
-
 	}
 
 	AppDefinition mergeAndExpandAppProperties(ApplicationDefinition original, Resource resource, Map<String, String> appDeployTimeProperties) {
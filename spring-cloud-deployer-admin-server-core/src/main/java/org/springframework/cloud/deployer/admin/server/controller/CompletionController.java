@@ -20,6 +20,7 @@ import java.util.List;
 
 import javax.validation.constraints.Min;
 
+import org.springframework.cloud.deployer.admin.completion.ApplicationCompletionProvider;
 import org.springframework.cloud.deployer.admin.completion.CompletionProposal;
 import org.springframework.cloud.deployer.admin.rest.resource.CompletionProposalsResource;
 import org.springframework.hateoas.ExposesResourceFor;
@@ -30,7 +31,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Exposes the DSL completion features of {@link StreamCompletionProvider} and {@link TaskCompletionProvider} as a REST API.
+ * Exposes the DSL completion features of {@link ApplicationCompletionProvider} as a REST API.
  *
  * @author Eric Bottard
  * @author Andy Clement
@@ -41,12 +42,29 @@ import org.springframework.web.bind.annotation.RestController;
 @ExposesResourceFor(CompletionProposalsResource.class)
 public class CompletionController {
 
+	private final ApplicationCompletionProvider applicationCompletionProvider;
+
 	private final Assembler assembler = new Assembler();
 
 	/**
-	 * Create a controller for the provided {@link StreamCompletionProvider}.
+	 * Create a controller for the provided {@link ApplicationCompletionProvider}.
+	 */
+	public CompletionController(ApplicationCompletionProvider applicationCompletionProvider) {
+		this.applicationCompletionProvider = applicationCompletionProvider;
+	}
+
+	/**
+	 * Return a list of possible completions given a prefix string that the user has started typing.
+	 *
+	 * @param start the amount of text written so far
+	 * @param detailLevel the level of detail the user wants in completions, starting at 1.
+	 * Higher numbers request more detail.
 	 */
-	public CompletionController() {
+	@RequestMapping(value = "/application")
+	public CompletionProposalsResource applicationCompletions(
+			@RequestParam("start") String start,
+			@RequestParam(value = "detailLevel", defaultValue = "1") @Min(value = 1, message = "The provided detail level must be greater than zero.") int detailLevel) {
+		return assembler.toResource(applicationCompletionProvider.complete(start, detailLevel));
 	}
 
 	/**
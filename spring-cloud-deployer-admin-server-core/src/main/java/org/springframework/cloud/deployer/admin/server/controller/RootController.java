@@ -18,6 +18,8 @@ package org.springframework.cloud.deployer.admin.server.controller;
 
 import static org.springframework.cloud.deployer.admin.server.controller.UiController.dashboard;
 
+import java.nio.charset.StandardCharsets;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.deployer.admin.rest.resource.AppInstanceStatusResource;
@@ -30,8 +32,10 @@ import org.springframework.cloud.deployer.admin.server.config.features.FeaturesP
 import org.springframework.hateoas.EntityLinks;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponents;
 
 /**
@@ -66,12 +70,15 @@ public class RootController {
 
 	/**
 	 * Return a {@link ResourceSupport} object containing the resources
-	 * served by the Data Flow server.
+	 * served by the Data Flow server. The response carries an {@code ETag}
+	 * derived from the links so that clients can revalidate a cached copy.
 	 *
-	 * @return {@code ResourceSupport} object containing the Data Flow server's resources
+	 * @param request the current request, used for conditional request handling
+	 * @return {@code ResourceSupport} object containing the Data Flow server's resources,
+	 * or {@code null} if the client's copy is still current
 	 */
 	@RequestMapping("/")
-	public ResourceSupport info() {
+	public ResourceSupport info(WebRequest request) {
 		ResourceSupport resourceSupport = new ResourceSupport();
 		resourceSupport.add(new Link(dashboard(""), "dashboard"));
 		resourceSupport.add(entityLinks.linkToCollectionResource(AppRegistrationResource.class).withRel("apps"));
@@ -79,19 +86,37 @@ public class RootController {
 		resourceSupport.add(entityLinks.linkToCollectionResource(AppStatusResource.class).withRel("runtime/apps"));
 		resourceSupport.add(unescapeTemplateVariables(entityLinks.linkForSingleResource(AppStatusResource.class, "{appId}").withRel("runtime/apps/app")));
 		resourceSupport.add(unescapeTemplateVariables(entityLinks.linkFor(AppInstanceStatusResource.class, UriComponents.UriTemplateVariables.SKIP_VALUE).withRel("runtime/apps/instances")));
+		String runtimeEvents = entityLinks.linkToCollectionResource(AppStatusResource.class).getHref() + "/events";
+		resourceSupport.add(new Link(runtimeEvents).withRel("runtime/apps/events"));
 
 		resourceSupport.add(entityLinks.linkToCollectionResource(ApplicationDefinitionResource.class).withRel("applications/definitions"));
 		resourceSupport.add(unescapeTemplateVariables(entityLinks.linkToSingleResource(ApplicationDefinitionResource.class, "{name}").withRel("applications/definitions/definition")));
 		resourceSupport.add(entityLinks.linkToCollectionResource(ApplicationDeploymentResource.class).withRel("applications/deployments"));
-		resourceSupport.add(unescapeTemplateVariables(entityLinks.linkToSingleResource(ApplicationDeploymentResource.class, "{name}").withRel("applications/deployments/deployment")));
+		Link deployment = unescapeTemplateVariables(entityLinks.linkToSingleResource(ApplicationDeploymentResource.class, "{name}"));
+		resourceSupport.add(deployment.withRel("applications/deployments/deployment"));
+		// advertises that deployment properties may be sent as a JSON object
+		resourceSupport.add(deployment.withRel("applications/deployments/deployment/json"));
 
 		String completionStreamTemplated = entityLinks.linkFor(CompletionProposalsResource.class).withSelfRel().getHref() + ("/stream{?start,detailLevel}");
 		resourceSupport.add(new Link(completionStreamTemplated).withRel("completions/stream"));
 		String completionTaskTemplated = entityLinks.linkFor(CompletionProposalsResource.class).withSelfRel().getHref() + ("/task{?start,detailLevel}");
 		resourceSupport.add(new Link(completionTaskTemplated).withRel("completions/task"));
+		String completionApplicationTemplated = entityLinks.linkFor(CompletionProposalsResource.class).withSelfRel().getHref() + ("/application{?start,detailLevel}");
+		resourceSupport.add(new Link(completionApplicationTemplated).withRel("completions/application"));
+		if (request.checkNotModified(eTag(resourceSupport))) {
+			return null;
+		}
 		return resourceSupport;
 	}
 
+	private String eTag(ResourceSupport resourceSupport) {
+		StringBuilder links = new StringBuilder();
+		for (Link link : resourceSupport.getLinks()) {
+			links.append(link.toString()).append(',');
+		}
+		return "\"" + DigestUtils.md5DigestAsHex(links.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+
 	// Workaround https://github.com/spring-projects/spring-hateoas/issues/234
 	private Link unescapeTemplateVariables(Link raw) {
 		return new Link(raw.getHref().replace("%7B", "{").replace("%7D", "}"), raw.getRel());
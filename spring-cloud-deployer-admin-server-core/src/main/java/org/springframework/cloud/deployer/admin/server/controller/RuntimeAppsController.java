@@ -19,17 +19,25 @@ package org.springframework.cloud.deployer.admin.server.controller;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.cloud.deployer.admin.core.ApplicationDefinition;
 import org.springframework.cloud.deployer.admin.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
+import org.springframework.cloud.deployer.admin.server.controller.support.RuntimeAppStatusPoller;
 import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
 import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.ExposesResourceFor;
 import org.springframework.hateoas.PagedResources;
@@ -38,10 +46,15 @@ import org.springframework.hateoas.Resources;
 import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Exposes runtime status of deployed apps.
@@ -55,6 +68,11 @@ import org.springframework.web.bind.annotation.RestController;
 @ExposesResourceFor(AppStatusResource.class)
 public class RuntimeAppsController {
 
+	/**
+	 * How long an event stream stays open, in milliseconds, before clients have to reconnect.
+	 */
+	private static final long EVENTS_TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+
 	private static final Comparator<? super AppInstanceStatus> INSTANCE_SORTER = new Comparator<AppInstanceStatus>() {
 		@Override
 		public int compare(AppInstanceStatus i1, AppInstanceStatus i2) {
@@ -74,7 +92,12 @@ public class RuntimeAppsController {
 	 */
 	private final AppDeployer appDeployer;
 
-	private final ResourceAssembler<AppStatus, AppStatusResource> statusAssembler = new Assembler();
+	private final ResourceAssembler<AppStatus, AppStatusResource> statusAssembler = new Assembler(null);
+
+	/**
+	 * The poller feeding the status change events to subscribers.
+	 */
+	private final RuntimeAppStatusPoller statusPoller;
 
 	/**
 	 * Instantiates a new runtime apps controller.
@@ -85,33 +108,115 @@ public class RuntimeAppsController {
 	 */
 	public RuntimeAppsController(ApplicationDefinitionRepository applicationDefinitionRepository,
 			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer) {
+		this(applicationDefinitionRepository, deploymentIdRepository, appDeployer,
+				new RuntimeAppStatusPoller(applicationDefinitionRepository, deploymentIdRepository, appDeployer,
+						RuntimeAppStatusPoller.DEFAULT_POLL_INTERVAL));
+	}
+
+	/**
+	 * Instantiates a new runtime apps controller.
+	 *
+	 * @param applicationDefinitionRepository the repository this controller will use for application definitions
+	 * @param deploymentIdRepository the repository this controller will use for deployment IDs
+	 * @param appDeployer the deployer this controller will use to deploy stream apps
+	 * @param statusPoller the poller feeding the status change events
+	 */
+	public RuntimeAppsController(ApplicationDefinitionRepository applicationDefinitionRepository,
+			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer,
+			RuntimeAppStatusPoller statusPoller) {
 		Assert.notNull(applicationDefinitionRepository, "ApplicationDefinitionRepository must not be null");
 		Assert.notNull(deploymentIdRepository, "DeploymentIdRepository must not be null");
 		Assert.notNull(appDeployer, "AppDeployer must not be null");
+		Assert.notNull(statusPoller, "RuntimeAppStatusPoller must not be null");
 		this.applicationDefinitionRepository = applicationDefinitionRepository;
 		this.deploymentIdRepository = deploymentIdRepository;
 		this.appDeployer = appDeployer;
+		this.statusPoller = statusPoller;
 	}
 
+	/**
+	 * List the status of deployed apps, ordered by deployment id. When a page
+	 * {@code size} is requested, only the requested page is returned, and the response
+	 * links to the next page; otherwise all deployed apps are returned.
+	 * <p>
+	 * The {@code group} and {@code namePattern} filters are applied to the application
+	 * definitions before paging and before the deployer is asked for any status, so that
+	 * pages are full, the totals are exact and narrow queries only touch the matching
+	 * apps. Without a {@code state} filter, only the apps on the requested page are
+	 * queried for their status; with one, every matching app has to be.
+	 * <p>
+	 * When {@code fields} is given, only the named instance attributes are included in
+	 * the response, which keeps polling large deployments cheap; without it all the
+	 * attributes reported by the deployer are returned.
+	 *
+	 * @param pageable the requested page
+	 * @param size the requested page size, if any
+	 * @param group only list apps deployed in this group, i.e. for this application definition name
+	 * @param namePattern only list apps whose registered app name matches this pattern,
+	 * which may contain {@code *} wildcards
+	 * @param state only list apps in this deployment state
+	 * @param fields the instance attributes to include, all of them if null
+	 * @param assembler assembler for the paged resources
+	 * @return the status of deployed apps
+	 */
 	@RequestMapping
-	public PagedResources<AppStatusResource> list(PagedResourcesAssembler<AppStatus> assembler) {
-		List<AppStatus> values = new ArrayList<>();
-
-		for (ApplicationDefinition applicationDefinition : this.applicationDefinitionRepository.findAll()) {
-			String key = forApplicationDefinition(applicationDefinition);
-			String id = this.deploymentIdRepository.findOne(key);
+	public PagedResources<AppStatusResource> list(Pageable pageable,
+			@RequestParam(value = "size", required = false) Integer size,
+			@RequestParam(value = "group", required = false) String group,
+			@RequestParam(value = "namePattern", required = false) String namePattern,
+			@RequestParam(value = "state", required = false) DeploymentState state,
+			@RequestParam(value = "fields", required = false) List<String> fields,
+			PagedResourcesAssembler<AppStatus> assembler) {
+		Iterable<ApplicationDefinition> candidates;
+		if (group != null) {
+			ApplicationDefinition definition = this.applicationDefinitionRepository.findOne(group);
+			candidates = definition != null ? Collections.singletonList(definition)
+					: Collections.<ApplicationDefinition>emptyList();
+		}
+		else {
+			candidates = this.applicationDefinitionRepository.findAll();
+		}
+		List<String> ids = new ArrayList<>();
+		for (ApplicationDefinition applicationDefinition : candidates) {
+			if (namePattern != null
+					&& !PatternMatchUtils.simpleMatch(namePattern, applicationDefinition.getRegisteredAppName())) {
+				continue;
+			}
+			String id = this.deploymentIdRepository.findOne(forApplicationDefinition(applicationDefinition));
 			if (id != null) {
-				values.add(appDeployer.status(id));
+				ids.add(id);
 			}
 		}
+		Collections.sort(ids);
 
-		Collections.sort(values, new Comparator<AppStatus>() {
-			@Override
-			public int compare(AppStatus o1, AppStatus o2) {
-				return o1.getDeploymentId().compareTo(o2.getDeploymentId());
+		ResourceAssembler<AppStatus, AppStatusResource> resourceAssembler = fields != null
+				? new Assembler(fieldSet(fields)) : statusAssembler;
+		if (size == null) {
+			return assembler.toResource(new PageImpl<>(statuses(ids, state)), resourceAssembler);
+		}
+		if (state == null) {
+			return assembler.toResource(new PageImpl<>(statuses(page(ids, pageable), null), pageable, ids.size()),
+					resourceAssembler);
+		}
+		List<AppStatus> values = statuses(ids, state);
+		return assembler.toResource(new PageImpl<>(page(values, pageable), pageable, values.size()),
+				resourceAssembler);
+	}
+
+	private List<AppStatus> statuses(List<String> ids, DeploymentState state) {
+		List<AppStatus> values = new ArrayList<>();
+		for (String id : ids) {
+			AppStatus status = appDeployer.status(id);
+			if (state == null || state == status.getState()) {
+				values.add(status);
 			}
-		});
-		return assembler.toResource(new PageImpl<>(values), statusAssembler);
+		}
+		return values;
+	}
+
+	private static <T> List<T> page(List<T> values, Pageable pageable) {
+		int from = Math.min(pageable.getOffset(), values.size());
+		return values.subList(from, Math.min(from + pageable.getPageSize(), values.size()));
 	}
 
 	public static String forApplicationDefinition(ApplicationDefinition applicationDefinition) {
@@ -119,19 +224,51 @@ public class RuntimeAppsController {
 		return String.format("%s.%s", applicationDefinition.getRegisteredAppName(), applicationDefinition.getName());
 	}
 
+	/**
+	 * Stream the changes in the status of deployed apps as Server-Sent Events. All
+	 * subscribers share a single status poller.
+	 *
+	 * @return the emitter the events are sent to
+	 * @see RuntimeAppStatusPoller
+	 */
+	@RequestMapping(value = "/events", method = RequestMethod.GET, produces = "text/event-stream")
+	public SseEmitter events() {
+		SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT);
+		statusPoller.subscribe(emitter);
+		return emitter;
+	}
+
 	@RequestMapping("/{id}")
-	public AppStatusResource display(@PathVariable String id) {
+	public AppStatusResource display(@PathVariable String id,
+			@RequestParam(value = "fields", required = false) List<String> fields) {
 		AppStatus status = appDeployer.status(id);
 		if (status != null) {
-			return statusAssembler.toResource(status);
+			return fields != null ? new Assembler(fieldSet(fields)).toResource(status) : statusAssembler.toResource(status);
 		}
 		throw new ResourceNotFoundException();
 	}
 
+	/**
+	 * Turn the {@code fields} request parameter into the set of attribute names to keep,
+	 * ignoring blank entries so that an empty parameter selects no attributes.
+	 */
+	private static Set<String> fieldSet(List<String> fields) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String field : fields) {
+			if (StringUtils.hasText(field)) {
+				result.add(field.trim());
+			}
+		}
+		return result;
+	}
+
 	private class Assembler extends ResourceAssemblerSupport<AppStatus, AppStatusResource> {
 
-		public Assembler() {
+		private final Set<String> fields;
+
+		public Assembler(Set<String> fields) {
 			super(RuntimeAppsController.class, AppStatusResource.class);
+			this.fields = fields;
 		}
 
 		@Override
@@ -143,7 +280,7 @@ public class RuntimeAppsController {
 		protected AppStatusResource instantiateResource(AppStatus entity) {
 			AppStatusResource resource = new AppStatusResource(entity.getDeploymentId(), entity.getState().name());
 			List<AppInstanceStatusResource> instanceStatusResources = new ArrayList<>();
-			InstanceAssembler instanceAssembler = new InstanceAssembler(entity);
+			InstanceAssembler instanceAssembler = new InstanceAssembler(entity, fields);
 			List<AppInstanceStatus> instanceStatuses = new ArrayList<>(entity.getInstances().values());
 			Collections.sort(instanceStatuses, INSTANCE_SORTER);
 			for (AppInstanceStatus appInstanceStatus : instanceStatuses) {
@@ -165,27 +302,39 @@ public class RuntimeAppsController {
 			this.appDeployer = appDeployer;
 		}
 
+		/**
+		 * List the instances of a deployed app.
+		 *
+		 * @param appId the deployment id of the app
+		 * @param fields the instance attributes to include, all of them if null
+		 * @param assembler assembler for the paged resources
+		 * @return the status of the app instances
+		 */
 		@RequestMapping
 		public PagedResources<AppInstanceStatusResource> list(@PathVariable String appId,
+				@RequestParam(value = "fields", required = false) List<String> fields,
 				PagedResourcesAssembler<AppInstanceStatus> assembler) {
 			AppStatus status = appDeployer.status(appId);
 			if (status != null) {
 				List<AppInstanceStatus> appInstanceStatuses = new ArrayList<>(status.getInstances().values());
 				Collections.sort(appInstanceStatuses, INSTANCE_SORTER);
-				return assembler.toResource(new PageImpl<>(appInstanceStatuses), new InstanceAssembler(status));
+				return assembler.toResource(new PageImpl<>(appInstanceStatuses),
+						new InstanceAssembler(status, fields != null ? fieldSet(fields) : null));
 			}
 			throw new ResourceNotFoundException();
 		}
 
 		@RequestMapping("/{instanceId}")
-		public AppInstanceStatusResource display(@PathVariable String appId, @PathVariable String instanceId) {
+		public AppInstanceStatusResource display(@PathVariable String appId, @PathVariable String instanceId,
+				@RequestParam(value = "fields", required = false) List<String> fields) {
 			AppStatus status = appDeployer.status(appId);
 			if (status != null) {
 				AppInstanceStatus appInstanceStatus = status.getInstances().get(instanceId);
 				if (appInstanceStatus == null) {
 					throw new ResourceNotFoundException();
 				}
-				return new InstanceAssembler(status).toResource(appInstanceStatus);
+				return new InstanceAssembler(status, fields != null ? fieldSet(fields) : null)
+						.toResource(appInstanceStatus);
 			}
 			throw new ResourceNotFoundException();
 		}
@@ -201,9 +350,15 @@ public class RuntimeAppsController {
 
 		private final AppStatus owningApp;
 
-		public InstanceAssembler(AppStatus owningApp) {
+		/**
+		 * The attributes to include, or null for all of them.
+		 */
+		private final Set<String> fields;
+
+		public InstanceAssembler(AppStatus owningApp, Set<String> fields) {
 			super(AppInstanceController.class, AppInstanceStatusResource.class);
 			this.owningApp = owningApp;
+			this.fields = fields;
 		}
 
 		@Override
@@ -213,7 +368,22 @@ public class RuntimeAppsController {
 
 		@Override
 		protected AppInstanceStatusResource instantiateResource(AppInstanceStatus entity) {
-			return new AppInstanceStatusResource(entity.getId(), entity.getState().name(), entity.getAttributes());
+			return new AppInstanceStatusResource(entity.getId(), entity.getState().name(), attributes(entity));
+		}
+
+		private Map<String, String> attributes(AppInstanceStatus entity) {
+			Map<String, String> attributes = entity.getAttributes();
+			if (fields == null || attributes == null) {
+				return attributes;
+			}
+			Map<String, String> projected = new LinkedHashMap<>(fields.size() * 2);
+			for (String field : fields) {
+				String value = attributes.get(field);
+				if (value != null) {
+					projected.put(field, value);
+				}
+			}
+			return projected;
 		}
 	}
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.io.File;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the options of the registered apps into the {@link DetailedAppRegistrationCache}
+ * once the server is ready, so that the first requests after a restart do not pay for
+ * metadata extraction. Only the apps whose artifact is available locally are warmed,
+ * that is {@code file:} artifacts and Maven artifacts already present in the local
+ * repository: nothing is downloaded.
+ * <p>
+ * Artifacts are resolved concurrently in the background. As a {@link HealthIndicator},
+ * the warmer reports its progress, and can report the server as out of service until it
+ * is done.
+ */
+public class AppCacheWarmer implements ApplicationListener<ApplicationReadyEvent>, HealthIndicator, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(AppCacheWarmer.class);
+
+	private final AppRegistry appRegistry;
+
+	private final DetailedAppRegistrationCache cache;
+
+	private final MavenProperties mavenProperties;
+
+	private final boolean outOfServiceUntilWarm;
+
+	private final ExecutorService executor;
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private final AtomicInteger total = new AtomicInteger(-1);
+
+	private final AtomicInteger warmed = new AtomicInteger();
+
+	private final AtomicInteger failed = new AtomicInteger();
+
+	private final AtomicInteger remaining = new AtomicInteger();
+
+	/**
+	 * Create a warmer for the apps of the given registry.
+	 *
+	 * @param appRegistry the registry listing the apps to warm
+	 * @param cache the cache to warm
+	 * @param mavenProperties the properties locating the local Maven repository
+	 * @param concurrency the maximum number of artifacts resolved concurrently
+	 * @param outOfServiceUntilWarm whether to report the server as out of service until
+	 * all apps are warmed
+	 */
+	public AppCacheWarmer(AppRegistry appRegistry, DetailedAppRegistrationCache cache, MavenProperties mavenProperties,
+			int concurrency, boolean outOfServiceUntilWarm) {
+		Assert.notNull(appRegistry, "appRegistry must not be null");
+		Assert.notNull(cache, "cache must not be null");
+		Assert.notNull(mavenProperties, "mavenProperties must not be null");
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		this.appRegistry = appRegistry;
+		this.cache = cache;
+		this.mavenProperties = mavenProperties;
+		this.outOfServiceUntilWarm = outOfServiceUntilWarm;
+		this.executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "app-cache-warmer-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		if (!started.compareAndSet(false, true)) {
+			return;
+		}
+		// the listing itself counts as remaining work until it is done
+		remaining.set(1);
+		total.set(0);
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				warmAll();
+			}
+		});
+	}
+
+	/**
+	 * Return whether all the apps available locally have been warmed.
+	 */
+	public boolean isWarm() {
+		return total.get() >= 0 && remaining.get() == 0;
+	}
+
+	@Override
+	public Health health() {
+		Health.Builder builder = (outOfServiceUntilWarm && !isWarm()) ? Health.outOfService() : Health.up();
+		return builder.withDetail("warm", isWarm())
+				.withDetail("apps", Math.max(total.get(), 0))
+				.withDetail("warmed", warmed.get())
+				.withDetail("failed", failed.get())
+				.build();
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private void warmAll() {
+		long start = System.nanoTime();
+		try {
+			List<AppRegistration> registrations = appRegistry.findAll();
+			for (final AppRegistration registration : registrations) {
+				if (!isLocal(registration)) {
+					continue;
+				}
+				total.incrementAndGet();
+				remaining.incrementAndGet();
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							cache.warm(registration);
+							warmed.incrementAndGet();
+						}
+						catch (RuntimeException e) {
+							failed.incrementAndGet();
+							logger.warn("Failed to warm the options of " + registration.getUri(), e);
+						}
+						finally {
+							remaining.decrementAndGet();
+						}
+					}
+				});
+			}
+			logger.info(String.format("Warming %d of %d registered apps, listed in %dms", total.get(),
+					registrations.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to list the apps to warm", e);
+		}
+		finally {
+			remaining.decrementAndGet();
+		}
+	}
+
+	private boolean isLocal(AppRegistration registration) {
+		URI uri = registration.getUri();
+		if ("file".equals(uri.getScheme())) {
+			return new File(uri).exists();
+		}
+		if ("maven".equals(uri.getScheme())) {
+			// parse the coordinates rather than loading the resource, which would download it
+			MavenResource resource;
+			try {
+				resource = MavenResource.parse(uri.getSchemeSpecificPart().replaceFirst("^/*", ""));
+			}
+			catch (IllegalArgumentException e) {
+				return false;
+			}
+			return localFile(resource).exists();
+		}
+		return false;
+	}
+
+	private File localFile(MavenResource resource) {
+		String version = resource.getVersion();
+		String fileName = resource.getArtifactId() + "-" + version
+				+ (StringUtils.hasLength(resource.getClassifier()) ? "-" + resource.getClassifier() : "")
+				+ "." + resource.getExtension();
+		return new File(mavenProperties.getLocalRepository(), resource.getGroupId().replace('.', File.separatorChar)
+				+ File.separator + resource.getArtifactId() + File.separator + version + File.separator + fileName);
+	}
+}
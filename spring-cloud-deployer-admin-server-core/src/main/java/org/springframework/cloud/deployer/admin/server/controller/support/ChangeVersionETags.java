@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds strong {@code ETag}s from the change versions maintained by the repositories
+ * backing a resource, along with any other state the representation depends upon. The
+ * request parameters and the {@code Accept} header select the representation, so they
+ * are part of the tag as well: responses tagged this way should {@code Vary} on
+ * {@code Accept}.
+ */
+public final class ChangeVersionETags {
+
+	private ChangeVersionETags() {
+	}
+
+	/**
+	 * Return the quoted {@code ETag} for the given request and state, an MD5 digest of
+	 * their string representations.
+	 *
+	 * @param request the request selecting the representation
+	 * @param state the change versions and other state the resource depends upon
+	 * @return the {@code ETag}
+	 */
+	public static String of(WebRequest request, Object... state) {
+		StringBuilder content = new StringBuilder();
+		for (Object part : state) {
+			content.append(part).append('\n');
+		}
+		content.append(request.getHeader(HttpHeaders.ACCEPT)).append('\n');
+		for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+			content.append(parameter.getKey()).append('=').append(Arrays.toString(parameter.getValue())).append('\n');
+		}
+		return '"' + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+	}
+}
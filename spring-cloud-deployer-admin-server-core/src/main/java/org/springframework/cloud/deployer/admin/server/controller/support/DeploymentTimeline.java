@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * The time spent in each stage of one deployment of an application. A stage spans from
+ * the end of the previous stage, or from the creation of the timeline for the first
+ * one, to the call to {@link #stage(String)} naming it.
+ * <p>
+ * A timeline is filled by the thread performing the deployment, then handed over to a
+ * {@link DeploymentTimelineBuffer} once {@link #finish(boolean) finished}.
+ */
+public class DeploymentTimeline {
+
+	private final String name;
+
+	private final Date startTime = new Date();
+
+	private final long start = System.nanoTime();
+
+	private final Map<String, Long> stages = new LinkedHashMap<>();
+
+	private long mark = start;
+
+	private long totalNanos = -1;
+
+	private boolean successful;
+
+	/**
+	 * Start the timeline of a deployment of the given application.
+	 *
+	 * @param name the name of the application definition being deployed
+	 */
+	public DeploymentTimeline(String name) {
+		Assert.hasText(name, "name must not be empty");
+		this.name = name;
+	}
+
+	/**
+	 * End the current stage of the deployment.
+	 *
+	 * @param stage the name of the stage that just completed
+	 */
+	public void stage(String stage) {
+		Assert.state(totalNanos < 0, "Deployment timeline is already finished");
+		long now = System.nanoTime();
+		stages.put(stage, now - mark);
+		mark = now;
+	}
+
+	/**
+	 * Record the end of the deployment.
+	 *
+	 * @param successful whether the app was handed over to the deployer
+	 */
+	public void finish(boolean successful) {
+		Assert.state(totalNanos < 0, "Deployment timeline is already finished");
+		this.totalNanos = System.nanoTime() - start;
+		this.successful = successful;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	public long getTotalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+	}
+
+	/**
+	 * Return the duration of each completed stage in milliseconds, in completion order.
+	 */
+	public Map<String, Long> getStageMillis() {
+		Map<String, Long> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Long> stage : stages.entrySet()) {
+			result.put(stage.getKey(), TimeUnit.NANOSECONDS.toMillis(stage.getValue()));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Keeps the {@link DeploymentTimeline}s of the latest deployments of each application in
+ * memory, so that a slow deployment can be looked into after the fact.
+ * <p>
+ * Each application gets a ring buffer of at most {@code capacity} timelines, the oldest
+ * being dropped first. The buffers of at most {@code maxApplications} applications are
+ * kept, those of the applications least recently deployed or looked up being dropped
+ * first.
+ */
+public class DeploymentTimelineBuffer {
+
+	/**
+	 * Default number of timelines kept per application.
+	 */
+	public static final int DEFAULT_CAPACITY = 20;
+
+	/**
+	 * Default number of applications whose timelines are kept.
+	 */
+	public static final int DEFAULT_MAX_APPLICATIONS = 1000;
+
+	private final int capacity;
+
+	private final int maxApplications;
+
+	private final LinkedHashMap<String, Deque<DeploymentTimeline>> timelines;
+
+	public DeploymentTimelineBuffer() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_APPLICATIONS);
+	}
+
+	public DeploymentTimelineBuffer(int capacity, int maxApplications) {
+		Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+		Assert.isTrue(maxApplications > 0, "maxApplications must be greater than 0");
+		this.capacity = capacity;
+		this.maxApplications = maxApplications;
+		this.timelines = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Add a finished timeline, dropping the oldest one of the same application if its
+	 * buffer is full.
+	 *
+	 * @param timeline the timeline to add
+	 */
+	public synchronized void add(DeploymentTimeline timeline) {
+		Assert.notNull(timeline, "timeline must not be null");
+		Deque<DeploymentTimeline> buffer = timelines.get(timeline.getName());
+		if (buffer == null) {
+			buffer = new ArrayDeque<>(capacity);
+			timelines.put(timeline.getName(), buffer);
+			Iterator<Map.Entry<String, Deque<DeploymentTimeline>>> eldest = timelines.entrySet().iterator();
+			while (timelines.size() > maxApplications) {
+				eldest.next();
+				eldest.remove();
+			}
+		}
+		if (buffer.size() == capacity) {
+			buffer.removeLast();
+		}
+		buffer.addFirst(timeline);
+	}
+
+	/**
+	 * Return the timelines kept for the given application, latest first.
+	 *
+	 * @param name the name of the application definition
+	 * @return the timelines of the application, possibly empty
+	 */
+	public synchronized List<DeploymentTimeline> get(String name) {
+		Deque<DeploymentTimeline> buffer = timelines.get(name);
+		return buffer == null ? Collections.<DeploymentTimeline>emptyList() : new ArrayList<>(buffer);
+	}
+
+	/**
+	 * Drop the timelines kept for the given application.
+	 *
+	 * @param name the name of the application definition
+	 */
+	public synchronized void remove(String name) {
+		timelines.remove(name);
+	}
+
+	/**
+	 * Drop the timelines kept for all applications.
+	 */
+	public synchronized void clear() {
+		timelines.clear();
+	}
+}
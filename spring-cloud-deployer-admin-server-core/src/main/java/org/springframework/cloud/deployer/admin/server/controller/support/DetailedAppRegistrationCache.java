@@ -0,0 +1,415 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.configurationmetadata.ValueHint;
+import org.springframework.cloud.deployer.admin.completion.ValueHintProvider;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.deployer.admin.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.hateoas.ResourceAssembler;
+import org.springframework.util.Assert;
+
+/**
+ * Caches the options of apps, keyed by the URI of the app artifact, for the
+ * {@link DetailedAppRegistrationResource}s describing them. Resolving the options of an
+ * app means opening its artifact and reading its configuration metadata, so this is done
+ * once per artifact: the options, along with the value hints contributed by the
+ * {@link ValueHintProvider}s, are then served from memory until the artifact is evicted,
+ * or until it is the least recently used once the options of too many artifacts are held.
+ * No app class loader is created: enum constants already come with the metadata, so the
+ * providers are only given the metadata of each option. The resources themselves, and
+ * their links, are assembled for each request.
+ * <p>
+ * When many apps are described at once, the artifacts not cached yet are resolved
+ * concurrently on a bounded pool, each within a timeout. An artifact already being
+ * resolved for another request is waited for rather than resolved again.
+ */
+public class DetailedAppRegistrationCache implements DisposableBean {
+
+	/**
+	 * Default number of artifacts resolved concurrently.
+	 */
+	public static final int DEFAULT_CONCURRENCY = 4;
+
+	/**
+	 * Default time, in milliseconds, to wait for the options of an artifact.
+	 */
+	public static final long DEFAULT_TIMEOUT = 30000;
+
+	/**
+	 * Default maximum number of artifacts whose options are cached.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 500;
+
+	private static final Log logger = LogFactory.getLog(DetailedAppRegistrationCache.class);
+
+	private final ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private final List<ValueHintProvider> valueHintProviders;
+
+	private final ExecutorService executor;
+
+	private final long timeout;
+
+	/**
+	 * The cached options by artifact URI, least recently used first. Guarded by itself.
+	 */
+	private final Map<URI, List<ConfigurationMetadataProperty>> options;
+
+	/**
+	 * Incremented whenever options are evicted or cleared, so that a resolution which
+	 * started before is not cached afterwards. Guarded by {@link #options}.
+	 */
+	private long generation;
+
+	/**
+	 * The resolutions submitted to the pool and not completed yet, by artifact URI.
+	 */
+	private final ConcurrentMap<URI, Resolution> resolutions = new ConcurrentHashMap<>();
+
+	/**
+	 * Create a cache resolving app options with the given resolver, using the default
+	 * concurrency and timeout.
+	 *
+	 * @param metadataResolver the resolver used to list the options of an app
+	 * @param valueHintProviders the providers contributing value hints to each option
+	 */
+	public DetailedAppRegistrationCache(ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders) {
+		this(metadataResolver, valueHintProviders, DEFAULT_CONCURRENCY, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Create a cache resolving app options with the given resolver.
+	 *
+	 * @param metadataResolver the resolver used to list the options of an app
+	 * @param valueHintProviders the providers contributing value hints to each option
+	 * @param concurrency the maximum number of artifacts resolved concurrently
+	 * @param timeout the time, in milliseconds, to wait for the options of an artifact
+	 */
+	public DetailedAppRegistrationCache(ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders, int concurrency, long timeout) {
+		this(metadataResolver, valueHintProviders, concurrency, timeout, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Create a cache resolving app options with the given resolver.
+	 *
+	 * @param metadataResolver the resolver used to list the options of an app
+	 * @param valueHintProviders the providers contributing value hints to each option
+	 * @param concurrency the maximum number of artifacts resolved concurrently
+	 * @param timeout the time, in milliseconds, to wait for the options of an artifact
+	 * @param maxEntries the maximum number of artifacts whose options are cached
+	 */
+	public DetailedAppRegistrationCache(ApplicationConfigurationMetadataResolver metadataResolver,
+			List<ValueHintProvider> valueHintProviders, int concurrency, long timeout, final int maxEntries) {
+		Assert.notNull(metadataResolver, "metadataResolver must not be null");
+		Assert.notNull(valueHintProviders, "valueHintProviders must not be null");
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		Assert.isTrue(timeout > 0, "timeout must be greater than 0");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be greater than 0");
+		this.metadataResolver = metadataResolver;
+		this.valueHintProviders = valueHintProviders;
+		this.timeout = timeout;
+		this.options = new LinkedHashMap<URI, List<ConfigurationMetadataProperty>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, List<ConfigurationMetadataProperty>> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		this.executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "app-metadata-resolver-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Return the detailed resource for the given registration, resolving the options of
+	 * its artifact only if they are not cached yet. When the same artifact is registered
+	 * under another name, the cached options are reused for that name.
+	 *
+	 * @param registration the app registration
+	 * @param resource the resource representing the registration
+	 * @return the detailed resource
+	 */
+	public DetailedAppRegistrationResource get(AppRegistration registration, AppRegistrationResource resource) {
+		return detailed(resource, getOptions(registration));
+	}
+
+	/**
+	 * Return the resources for the given registrations, in the same order, resolving the
+	 * artifacts not cached yet concurrently. Each artifact is given the timeout from the
+	 * moment its resolution starts, and as long again to start while the pool is busy.
+	 * A registration whose options could not be resolved in time, or at all, is
+	 * represented by its plain resource; a resolution that timed out still completes in
+	 * the background and populates the cache.
+	 *
+	 * @param registrations the app registrations
+	 * @param assembler the assembler creating the resource representing a registration
+	 * @return the resources, detailed whenever possible, keyed by registration
+	 */
+	public Map<AppRegistration, AppRegistrationResource> getAll(List<AppRegistration> registrations,
+			ResourceAssembler<AppRegistration, AppRegistrationResource> assembler) {
+		Map<AppRegistration, AppRegistrationResource> result = new IdentityHashMap<>();
+		Map<AppRegistration, Resolution> pending = new LinkedHashMap<>();
+		for (AppRegistration registration : registrations) {
+			AppRegistrationResource resource = assembler.toResource(registration);
+			List<ConfigurationMetadataProperty> cached = getCachedOptions(registration.getUri());
+			if (cached != null) {
+				result.put(registration, detailed(resource, cached));
+			}
+			else {
+				result.put(registration, resource);
+				pending.put(registration, resolve(registration));
+			}
+		}
+		for (Map.Entry<AppRegistration, Resolution> entry : pending.entrySet()) {
+			AppRegistration registration = entry.getKey();
+			try {
+				result.put(registration, detailed(result.get(registration), entry.getValue().await()));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			catch (ExecutionException e) {
+				logger.warn("Failed to resolve the options of " + registration.getUri(), e.getCause());
+			}
+			catch (TimeoutException e) {
+				logger.warn("Timed out resolving the options of " + registration.getUri());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Resolve the options of the given registration ahead of the first request for it,
+	 * unless they are cached already.
+	 *
+	 * @param registration the app registration
+	 * @return whether the options had to be resolved
+	 */
+	public boolean warm(AppRegistration registration) {
+		if (getCachedOptions(registration.getUri()) != null) {
+			return false;
+		}
+		getOptions(registration);
+		return true;
+	}
+
+	/**
+	 * Remove the options cached for the given artifact URI, if any. A resolution of the
+	 * artifact still in progress won't be served once it completes.
+	 *
+	 * @param uri the URI of the app artifact
+	 */
+	public void evict(URI uri) {
+		synchronized (options) {
+			generation++;
+			options.remove(uri);
+		}
+		resolutions.remove(uri);
+	}
+
+	/**
+	 * Remove all cached options.
+	 */
+	public void clear() {
+		synchronized (options) {
+			generation++;
+			options.clear();
+		}
+		resolutions.clear();
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Return the resolution of the artifact of the given registration in progress, or
+	 * submit a new one.
+	 */
+	private Resolution resolve(AppRegistration registration) {
+		URI uri = registration.getUri();
+		Resolution resolution = resolutions.get(uri);
+		if (resolution == null) {
+			Resolution created = new Resolution(registration);
+			resolution = resolutions.putIfAbsent(uri, created);
+			if (resolution == null) {
+				resolution = created;
+				try {
+					executor.execute(resolution.future);
+				}
+				catch (RuntimeException e) {
+					resolutions.remove(uri, resolution);
+					throw e;
+				}
+			}
+		}
+		return resolution;
+	}
+
+	private DetailedAppRegistrationResource detailed(AppRegistrationResource resource,
+			List<ConfigurationMetadataProperty> properties) {
+		DetailedAppRegistrationResource result = new DetailedAppRegistrationResource(resource);
+		result.add(resource.getLinks());
+		for (ConfigurationMetadataProperty property : properties) {
+			result.addOption(property);
+		}
+		return result;
+	}
+
+	private List<ConfigurationMetadataProperty> getCachedOptions(URI uri) {
+		synchronized (options) {
+			return options.get(uri);
+		}
+	}
+
+	private List<ConfigurationMetadataProperty> getOptions(AppRegistration registration) {
+		URI uri = registration.getUri();
+		List<ConfigurationMetadataProperty> cached = getCachedOptions(uri);
+		if (cached != null) {
+			return cached;
+		}
+		// read the generation before resolving, so that an eviction made meanwhile wins,
+		// even though an eviction of another artifact then also keeps these options out
+		long started;
+		synchronized (options) {
+			started = generation;
+		}
+		List<ConfigurationMetadataProperty> properties = resolveOptions(registration);
+		synchronized (options) {
+			if (generation == started) {
+				options.put(uri, properties);
+			}
+		}
+		return properties;
+	}
+
+	private List<ConfigurationMetadataProperty> resolveOptions(AppRegistration registration) {
+		List<ConfigurationMetadataProperty> properties = metadataResolver.listProperties(registration.getResource());
+		for (ConfigurationMetadataProperty property : properties) {
+			addValueHints(property);
+		}
+		return properties;
+	}
+
+	private void addValueHints(ConfigurationMetadataProperty property) {
+		List<ValueHint> valueHints = property.getHints().getValueHints();
+		Set<Object> values = new LinkedHashSet<>();
+		for (ValueHint valueHint : valueHints) {
+			values.add(valueHint.getValue());
+		}
+		List<ValueHint> generated = new ArrayList<>();
+		for (ValueHintProvider provider : valueHintProviders) {
+			for (ValueHint valueHint : provider.generateValueHints(property, null)) {
+				if (values.add(valueHint.getValue())) {
+					generated.add(valueHint);
+				}
+			}
+		}
+		valueHints.addAll(generated);
+	}
+
+	/**
+	 * The resolution of the options of an artifact on the pool, which records when it
+	 * started so that it can be waited for within its own timeout.
+	 */
+	private class Resolution implements Callable<List<ConfigurationMetadataProperty>> {
+
+		private final AppRegistration registration;
+
+		private volatile long started;
+
+		private final FutureTask<List<ConfigurationMetadataProperty>> future;
+
+		Resolution(AppRegistration registration) {
+			this.registration = registration;
+			this.future = new FutureTask<>(this);
+		}
+
+		@Override
+		public List<ConfigurationMetadataProperty> call() {
+			started = System.currentTimeMillis();
+			try {
+				return getOptions(registration);
+			}
+			finally {
+				resolutions.remove(registration.getUri(), this);
+			}
+		}
+
+		/**
+		 * Wait for the options, up to the timeout for the resolution to start, then up to
+		 * the timeout from the moment it started.
+		 */
+		List<ConfigurationMetadataProperty> await() throws InterruptedException, ExecutionException,
+				TimeoutException {
+			long startDeadline = System.currentTimeMillis() + timeout;
+			while (true) {
+				long startedAt = started;
+				long deadline = (startedAt != 0) ? startedAt + timeout : startDeadline;
+				try {
+					return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+				}
+				catch (TimeoutException e) {
+					if (startedAt != 0 || started == 0) {
+						throw e;
+					}
+					// started while waiting for it to start: wait for it to complete
+				}
+			}
+		}
+	}
+}
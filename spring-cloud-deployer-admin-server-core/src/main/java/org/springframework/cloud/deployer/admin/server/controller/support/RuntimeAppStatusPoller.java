@@ -0,0 +1,433 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.deployer.admin.core.ApplicationDefinition;
+import org.springframework.cloud.deployer.admin.server.controller.RuntimeAppsController;
+import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
+import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Polls the {@link AppDeployer} for the status of all deployed apps on a single thread
+ * and pushes the changes between successive sweeps to every subscribed
+ * {@link SseEmitter}, so that any number of watchers costs one status sweep per
+ * interval. Polling only happens while there is at least one subscriber: once the last
+ * one is gone, the sweep is cancelled and the latest status forgotten.
+ * <p>
+ * Each changed app is sent as a {@code status} event carrying an {@link AppStatusChange}
+ * with the app state and the instances whose state changed; an instance that
+ * disappeared is reported as {@code unknown}. An app that is no longer
+ * deployed is sent as a {@code removed} event carrying its deployment id. A new
+ * subscriber is first sent the complete status from the latest sweep.
+ * <p>
+ * The events are queued for each subscriber and sent to it, in order, on a small pool
+ * of sender threads, so that a slow client neither delays the sweeps nor the other
+ * clients. A client falling more than {@link #MAX_PENDING_EVENTS} events behind is
+ * dropped.
+ */
+public class RuntimeAppStatusPoller implements DisposableBean {
+
+	/**
+	 * Default interval between two status sweeps, in milliseconds.
+	 */
+	public static final long DEFAULT_POLL_INTERVAL = 5000L;
+
+	/**
+	 * Maximum number of events waiting to be sent to a single subscriber.
+	 */
+	public static final int MAX_PENDING_EVENTS = 10000;
+
+	/**
+	 * Number of threads sending events to the subscribers.
+	 */
+	private static final int SENDER_THREADS = 4;
+
+	private static final Log logger = LogFactory.getLog(RuntimeAppStatusPoller.class);
+
+	private final ApplicationDefinitionRepository applicationDefinitionRepository;
+
+	private final DeploymentIdRepository deploymentIdRepository;
+
+	private final AppDeployer appDeployer;
+
+	private final long pollInterval;
+
+	private final Map<SseEmitter, Subscriber> subscribers = new LinkedHashMap<>();
+
+	/**
+	 * The state of each app and of its instances, as seen by the latest sweep.
+	 */
+	private Map<String, AppStatusChange> snapshot = new LinkedHashMap<>();
+
+	private final ScheduledExecutorService executor;
+
+	private final Executor senders;
+
+	private boolean started;
+
+	private ScheduledFuture<?> sweeps;
+
+	/**
+	 * Create a poller sweeping the deployed apps every {@code pollInterval} milliseconds.
+	 *
+	 * @param applicationDefinitionRepository the repository of application definitions
+	 * @param deploymentIdRepository the repository of deployment ids
+	 * @param appDeployer the deployer queried for app status
+	 * @param pollInterval the interval between two sweeps, in milliseconds
+	 */
+	public RuntimeAppStatusPoller(ApplicationDefinitionRepository applicationDefinitionRepository,
+			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer, long pollInterval) {
+		this(applicationDefinitionRepository, deploymentIdRepository, appDeployer, pollInterval,
+				Executors.newSingleThreadScheduledExecutor(daemonThreads("runtime-status-poller")),
+				Executors.newFixedThreadPool(SENDER_THREADS, daemonThreads("runtime-status-sender")));
+	}
+
+	RuntimeAppStatusPoller(ApplicationDefinitionRepository applicationDefinitionRepository,
+			DeploymentIdRepository deploymentIdRepository, AppDeployer appDeployer, long pollInterval,
+			ScheduledExecutorService executor, Executor senders) {
+		Assert.notNull(applicationDefinitionRepository, "ApplicationDefinitionRepository must not be null");
+		Assert.notNull(deploymentIdRepository, "DeploymentIdRepository must not be null");
+		Assert.notNull(appDeployer, "AppDeployer must not be null");
+		Assert.isTrue(pollInterval > 0, "Poll interval must be greater than 0");
+		this.applicationDefinitionRepository = applicationDefinitionRepository;
+		this.deploymentIdRepository = deploymentIdRepository;
+		this.appDeployer = appDeployer;
+		this.pollInterval = pollInterval;
+		this.executor = executor;
+		this.senders = senders;
+	}
+
+	private static ThreadFactory daemonThreads(final String prefix) {
+		return new ThreadFactory() {
+
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Register a subscriber, send it the latest known status of all apps and start
+	 * polling if it is not running yet.
+	 *
+	 * @param emitter the emitter changes are pushed to
+	 */
+	public void subscribe(final SseEmitter emitter) {
+		Runnable unsubscribe = new Runnable() {
+			@Override
+			public void run() {
+				unsubscribe(emitter);
+			}
+		};
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		Subscriber subscriber = new Subscriber(emitter);
+		synchronized (this) {
+			subscribers.put(emitter, subscriber);
+			// queued under the lock, so that the snapshot precedes the changes of the next sweep
+			for (AppStatusChange change : snapshot.values()) {
+				subscriber.enqueue("status", change);
+			}
+			if (!started) {
+				started = true;
+				sweeps = executor.scheduleWithFixedDelay(new Runnable() {
+					@Override
+					public void run() {
+						poll();
+					}
+				}, 0, pollInterval, TimeUnit.MILLISECONDS);
+			}
+		}
+		subscriber.flush();
+	}
+
+	/**
+	 * Return the number of currently registered subscribers.
+	 */
+	public synchronized int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	/**
+	 * Sweep the status of all deployed apps once and queue the differences with the
+	 * previous sweep for the subscribers. Does nothing when there are no subscribers.
+	 */
+	public void poll() {
+		synchronized (this) {
+			if (subscribers.isEmpty()) {
+				return;
+			}
+		}
+		Map<String, AppStatusChange> current;
+		try {
+			current = sweep();
+		}
+		catch (Exception e) {
+			logger.warn("Failed to poll the status of deployed apps", e);
+			return;
+		}
+		List<Subscriber> recipients;
+		synchronized (this) {
+			if (!started) {
+				// the last subscriber left during the sweep
+				return;
+			}
+			Map<String, AppStatusChange> previous = snapshot;
+			snapshot = current;
+			recipients = new ArrayList<>(subscribers.values());
+			for (AppStatusChange app : current.values()) {
+				AppStatusChange change = app.diff(previous.get(app.getDeploymentId()));
+				if (change != null) {
+					for (Subscriber subscriber : recipients) {
+						subscriber.enqueue("status", change);
+					}
+				}
+			}
+			for (String deploymentId : previous.keySet()) {
+				if (!current.containsKey(deploymentId)) {
+					for (Subscriber subscriber : recipients) {
+						subscriber.enqueue("removed", deploymentId);
+					}
+				}
+			}
+		}
+		for (Subscriber subscriber : recipients) {
+			subscriber.flush();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		List<SseEmitter> emitters;
+		synchronized (this) {
+			executor.shutdownNow();
+			if (senders instanceof ExecutorService) {
+				((ExecutorService) senders).shutdownNow();
+			}
+			emitters = new ArrayList<>(subscribers.keySet());
+			subscribers.clear();
+		}
+		for (SseEmitter emitter : emitters) {
+			emitter.complete();
+		}
+	}
+
+	/**
+	 * Remove a subscriber, stopping the sweeps and forgetting the latest status when it
+	 * was the last one.
+	 */
+	private synchronized void unsubscribe(SseEmitter emitter) {
+		if (subscribers.remove(emitter) != null && subscribers.isEmpty() && started) {
+			started = false;
+			if (sweeps != null) {
+				sweeps.cancel(false);
+				sweeps = null;
+			}
+			snapshot = new LinkedHashMap<>();
+		}
+	}
+
+	private Map<String, AppStatusChange> sweep() {
+		Map<String, AppStatusChange> statuses = new LinkedHashMap<>();
+		for (ApplicationDefinition applicationDefinition : applicationDefinitionRepository.findAll()) {
+			String id = deploymentIdRepository.findOne(RuntimeAppsController.forApplicationDefinition(applicationDefinition));
+			if (id != null) {
+				AppStatus status = appDeployer.status(id);
+				if (status != null) {
+					statuses.put(status.getDeploymentId(), new AppStatusChange(status));
+				}
+			}
+		}
+		return statuses;
+	}
+
+	/**
+	 * The events waiting to be sent to a subscriber. At most one sender thread drains the
+	 * queue at any time, so that the events are sent in order.
+	 */
+	private class Subscriber implements Runnable {
+
+		private final SseEmitter emitter;
+
+		private final Queue<Object[]> pending = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		private final AtomicBoolean sending = new AtomicBoolean();
+
+		private volatile boolean dropped;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		void enqueue(String name, Object data) {
+			if (dropped) {
+				return;
+			}
+			if (size.incrementAndGet() > MAX_PENDING_EVENTS) {
+				drop(new IllegalStateException("Client is more than " + MAX_PENDING_EVENTS + " events behind"));
+				return;
+			}
+			pending.add(new Object[] { name, data });
+		}
+
+		/**
+		 * Have the queued events sent, unless a sender is already at it.
+		 */
+		void flush() {
+			if (!dropped && !pending.isEmpty() && sending.compareAndSet(false, true)) {
+				try {
+					senders.execute(this);
+				}
+				catch (RejectedExecutionException e) {
+					sending.set(false);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			Object[] event;
+			while (!dropped && (event = pending.poll()) != null) {
+				size.decrementAndGet();
+				try {
+					emitter.send(SseEmitter.event().name((String) event[0]).data(event[1]));
+				}
+				catch (IOException | IllegalStateException e) {
+					// the client went away, or the emitter was already completed
+					drop(e);
+				}
+			}
+			sending.set(false);
+			// events queued after the last poll and before the flag was cleared
+			flush();
+		}
+
+		private void drop(Exception e) {
+			dropped = true;
+			pending.clear();
+			unsubscribe(emitter);
+			emitter.completeWithError(e);
+		}
+	}
+
+	/**
+	 * The state of a deployed app and of (some of) its instances.
+	 */
+	public static class AppStatusChange {
+
+		private final String deploymentId;
+
+		private final String state;
+
+		private final Map<String, String> instances;
+
+		AppStatusChange(String deploymentId, String state, Map<String, String> instances) {
+			this.deploymentId = deploymentId;
+			this.state = state;
+			this.instances = instances;
+		}
+
+		AppStatusChange(AppStatus status) {
+			this.deploymentId = status.getDeploymentId();
+			this.state = status.getState().name();
+			this.instances = new LinkedHashMap<>();
+			for (AppInstanceStatus instance : status.getInstances().values()) {
+				this.instances.put(instance.getId(), instance.getState().name());
+			}
+		}
+
+		public String getDeploymentId() {
+			return deploymentId;
+		}
+
+		public String getState() {
+			return state;
+		}
+
+		/**
+		 * Return the state of each instance, keyed by instance id.
+		 */
+		public Map<String, String> getInstances() {
+			return instances;
+		}
+
+		/**
+		 * Return the part of this status that differs from the given previous one, or
+		 * {@code null} if nothing changed.
+		 */
+		AppStatusChange diff(AppStatusChange previous) {
+			if (previous == null) {
+				return this;
+			}
+			Map<String, String> changedInstances = new LinkedHashMap<>();
+			for (Map.Entry<String, String> instance : instances.entrySet()) {
+				if (!instance.getValue().equals(previous.instances.get(instance.getKey()))) {
+					changedInstances.put(instance.getKey(), instance.getValue());
+				}
+			}
+			for (String instanceId : previous.instances.keySet()) {
+				if (!instances.containsKey(instanceId)) {
+					changedInstances.put(instanceId, DeploymentState.unknown.name());
+				}
+			}
+			if (state.equals(previous.state) && changedInstances.isEmpty()) {
+				return null;
+			}
+			return new AppStatusChange(deploymentId, state, changedInstances);
+		}
+
+		@Override
+		public String toString() {
+			return deploymentId + "=" + state + " " + instances;
+		}
+	}
+}
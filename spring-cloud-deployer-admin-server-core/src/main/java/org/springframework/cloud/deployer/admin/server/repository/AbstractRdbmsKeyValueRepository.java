@@ -23,6 +23,8 @@ import java.util.List;
 
 import javax.sql.DataSource;
 
+import org.springframework.cloud.deployer.admin.registry.ChangeVersions;
+import org.springframework.cloud.deployer.admin.registry.RdbmsChangeVersions;
 import org.springframework.cloud.deployer.admin.server.repository.support.Order;
 import org.springframework.cloud.deployer.admin.server.repository.support.PagingQueryProvider;
 import org.springframework.cloud.deployer.admin.server.repository.support.SearchPageable;
@@ -95,6 +97,8 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 
 	protected final RowMapper<D> rowMapper;
 
+	private final ChangeVersions changeVersions;
+
 	public AbstractRdbmsKeyValueRepository(DataSource dataSource, String tablePrefix, String tableSuffix,
 			RowMapper<D> rowMapper, String keyColumn, String valueColumn) {
 		Assert.notNull(dataSource);
@@ -102,6 +106,7 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
 		this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
 		this.dataSource = dataSource;
+		this.changeVersions = new RdbmsChangeVersions(dataSource);
 		this.orderMap = new LinkedHashMap<>();
 		this.orderMap.put(keyColumn, Order.ASCENDING);
 		this.tablePrefix = tablePrefix;
@@ -231,6 +236,7 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 	public void delete(String name) {
 		Assert.hasText(name, "name must not be empty nor null");
 		jdbcTemplate.update(deleteFromTableByKey, name);
+		incrementVersion();
 	}
 
 	@Override
@@ -244,6 +250,24 @@ public abstract class AbstractRdbmsKeyValueRepository<D> implements PagingAndSor
 	@Override
 	public void deleteAll() {
 		jdbcTemplate.update(deleteFromTableClause);
+		incrementVersion();
+	}
+
+	/**
+	 * Return the change version of this repository's table, which is incremented on every
+	 * write performed through any repository sharing the database.
+	 *
+	 * @return the current change version
+	 */
+	public long getVersion() {
+		return changeVersions.get(tableName.trim());
+	}
+
+	/**
+	 * Record a write to this repository.
+	 */
+	protected void incrementVersion() {
+		changeVersions.increment(tableName.trim());
 	}
 
 	private String updatePrefixSuffix(String base) {
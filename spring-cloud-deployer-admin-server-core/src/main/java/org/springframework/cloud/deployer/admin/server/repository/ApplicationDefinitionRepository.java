@@ -24,4 +24,11 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 public interface ApplicationDefinitionRepository extends PagingAndSortingRepository<ApplicationDefinition, String>{
 
 	Page<ApplicationDefinition>search(SearchPageable searchPageable);
+
+	/**
+	 * Return a version that changes whenever this repository is written to.
+	 *
+	 * @return the current change version
+	 */
+	long getVersion();
 }
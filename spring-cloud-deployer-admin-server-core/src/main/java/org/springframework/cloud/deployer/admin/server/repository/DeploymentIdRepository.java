@@ -50,4 +50,18 @@ public interface DeploymentIdRepository extends org.springframework.data.reposit
 	 * @param key the app deployment key
 	 */
 	void delete(String key);
+
+	/**
+	 * Find all identifiers.
+	 *
+	 * @return all the identifiers
+	 */
+	Iterable<String> findAll();
+
+	/**
+	 * Return a version that changes whenever this repository is written to.
+	 *
+	 * @return the current change version
+	 */
+	long getVersion();
 }
@@ -55,6 +55,7 @@ public class RdbmsApplicationDefinitionRepository extends AbstractRdbmsKeyValueR
 		}
 		Object[] insertParameters = new Object[]{definition.getName(), definition.getDslText()};
 		jdbcTemplate.update(saveRow, insertParameters, new int[]{Types.VARCHAR, Types.CLOB});
+		incrementVersion();
 		return definition;
 	}
 
@@ -45,6 +45,7 @@ public class RdbmsDeploymentIdRepository extends AbstractRdbmsKeyValueRepository
 	public void save(String key, String deploymentId) {
 		Object[] insertParameters = new Object[]{key, deploymentId};
 		jdbcTemplate.update(saveRow, insertParameters, new int[]{Types.VARCHAR, Types.VARCHAR});
+		incrementVersion();
 	}
 
 	@Override
@@ -56,5 +57,6 @@ public class RdbmsDeploymentIdRepository extends AbstractRdbmsKeyValueRepository
 	public void delete(String name) {
 		Assert.hasText(name, "name must not be empty nor null");
 		jdbcTemplate.update(deleteFromTableByKey, name);
+		incrementVersion();
 	}
 }
@@ -16,6 +16,16 @@
 
 package org.springframework.cloud.deployer.admin.server.repository.support;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
@@ -25,10 +35,15 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.deployer.admin.server.config.features.FeaturesProperties;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
 
 /**
  * Utility for initializing the Definition Repository's datasource. If a single
@@ -38,6 +53,10 @@ import org.springframework.jdbc.support.MetaDataAccessException;
  * By default, initialization of the database can be disabled by configuring the property
  * <code>spring.cloud.dataflow.rdbms.initialize.enable</code> to false.
  *
+ * A digest of the schema scripts is recorded in the {@code DATAFLOW_SCHEMA_VERSION} table
+ * once they have run and all the tables they create exist, so that starting against a
+ * database whose schema is current only costs a query on that table.
+ *
  * @author Glenn Renfro
  * @author Ilayaperumal Gopinathan
  */
@@ -58,6 +77,18 @@ public final class DataflowRdbmsInitializer implements InitializingBean {
 
 	private static final String DEPLOYMENT_SCHEMA_SUFFIX = "deployment";
 
+	private static final String CREATE_VERSION_TABLE = "CREATE TABLE DATAFLOW_SCHEMA_VERSION (SCHEMA_VERSION VARCHAR(64) NOT NULL)";
+
+	private static final String SELECT_VERSION = "SELECT SCHEMA_VERSION FROM DATAFLOW_SCHEMA_VERSION";
+
+	private static final String DELETE_VERSION = "DELETE FROM DATAFLOW_SCHEMA_VERSION";
+
+	private static final String INSERT_VERSION = "INSERT INTO DATAFLOW_SCHEMA_VERSION (SCHEMA_VERSION) VALUES (?)";
+
+	private static final String PROBE_TABLE = "SELECT COUNT(*) FROM %s WHERE 1 = 0";
+
+	private static final Pattern CREATE_TABLE = Pattern.compile("CREATE\\s+TABLE\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
 	/**
 	 * Path to the SQL file to use to initialize the database schema.
 	 */
@@ -98,31 +129,88 @@ public final class DataflowRdbmsInitializer implements InitializingBean {
 			if ("oracle".equals(platform)) {
 				platform = "oracle10g";
 			}
-			ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
 			String schemaLocation = schema;
 			schemaLocation = schemaLocation.replace("@@platform@@", platform);
-			String commonSchemaLocation = schemaLocation;
-			commonSchemaLocation = commonSchemaLocation.replace("@@suffix@@", COMMON_SCHEMA_SUFFIX);
-			logger.info(String.format("Adding dataflow schema %s for %s database", commonSchemaLocation,
-					platform));
-			populator.addScript(resourceLoader.getResource(commonSchemaLocation));
-
-			String applicationssSchemaLocation = schemaLocation;
-			applicationssSchemaLocation = applicationssSchemaLocation.replace("@@suffix@@", APPLICATIONS_SCHEMA_SUFFIX);
-			logger.info(String.format("Adding dataflow schema %s for %s database", applicationssSchemaLocation,
-					platform));
-			populator.addScript(resourceLoader.getResource(applicationssSchemaLocation));
-
-			String deploymentSchemaLocation = schemaLocation;
-			deploymentSchemaLocation = deploymentSchemaLocation.replace("@@suffix@@", DEPLOYMENT_SCHEMA_SUFFIX);
-			logger.info(String.format("Adding dataflow schema %s for %s database", deploymentSchemaLocation,
-					platform));
-			populator.addScript(resourceLoader.getResource(deploymentSchemaLocation));
+			List<Resource> scripts = new ArrayList<>();
+			for (String suffix : new String[] { COMMON_SCHEMA_SUFFIX, APPLICATIONS_SCHEMA_SUFFIX, DEPLOYMENT_SCHEMA_SUFFIX }) {
+				scripts.add(resourceLoader.getResource(schemaLocation.replace("@@suffix@@", suffix)));
+			}
+
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			byte[] content = read(scripts);
+			String version = DigestUtils.md5DigestAsHex(content);
+			if (isCurrent(jdbcTemplate, version)) {
+				logger.info(String.format("Dataflow schema for %s database is up to date", platform));
+				return;
+			}
 
+			ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+			for (Resource script : scripts) {
+				logger.info(String.format("Adding dataflow schema %s for %s database", script.getDescription(),
+						platform));
+				populator.addScript(script);
+			}
 			populator.setContinueOnError(true);
 			logger.debug(String.format("Initializing dataflow schema for %s database", platform));
 			DatabasePopulatorUtils.execute(populator, dataSource);
+			// statements that failed were skipped, so only trust the scripts if their tables are all there
+			List<String> missing = missingTables(jdbcTemplate, new String(content, StandardCharsets.UTF_8));
+			if (missing.isEmpty()) {
+				recordVersion(jdbcTemplate, version);
+			}
+			else {
+				logger.warn(String.format("Dataflow schema for %s database is incomplete, missing tables %s; "
+						+ "the scripts will run again on next start", platform, missing));
+			}
+		}
+	}
+
+	private List<String> missingTables(JdbcTemplate jdbcTemplate, String scripts) {
+		List<String> missing = new ArrayList<>();
+		Matcher matcher = CREATE_TABLE.matcher(scripts);
+		while (matcher.find()) {
+			String table = matcher.group(1);
+			try {
+				jdbcTemplate.queryForObject(String.format(PROBE_TABLE, table), Integer.class);
+			}
+			catch (DataAccessException e) {
+				missing.add(table);
+			}
+		}
+		return missing;
+	}
+
+	private boolean isCurrent(JdbcTemplate jdbcTemplate, String version) {
+		List<String> versions;
+		try {
+			versions = jdbcTemplate.queryForList(SELECT_VERSION, String.class);
+		}
+		catch (DataAccessException e) {
+			// the version table does not exist yet
+			return false;
+		}
+		return !versions.isEmpty() && Collections.frequency(versions, version) == versions.size();
+	}
+
+	private void recordVersion(JdbcTemplate jdbcTemplate, String version) {
+		try {
+			jdbcTemplate.execute(CREATE_VERSION_TABLE);
+		}
+		catch (DataAccessException e) {
+			logger.debug("Dataflow schema version table already exists");
+		}
+		jdbcTemplate.update(DELETE_VERSION);
+		jdbcTemplate.update(INSERT_VERSION, version);
+	}
+
+	private byte[] read(List<Resource> scripts) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		for (Resource script : scripts) {
+			try (InputStream inputStream = script.getInputStream()) {
+				StreamUtils.copy(inputStream, content);
+			}
 		}
+		return content.toByteArray();
 	}
 
 	private String getDatabaseType(DataSource dataSource) {
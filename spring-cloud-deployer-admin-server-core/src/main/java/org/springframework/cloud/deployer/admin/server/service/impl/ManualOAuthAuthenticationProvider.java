@@ -15,8 +15,20 @@
  */
 package org.springframework.cloud.deployer.admin.server.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +41,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.oauth2.client.DefaultOAuth2ClientContext;
 import org.springframework.security.oauth2.client.OAuth2RestTemplate;
 import org.springframework.security.oauth2.client.resource.OAuth2AccessDeniedException;
@@ -36,6 +49,7 @@ import org.springframework.security.oauth2.client.token.AccessTokenProvider;
 import org.springframework.security.oauth2.client.token.DefaultAccessTokenRequest;
 import org.springframework.security.oauth2.client.token.grant.password.ResourceOwnerPasswordAccessTokenProvider;
 import org.springframework.security.oauth2.client.token.grant.password.ResourceOwnerPasswordResourceDetails;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
 import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
 import org.springframework.web.client.ResourceAccessException;
 
@@ -43,6 +57,11 @@ import org.springframework.web.client.ResourceAccessException;
  * Provides a custom {@link AuthenticationProvider} that allows for authentication
  * (username and password) against an OAuth Server using a {@code password grant}.
  *
+ * Successful authentications are cached for a short time, bounded by the expiry of the
+ * access token, so that clients sending their credentials with every request do not
+ * cause a round trip to the OAuth Server each time. Concurrent authentications with the
+ * same credentials share a single round trip.
+ *
  * @author Gunnar Hillert
  *
  */
@@ -50,12 +69,38 @@ public class ManualOAuthAuthenticationProvider implements AuthenticationProvider
 
 	private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ManualOAuthAuthenticationProvider.class);
 
+	/**
+	 * Default number of seconds a successful authentication is cached.
+	 */
+	public static final long DEFAULT_CACHE_TIME_TO_LIVE = 60L;
+
+	/**
+	 * Default maximum number of cached authentications.
+	 */
+	public static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+
 	@Autowired
 	private OAuth2ClientProperties oAuth2ClientProperties;
 
 	@Value("${security.oauth2.client.access-token-uri}")
 	private String accessTokenUri;
 
+	@Value("${dataflow.security.authentication.oauth2.cache-time-to-live:" + DEFAULT_CACHE_TIME_TO_LIVE + "}")
+	private long cacheTimeToLive = DEFAULT_CACHE_TIME_TO_LIVE;
+
+	@Value("${dataflow.security.authentication.oauth2.cache-max-entries:" + DEFAULT_CACHE_MAX_ENTRIES + "}")
+	private int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
+
+	private final byte[] cacheKeySalt = new byte[16];
+
+	private final ConcurrentMap<String, CachedAuthentication> authenticationCache = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, FutureTask<Authentication>> inFlightLogins = new ConcurrentHashMap<>();
+
+	public ManualOAuthAuthenticationProvider() {
+		new SecureRandom().nextBytes(cacheKeySalt);
+	}
+
 	public AccessTokenProvider userAccessTokenProvider() {
 		ResourceOwnerPasswordAccessTokenProvider accessTokenProvider = new ResourceOwnerPasswordAccessTokenProvider();
 		return accessTokenProvider;
@@ -65,7 +110,61 @@ public class ManualOAuthAuthenticationProvider implements AuthenticationProvider
 	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
 		final String username = authentication.getName();
 		final String password = authentication.getCredentials().toString();
+		final String cacheKey = cacheKey(username, password);
 
+		CachedAuthentication cached = authenticationCache.get(cacheKey);
+		if (cached != null) {
+			if (!cached.isExpired()) {
+				return createAuthentication(username, password);
+			}
+			authenticationCache.remove(cacheKey, cached);
+		}
+
+		// Concurrent logins with the same credentials share a single round trip
+		FutureTask<Authentication> login = new FutureTask<>(new Callable<Authentication>() {
+			@Override
+			public Authentication call() {
+				OAuth2AccessToken accessToken = obtainAccessToken(username, password);
+				cacheAuthentication(cacheKey, accessToken);
+				return createAuthentication(username, password);
+			}
+		});
+		FutureTask<Authentication> inFlight = inFlightLogins.putIfAbsent(cacheKey, login);
+		if (inFlight == null) {
+			try {
+				login.run();
+			}
+			finally {
+				inFlightLogins.remove(cacheKey, login);
+			}
+			inFlight = login;
+		}
+		try {
+			return inFlight.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AuthenticationServiceException(String.format(
+				"Interrupted while authenticating user '%s'.", username), e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof AuthenticationException) {
+				throw (AuthenticationException) e.getCause();
+			}
+			throw new AuthenticationServiceException(String.format(
+				"Unable to perform OAuth authentication for user '%s'.", username), e.getCause());
+		}
+	}
+
+	/**
+	 * Perform the {@code password grant} against the {@code accessTokenUri}.
+	 *
+	 * @param username the name of the user to authenticate
+	 * @param password the password of the user to authenticate
+	 * @return the access token granted to the user
+	 * @throws AuthenticationException if the user could not be authenticated
+	 */
+	protected OAuth2AccessToken obtainAccessToken(String username, String password) throws AuthenticationException {
 		final ResourceOwnerPasswordResourceDetails resource = new ResourceOwnerPasswordResourceDetails();
 
 		resource.setUsername(username);
@@ -83,7 +182,7 @@ public class ManualOAuthAuthenticationProvider implements AuthenticationProvider
 
 		try {
 			logger.warn("Authenticating user '{}' using accessTokenUri '{}'.", username, accessTokenUri);
-			template.getAccessToken();
+			return template.getAccessToken();
 		}
 		catch (OAuth2AccessDeniedException e) {
 			if (e.getCause() instanceof ResourceAccessException) {
@@ -98,14 +197,98 @@ public class ManualOAuthAuthenticationProvider implements AuthenticationProvider
 			throw new AuthenticationServiceException(String.format(
 				"Unable to perform OAuth authentication for user '%s'.", username), e);
 		}
+	}
 
+	/**
+	 * Set the number of seconds a successful authentication is remembered, unless the
+	 * access token expires earlier. A value of 0 disables the cache.
+	 *
+	 * @param cacheTimeToLive the number of seconds an authentication is cached
+	 */
+	public void setCacheTimeToLive(long cacheTimeToLive) {
+		this.cacheTimeToLive = cacheTimeToLive;
+	}
+
+	/**
+	 * Set the maximum number of cached authentications.
+	 *
+	 * @param cacheMaxEntries the maximum number of cached authentications
+	 */
+	public void setCacheMaxEntries(int cacheMaxEntries) {
+		this.cacheMaxEntries = cacheMaxEntries;
+	}
+
+	private Authentication createAuthentication(String username, String password) {
 		final Collection<GrantedAuthority> authorities = new ArrayList<>();
 		UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(username, password, authorities);
 		return token;
 	}
 
+	private void cacheAuthentication(String cacheKey, OAuth2AccessToken accessToken) {
+		if (cacheTimeToLive <= 0 || cacheMaxEntries <= 0) {
+			return;
+		}
+		long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(cacheTimeToLive);
+		if (accessToken != null && accessToken.getExpiration() != null) {
+			expiresAt = Math.min(expiresAt, accessToken.getExpiration().getTime());
+		}
+		if (authenticationCache.size() >= cacheMaxEntries) {
+			evictCachedAuthentications();
+		}
+		authenticationCache.put(cacheKey, new CachedAuthentication(expiresAt));
+	}
+
+	private synchronized void evictCachedAuthentications() {
+		CachedAuthentication oldest = null;
+		String oldestKey = null;
+		for (Iterator<Map.Entry<String, CachedAuthentication>> iterator = authenticationCache.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<String, CachedAuthentication> entry = iterator.next();
+			if (entry.getValue().isExpired()) {
+				iterator.remove();
+			}
+			else if (oldest == null || entry.getValue().expiresAt < oldest.expiresAt) {
+				oldest = entry.getValue();
+				oldestKey = entry.getKey();
+			}
+		}
+		if (authenticationCache.size() >= cacheMaxEntries && oldestKey != null) {
+			authenticationCache.remove(oldestKey);
+		}
+	}
+
+	/**
+	 * Hash the credentials with a salt that is private to this provider, so that the
+	 * cache never holds passwords, nor hashes that could be looked up elsewhere.
+	 */
+	private String cacheKey(String username, String password) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(cacheKeySalt);
+			digest.update(username.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(password.getBytes(StandardCharsets.UTF_8));
+			return new String(Hex.encode(digest.digest()));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
 	@Override
 	public boolean supports(Class<?> authentication) {
 		return authentication.equals(UsernamePasswordAuthenticationToken.class);
 	}
+
+	private static class CachedAuthentication {
+
+		private final long expiresAt;
+
+		private CachedAuthentication(long expiresAt) {
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+	}
 }
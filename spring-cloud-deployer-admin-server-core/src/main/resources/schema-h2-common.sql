@@ -12,3 +12,7 @@ CREATE TABLE EAV_REGISTRY_ATTRIBUTE_VALUES  (
 	NAMESPACE VARCHAR(255) NOT NULL,
 	VALUE VARCHAR(255) NOT NULL
 );
+CREATE TABLE CHANGE_VERSIONS  (
+	NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+	VERSION BIGINT NOT NULL
+);
@@ -2,3 +2,7 @@ CREATE TABLE URI_REGISTRY  (
 	NAME VARCHAR(255) NOT NULL PRIMARY KEY,
 	URI VARCHAR(255) NOT NULL
 );
+CREATE TABLE CHANGE_VERSIONS  (
+	NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+	VERSION NUMBER(19,0) NOT NULL
+);
@@ -54,6 +54,7 @@ public class DefaultEnvironmentPostProcessorTests {
 		try (ConfigurableApplicationContext ctx = SpringApplication.run(EmptyDefaultApp.class, "--server.port=0")) {
 			String cp = ctx.getEnvironment().getProperty(MANAGEMENT_CONTEXT_PATH);
 			assertEquals(CONTRIBUTED_PATH, cp);
+			assertEquals("true", ctx.getEnvironment().getProperty("server.compression.enabled"));
 		}
 	}
 
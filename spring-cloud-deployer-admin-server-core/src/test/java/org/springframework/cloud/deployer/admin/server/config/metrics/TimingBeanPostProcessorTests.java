@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+
+/**
+ * Tests for {@link TimingBeanPostProcessor}.
+ */
+public class TimingBeanPostProcessorTests {
+
+	private GaugeService gaugeService;
+
+	private CounterService counterService;
+
+	private TimingBeanPostProcessor postProcessor;
+
+	@Before
+	public void setup() {
+		gaugeService = mock(GaugeService.class);
+		counterService = mock(CounterService.class);
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("gaugeService", gaugeService);
+		beanFactory.addBean("counterService", counterService);
+		postProcessor = new TimingBeanPostProcessor(Collections.<Class<?>, String>singletonMap(AppDeployer.class, "deployer"));
+		postProcessor.setBeanFactory(beanFactory);
+	}
+
+	@Test
+	public void testTimesSuccessfulCalls() {
+		AppDeployer target = mock(AppDeployer.class);
+		when(target.deploy(any(AppDeploymentRequest.class))).thenReturn("app-1");
+		AppDeployer deployer = (AppDeployer) postProcessor.postProcessAfterInitialization(target, "appDeployer");
+
+		assertEquals("app-1", deployer.deploy(mock(AppDeploymentRequest.class)));
+		verify(gaugeService).submit(eq("timer.deployer.deploy.success"), anyDouble());
+		verify(counterService).increment("counter.deployer.deploy.success");
+	}
+
+	@Test
+	public void testTimesFailedCalls() {
+		AppDeployer target = mock(AppDeployer.class);
+		when(target.deploy(any(AppDeploymentRequest.class))).thenThrow(new IllegalStateException("boom"));
+		AppDeployer deployer = (AppDeployer) postProcessor.postProcessAfterInitialization(target, "appDeployer");
+
+		try {
+			deployer.deploy(mock(AppDeploymentRequest.class));
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException e) {
+			assertEquals("boom", e.getMessage());
+		}
+		verify(gaugeService).submit(eq("timer.deployer.deploy.failure"), anyDouble());
+		verify(counterService).increment("counter.deployer.deploy.failure");
+	}
+
+	@Test
+	public void testLeavesOtherBeansAlone() {
+		Object bean = new Object();
+		assertEquals(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+		verifyZeroInteractions(gaugeService, counterService);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.admin.server.config.security.support.BoundedMapSessionRepository;
+import org.springframework.cloud.deployer.admin.server.config.security.support.SessionStoreProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.session.ExpiringSession;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcOperationsSessionRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests for the session store set up by {@link BasicAuthSecurityConfiguration}.
+ */
+public class BasicAuthSecurityConfigurationTests {
+
+	private EmbeddedDatabase dataSource;
+
+	private SessionStoreProperties properties;
+
+	@Before
+	public void setup() {
+		dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		properties = new SessionStoreProperties();
+	}
+
+	@After
+	public void shutdown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void testStoresSessionsInMemoryByDefault() {
+		assertTrue(sessionRepository(dataSource) instanceof BoundedMapSessionRepository);
+	}
+
+	@Test
+	public void testStoresSessionsInDataSource() {
+		properties.setStore(SessionStoreProperties.Store.jdbc);
+		properties.setMaxInactiveInterval(600);
+		SessionRepository<ExpiringSession> repository = sessionRepository(dataSource);
+		assertTrue((Object) repository instanceof JdbcOperationsSessionRepository);
+
+		ExpiringSession session = repository.createSession();
+		session.setAttribute("user", "bob");
+		repository.save(session);
+
+		ExpiringSession saved = sessionRepository(dataSource).getSession(session.getId());
+		assertNotNull(saved);
+		assertEquals("bob", saved.getAttribute("user"));
+		assertEquals(600, saved.getMaxInactiveIntervalInSeconds());
+		assertEquals(Integer.valueOf(1), new JdbcTemplate(dataSource)
+				.queryForObject("SELECT COUNT(*) FROM SPRING_SESSION", Integer.class));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testJdbcStoreRequiresDataSource() {
+		properties.setStore(SessionStoreProperties.Store.jdbc);
+		sessionRepository(null);
+	}
+
+	private SessionRepository<ExpiringSession> sessionRepository(EmbeddedDatabase dataSource) {
+		BasicAuthSecurityConfiguration configuration = new BasicAuthSecurityConfiguration();
+		ReflectionTestUtils.setField(configuration, "sessionStoreProperties", properties);
+		ReflectionTestUtils.setField(configuration, "dataSource", dataSource);
+		return configuration.sessionRepository();
+	}
+
+}
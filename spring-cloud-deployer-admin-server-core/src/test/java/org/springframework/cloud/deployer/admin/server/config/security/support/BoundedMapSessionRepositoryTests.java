@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.springframework.session.ExpiringSession;
+
+/**
+ * Tests for {@link BoundedMapSessionRepository}.
+ */
+public class BoundedMapSessionRepositoryTests {
+
+	@Test
+	public void testEvictsLeastRecentlyUsedWhenFull() {
+		BoundedMapSessionRepository repository = new BoundedMapSessionRepository(2, 1800);
+		long now = System.currentTimeMillis();
+		ExpiringSession first = save(repository, now);
+		ExpiringSession second = save(repository, now);
+		assertNotNull(repository.getSession(first.getId()));
+		ExpiringSession third = save(repository, now);
+
+		assertEquals(2, repository.size());
+		assertNull(repository.getSession(second.getId()));
+		assertNotNull(repository.getSession(first.getId()));
+		assertNotNull(repository.getSession(third.getId()));
+	}
+
+	@Test
+	public void testCleansUpExpiredSessions() {
+		BoundedMapSessionRepository repository = new BoundedMapSessionRepository(10, 1800);
+		ExpiringSession expired = save(repository, 0L);
+		ExpiringSession live = save(repository, System.currentTimeMillis());
+
+		assertEquals(1, repository.cleanUpExpiredSessions());
+		assertNull(repository.getSession(expired.getId()));
+		assertNotNull(repository.getSession(live.getId()));
+	}
+
+	@Test
+	public void testExpiredSessionsAreEvictedBeforeLiveOnes() {
+		BoundedMapSessionRepository repository = new BoundedMapSessionRepository(2, 1800);
+		save(repository, 0L);
+		ExpiringSession live = save(repository, System.currentTimeMillis() - 10000L);
+		ExpiringSession latest = save(repository, System.currentTimeMillis());
+
+		assertEquals(2, repository.size());
+		assertNotNull(repository.getSession(live.getId()));
+		assertNotNull(repository.getSession(latest.getId()));
+	}
+
+	private ExpiringSession save(BoundedMapSessionRepository repository, long lastAccessedTime) {
+		ExpiringSession session = repository.createSession();
+		session.setLastAccessedTime(lastAccessedTime);
+		repository.save(session);
+		return session;
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.security.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Tests for {@link CachingAuthenticationProvider}.
+ */
+public class CachingAuthenticationProviderTests {
+
+	private AuthenticationManager delegate;
+
+	private CounterService counterService;
+
+	@Before
+	public void setup() {
+		delegate = mock(AuthenticationManager.class);
+		counterService = mock(CounterService.class);
+		when(delegate.authenticate(any(Authentication.class))).thenAnswer(new Answer<Authentication>() {
+			@Override
+			public Authentication answer(InvocationOnMock invocation) {
+				Authentication authentication = (Authentication) invocation.getArguments()[0];
+				if (!"secret".equals(authentication.getCredentials())) {
+					throw new BadCredentialsException("Bad credentials");
+				}
+				return new UsernamePasswordAuthenticationToken(authentication.getName(), null,
+						Collections.singleton(new SimpleGrantedAuthority("ROLE_ADMIN")));
+			}
+		});
+	}
+
+	@Test
+	public void testCachesSuccessfulAuthentications() {
+		CachingAuthenticationProvider provider = provider(300, 5);
+		provider.authenticate(credentials("secret"));
+		Authentication result = provider.authenticate(credentials("secret"));
+
+		assertEquals("bob", result.getName());
+		assertEquals("[ROLE_ADMIN]", result.getAuthorities().toString());
+		verify(delegate, times(1)).authenticate(any(Authentication.class));
+		verify(counterService).increment("security.authentication.cache.miss");
+		verify(counterService).increment("security.authentication.cache.hit");
+	}
+
+	@Test
+	public void testCachesRejectedCredentials() {
+		CachingAuthenticationProvider provider = provider(300, 5);
+		for (int i = 0; i < 2; i++) {
+			try {
+				provider.authenticate(credentials("wrong"));
+				fail("Expected BadCredentialsException");
+			}
+			catch (BadCredentialsException e) {
+			}
+		}
+		provider.authenticate(credentials("secret"));
+
+		verify(delegate, times(2)).authenticate(any(Authentication.class));
+		verify(counterService).increment("security.authentication.cache.negative-hit");
+	}
+
+	@Test
+	public void testNegativeCachingCanBeDisabled() {
+		CachingAuthenticationProvider provider = provider(300, 0);
+		for (int i = 0; i < 2; i++) {
+			try {
+				provider.authenticate(credentials("wrong"));
+				fail("Expected BadCredentialsException");
+			}
+			catch (BadCredentialsException e) {
+			}
+		}
+
+		verify(delegate, times(2)).authenticate(any(Authentication.class));
+		assertEquals(0, provider.size());
+	}
+
+	private CachingAuthenticationProvider provider(long timeToLive, long negativeTimeToLive) {
+		CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, timeToLive,
+				negativeTimeToLive, 10);
+		provider.setCounterService(counterService);
+		return provider;
+	}
+
+	private Authentication credentials(String password) {
+		return new UsernamePasswordAuthenticationToken("bob", password);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.rest.resource.AppInstanceStatusResource;
+import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/**
+ * Tests for {@link CompactResourcesHttpMessageConverter}.
+ */
+public class CompactResourcesHttpMessageConverterTests {
+
+	private final CompactResourcesHttpMessageConverter converter = new CompactResourcesHttpMessageConverter(
+			new ObjectMapper());
+
+	@Test
+	public void testWritesColumnsAndRowsWithoutLinks() throws Exception {
+		AppInstanceStatusResource instance = new AppInstanceStatusResource("foo-0", "deployed",
+				Collections.singletonMap("pid", "42"));
+		instance.add(new Link("http://localhost/runtime/apps/foo/instances/foo-0"));
+		AppStatusResource foo = new AppStatusResource("foo", "deployed");
+		foo.setInstances(new Resources<>(Collections.singletonList(instance)));
+		foo.add(new Link("http://localhost/runtime/apps/foo"));
+		AppStatusResource bar = new AppStatusResource("bar", "failed");
+		PagedResources<AppStatusResource> page = new PagedResources<>(Arrays.asList(foo, bar),
+				new PagedResources.PageMetadata(20, 0, 2));
+
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+		converter.write(page, CompactResourcesHttpMessageConverter.COMPACT_JSON, output);
+
+		assertEquals("{\"columns\":[\"deploymentId\",\"state\",\"instances\"],\"rows\":["
+				+ "[\"foo\",\"deployed\",{\"content\":[{\"instanceId\":\"foo-0\",\"state\":\"deployed\",\"attributes\":{\"pid\":\"42\"}}]}],"
+				+ "[\"bar\",\"failed\",null]],"
+				+ "\"page\":{\"size\":20,\"totalElements\":2,\"totalPages\":1,\"number\":0}}",
+				output.getBodyAsString());
+	}
+
+	@Test
+	public void testOnlyWritesCollectionsAsCompactJson() {
+		assertTrue(converter.canWrite(PagedResources.class, CompactResourcesHttpMessageConverter.COMPACT_JSON));
+		assertFalse(converter.canWrite(AppStatusResource.class, CompactResourcesHttpMessageConverter.COMPACT_JSON));
+		assertFalse(converter.canWrite(PagedResources.class, MediaType.APPLICATION_JSON));
+		assertFalse(converter.canRead(PagedResources.class, CompactResourcesHttpMessageConverter.COMPACT_JSON));
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.config.web;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.cloud.deployer.admin.server.EnableDataFlowServer;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.task.TaskLauncher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests for the response representations and encodings set up by {@link WebConfiguration}.
+ */
+public class WebConfigurationTests {
+
+	private static ConfigurableApplicationContext context;
+
+	private static String appsUrl;
+
+	@BeforeClass
+	public static void start() {
+		context = SpringApplication.run(ServerApp.class, "--server.port=0", "--security.basic.enabled=false");
+		AppRegistry appRegistry = context.getBean(AppRegistry.class);
+		for (int i = 0; i < 100; i++) {
+			appRegistry.save("app" + i, "source", URI.create("maven://org.example:app" + i + ":1.0.0"));
+		}
+		appsUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/apps?size=100";
+	}
+
+	@AfterClass
+	public static void stop() {
+		context.close();
+	}
+
+	@Test
+	public void testCompactRepresentation() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.ACCEPT, CompactResourcesHttpMessageConverter.COMPACT_JSON.toString());
+		ResponseEntity<String> response = new RestTemplate().exchange(appsUrl, HttpMethod.GET,
+				new HttpEntity<Void>(headers), String.class);
+
+		assertEquals(CompactResourcesHttpMessageConverter.COMPACT_JSON,
+				MediaType.valueOf(response.getHeaders().getContentType().toString().split(";")[0]));
+		assertThat(response.getBody(), startsWith("{\"columns\":[\"name\",\"type\",\"uri\""));
+	}
+
+	@Test
+	public void testTagsDependOnTheRepresentation() {
+		HttpHeaders json = new HttpHeaders();
+		json.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+		ResponseEntity<String> response = new RestTemplate().exchange(appsUrl, HttpMethod.GET,
+				new HttpEntity<Void>(json), String.class);
+		String eTag = response.getHeaders().getETag();
+		assertThat(Arrays.asList(response.getHeaders().getFirst(HttpHeaders.VARY).split(",\\s*")), hasItem(HttpHeaders.ACCEPT));
+
+		HttpHeaders compact = new HttpHeaders();
+		compact.set(HttpHeaders.ACCEPT, CompactResourcesHttpMessageConverter.COMPACT_JSON.toString());
+		compact.setIfNoneMatch(eTag);
+		response = new RestTemplate().exchange(appsUrl, HttpMethod.GET, new HttpEntity<Void>(compact), String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNotEquals(eTag, response.getHeaders().getETag());
+	}
+
+	@Test
+	public void testLargeResponsesAreCompressed() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+		headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(appsUrl, HttpMethod.GET,
+				new HttpEntity<Void>(headers), byte[].class);
+
+		assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Configuration
+	@Import(TestConfiguration.class)
+	@EnableAutoConfiguration(exclude = SessionAutoConfiguration.class)
+	@EnableDataFlowServer
+	public static class ServerApp {
+	}
+
+	private static class TestConfiguration {
+
+		@Bean
+		public AppDeployer appDeployer() {
+			return mock(AppDeployer.class);
+		}
+
+		@Bean
+		public TaskLauncher taskLauncher() {
+			return mock(TaskLauncher.class);
+		}
+
+		@Bean
+		public AuthenticationManager authenticationManager() {
+			return mock(AuthenticationManager.class);
+		}
+	}
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.deployer.admin.completion.ApplicationCompletionProvider;
 import org.springframework.cloud.deployer.admin.completion.CompletionConfiguration;
 import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
@@ -91,8 +92,8 @@ public class TestDependencies extends WebMvcConfigurationSupport {
 	}
 
 	@Bean
-	public CompletionController completionController() {
-		return new CompletionController();
+	public CompletionController completionController(ApplicationCompletionProvider applicationCompletionProvider) {
+		return new CompletionController(applicationCompletionProvider);
 	}
 
 	@Bean
@@ -22,6 +22,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +35,7 @@ import org.springframework.cloud.deployer.admin.registry.AppRegistration;
 import org.springframework.cloud.deployer.admin.registry.AppRegistry;
 import org.springframework.cloud.deployer.admin.server.configuration.TestDependencies;
 import org.springframework.cloud.deployer.admin.server.registry.DataFlowUriRegistryPopulator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
@@ -124,6 +126,33 @@ public class AppRegistryControllerTests {
 		.andExpect(status().isOk()).andExpect(jsonPath("content", hasSize(4)));
 	}
 
+	@Test
+	public void testListApplicationsNotModified() throws Exception {
+		String eTag = mockMvc.perform(get("/apps").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/apps").header(HttpHeaders.IF_NONE_MATCH, eTag).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(post("/apps/processor/blubba").param("uri", "file:///foo").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated());
+		mockMvc.perform(get("/apps").header(HttpHeaders.IF_NONE_MATCH, eTag).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("content", hasSize(5)));
+	}
+
+	@Test
+	public void testIncompleteDetailedListIsNotTagged() throws Exception {
+		for (AppRegistration appRegistration: this.appRegistry.findAll()) {
+			this.appRegistry.delete(appRegistration.getName(), appRegistration.getType());
+		}
+		// the options of an artifact that can't be opened won't resolve
+		mockMvc.perform(post("/apps/processor/blubba").param("uri", "http://localhost:1/blubba.jar")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
+		mockMvc.perform(get("/apps").param("detailed", "true").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("content", hasSize(1)))
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+	}
+
 	@Test
 	public void testFindNonExistentApp() throws Exception {
 		mockMvc.perform(
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.core.ApplicationDefinition;
+import org.springframework.cloud.deployer.admin.server.controller.RuntimeAppsController.AppInstanceController;
+import org.springframework.cloud.deployer.admin.server.controller.support.RuntimeAppStatusPoller;
+import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
+import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssemblerArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Tests for the filtering and attribute projection of {@link RuntimeAppsController}.
+ */
+public class RuntimeAppsControllerTests {
+
+	private MockMvc mockMvc;
+
+	private AppDeployer appDeployer;
+
+	private ApplicationDefinitionRepository definitionRepository;
+
+	private DeploymentIdRepository deploymentIdRepository;
+
+	@Before
+	public void setup() {
+		final Map<String, String> attributes = new HashMap<>();
+		attributes.put("pid", "42");
+		attributes.put("port", "8080");
+		attributes.put("stdout", "/tmp/foo-0/stdout_0.log");
+		AppInstanceStatus instance = new AppInstanceStatus() {
+
+			@Override
+			public String getId() {
+				return "foo-0";
+			}
+
+			@Override
+			public DeploymentState getState() {
+				return DeploymentState.deployed;
+			}
+
+			@Override
+			public Map<String, String> getAttributes() {
+				return attributes;
+			}
+		};
+		appDeployer = mock(AppDeployer.class);
+		when(appDeployer.status("foo")).thenReturn(AppStatus.of("foo").with(instance).build());
+		definitionRepository = mock(ApplicationDefinitionRepository.class);
+		deploymentIdRepository = mock(DeploymentIdRepository.class);
+		RuntimeAppsController controller = new RuntimeAppsController(definitionRepository, deploymentIdRepository,
+				appDeployer, mock(RuntimeAppStatusPoller.class));
+		HateoasPageableHandlerMethodArgumentResolver pageableResolver = new HateoasPageableHandlerMethodArgumentResolver();
+		mockMvc = MockMvcBuilders.standaloneSetup(controller, new AppInstanceController(appDeployer))
+				.setCustomArgumentResolvers(pageableResolver,
+						new PagedResourcesAssemblerArgumentResolver(pageableResolver, null))
+				.build();
+	}
+
+	@Test
+	public void testAllAttributesWithoutFields() throws Exception {
+		mockMvc.perform(get("/runtime/apps/foo").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.instances.content[0].attributes.pid", is("42")))
+				.andExpect(jsonPath("$.instances.content[0].attributes.stdout", is("/tmp/foo-0/stdout_0.log")));
+	}
+
+	@Test
+	public void testOnlyRequestedAttributes() throws Exception {
+		mockMvc.perform(get("/runtime/apps/foo").param("fields", "pid,unknown").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.instances.content[0].attributes.pid", is("42")))
+				.andExpect(jsonPath("$.instances.content[0].attributes.port").doesNotExist())
+				.andExpect(jsonPath("$.instances.content[0].attributes.stdout").doesNotExist());
+		mockMvc.perform(get("/runtime/apps/foo/instances").param("fields", "port").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].attributes.port", is("8080")))
+				.andExpect(jsonPath("$.content[0].attributes.pid").doesNotExist());
+		mockMvc.perform(get("/runtime/apps/foo/instances/foo-0").param("fields", "").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.instanceId", is("foo-0")))
+				.andExpect(jsonPath("$.attributes").isMap())
+				.andExpect(jsonPath("$.attributes.pid").doesNotExist());
+	}
+
+	@Test
+	public void testFiltersBeforePaging() throws Exception {
+		deploy("a", "time", DeploymentState.deployed);
+		deploy("b", "log", DeploymentState.deployed);
+		deploy("c", "time", DeploymentState.failed);
+		when(definitionRepository.findAll()).thenReturn(Arrays.asList(new ApplicationDefinition("a", "time"),
+				new ApplicationDefinition("b", "log"), new ApplicationDefinition("c", "time"),
+				new ApplicationDefinition("d", "time")));
+
+		mockMvc.perform(get("/runtime/apps").param("namePattern", "ti*").param("size", "1").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].deploymentId", contains("time.a")))
+				.andExpect(jsonPath("$.page.totalElements", is(2)));
+		mockMvc.perform(get("/runtime/apps").param("namePattern", "ti*").param("size", "1").param("page", "1")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].deploymentId", contains("time.c")))
+				.andExpect(jsonPath("$.page.totalElements", is(2)));
+		mockMvc.perform(get("/runtime/apps").param("state", "failed").param("size", "1").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].deploymentId", contains("time.c")))
+				.andExpect(jsonPath("$.page.totalElements", is(1)));
+	}
+
+	@Test
+	public void testGroupLooksUpSingleDefinition() throws Exception {
+		deploy("c", "time", DeploymentState.deployed);
+		when(definitionRepository.findOne("c")).thenReturn(new ApplicationDefinition("c", "time"));
+
+		mockMvc.perform(get("/runtime/apps").param("group", "c").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[*].deploymentId", contains("time.c")));
+		mockMvc.perform(get("/runtime/apps").param("group", "unknown").param("size", "10").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.page.totalElements", is(0)));
+		verify(definitionRepository, never()).findAll();
+	}
+
+	private void deploy(String name, String app, final DeploymentState state) {
+		String id = app + "." + name;
+		when(deploymentIdRepository.findOne(id)).thenReturn(id);
+		when(appDeployer.status(id)).thenReturn(AppStatus.of(id).with(new AppInstanceStatus() {
+
+			@Override
+			public String getId() {
+				return "0";
+			}
+
+			@Override
+			public DeploymentState getState() {
+				return state;
+			}
+
+			@Override
+			public Map<String, String> getAttributes() {
+				return Collections.emptyMap();
+			}
+		}).build());
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.deployer.admin.completion.ValueHintProvider;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties;
+import org.springframework.cloud.deployer.resource.maven.MavenResourceLoader;
+import org.springframework.cloud.deployer.resource.support.DelegatingResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Tests for {@link AppCacheWarmer}.
+ */
+public class AppCacheWarmerTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private AppRegistry appRegistry;
+
+	private MavenProperties mavenProperties;
+
+	private ResourceLoader resourceLoader;
+
+	@Before
+	public void setup() throws Exception {
+		metadataResolver = mock(ApplicationConfigurationMetadataResolver.class);
+		when(metadataResolver.listProperties(any(Resource.class)))
+				.thenReturn(Collections.<ConfigurationMetadataProperty>emptyList());
+		appRegistry = mock(AppRegistry.class);
+		mavenProperties = new MavenProperties();
+		mavenProperties.setLocalRepository(folder.newFolder("repository").getAbsolutePath());
+		resourceLoader = new DelegatingResourceLoader(
+				Collections.<String, ResourceLoader>singletonMap("maven", new MavenResourceLoader(mavenProperties)));
+	}
+
+	@Test
+	public void testWarmsLocalArtifactsOnly() throws Exception {
+		File jar = folder.newFile("time-source.jar");
+		File local = new File(mavenProperties.getLocalRepository(), "org/example/log-sink/1.0.0/log-sink-1.0.0.jar");
+		assertTrue(local.getParentFile().mkdirs() && local.createNewFile());
+		ResourceLoader remoteLoader = mock(ResourceLoader.class);
+		when(appRegistry.findAll()).thenReturn(Arrays.asList(
+				new AppRegistration("time", "app", jar.toURI(), resourceLoader),
+				new AppRegistration("log", "app", URI.create("maven://org.example:log-sink:1.0.0"), resourceLoader),
+				new AppRegistration("http", "app", URI.create("maven://org.example:http-source:1.0.0"), remoteLoader),
+				new AppRegistration("remote", "app", URI.create("http://example.com/remote.jar"), resourceLoader)));
+		DetailedAppRegistrationCache cache = new DetailedAppRegistrationCache(metadataResolver,
+				Collections.<ValueHintProvider>emptyList());
+		AppCacheWarmer warmer = new AppCacheWarmer(appRegistry, cache, mavenProperties, 2, true);
+
+		warmer.onApplicationEvent(mock(ApplicationReadyEvent.class));
+		awaitWarm(warmer);
+
+		Health health = warmer.health();
+		assertEquals(Status.UP, health.getStatus());
+		assertEquals(2, health.getDetails().get("apps"));
+		assertEquals(2, health.getDetails().get("warmed"));
+		verify(metadataResolver, times(2)).listProperties(any(Resource.class));
+		// the artifact missing from the local repository must not be downloaded
+		verifyZeroInteractions(remoteLoader);
+		warmer.destroy();
+	}
+
+	@Test
+	public void testOutOfServiceUntilStarted() {
+		DetailedAppRegistrationCache cache = new DetailedAppRegistrationCache(metadataResolver,
+				Collections.<ValueHintProvider>emptyList());
+		AppCacheWarmer warmer = new AppCacheWarmer(appRegistry, cache, mavenProperties, 1, true);
+
+		assertEquals(Status.OUT_OF_SERVICE, warmer.health().getStatus());
+		warmer.destroy();
+	}
+
+	private void awaitWarm(AppCacheWarmer warmer) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!warmer.isWarm() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue("Warmer did not complete in time", warmer.isWarm());
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DeploymentTimelineBuffer}.
+ */
+public class DeploymentTimelineBufferTests {
+
+	@Test
+	public void testKeepsLatestTimelinesFirst() {
+		DeploymentTimelineBuffer buffer = new DeploymentTimelineBuffer(2, 10);
+		DeploymentTimeline first = finished("app", true);
+		DeploymentTimeline second = finished("app", false);
+		DeploymentTimeline third = finished("app", true);
+		buffer.add(first);
+		buffer.add(second);
+		buffer.add(third);
+
+		List<DeploymentTimeline> timelines = buffer.get("app");
+		assertEquals(2, timelines.size());
+		assertEquals(third, timelines.get(0));
+		assertEquals(second, timelines.get(1));
+	}
+
+	@Test
+	public void testDropsLeastRecentlyDeployedApplications() {
+		DeploymentTimelineBuffer buffer = new DeploymentTimelineBuffer(2, 2);
+		buffer.add(finished("a", true));
+		buffer.add(finished("b", true));
+		buffer.add(finished("a", true));
+		buffer.add(finished("c", true));
+
+		assertEquals(2, buffer.get("a").size());
+		assertTrue(buffer.get("b").isEmpty());
+		assertEquals(1, buffer.get("c").size());
+	}
+
+	@Test
+	public void testDropsTimelinesOfDeletedApplications() {
+		DeploymentTimelineBuffer buffer = new DeploymentTimelineBuffer(2, 10);
+		buffer.add(finished("a", true));
+		buffer.add(finished("b", true));
+		buffer.add(finished("c", true));
+
+		buffer.remove("a");
+		assertTrue(buffer.get("a").isEmpty());
+		assertEquals(1, buffer.get("b").size());
+
+		buffer.clear();
+		assertTrue(buffer.get("b").isEmpty());
+		assertTrue(buffer.get("c").isEmpty());
+	}
+
+	@Test
+	public void testRecordsStagesInOrder() {
+		DeploymentTimeline timeline = new DeploymentTimeline("app");
+		timeline.stage("registry-find");
+		timeline.stage("deploy");
+		timeline.finish(true);
+
+		assertEquals("[registry-find, deploy]", timeline.getStageMillis().keySet().toString());
+		assertTrue(timeline.isSuccessful());
+	}
+
+	private DeploymentTimeline finished(String name, boolean successful) {
+		DeploymentTimeline timeline = new DeploymentTimeline(name);
+		timeline.finish(successful);
+		return timeline;
+	}
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.configurationmetadata.ConfigurationMetadataProperty;
+import org.springframework.cloud.deployer.admin.completion.BooleanValueHintProvider;
+import org.springframework.cloud.deployer.admin.completion.ValueHintProvider;
+import org.springframework.cloud.deployer.admin.configuration.metadata.ApplicationConfigurationMetadataResolver;
+import org.springframework.cloud.deployer.admin.registry.AppRegistration;
+import org.springframework.cloud.deployer.admin.rest.resource.AppRegistrationResource;
+import org.springframework.cloud.deployer.admin.rest.resource.DetailedAppRegistrationResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.ResourceAssembler;
+
+/**
+ * Tests for {@link DetailedAppRegistrationCache}.
+ */
+public class DetailedAppRegistrationCacheTests {
+
+	private final URI uri = URI.create("maven://org.example:log-sink:1.0.0");
+
+	private ApplicationConfigurationMetadataResolver metadataResolver;
+
+	private DetailedAppRegistrationCache cache;
+
+	@Before
+	public void setup() {
+		metadataResolver = mock(ApplicationConfigurationMetadataResolver.class);
+		when(metadataResolver.listProperties(any(Resource.class))).thenAnswer(new Answer<List<ConfigurationMetadataProperty>>() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> answer(InvocationOnMock invocation) {
+				ConfigurationMetadataProperty property = new ConfigurationMetadataProperty();
+				property.setId("log.enabled");
+				property.setType("java.lang.Boolean");
+				return Collections.singletonList(property);
+			}
+		});
+		cache = new DetailedAppRegistrationCache(metadataResolver,
+				Arrays.<ValueHintProvider>asList(new BooleanValueHintProvider()));
+	}
+
+	@Test
+	public void testOptionsResolvedOncePerArtifact() {
+		DetailedAppRegistrationResource first = cache.get(registration("log"), resource("log"));
+		DetailedAppRegistrationResource second = cache.get(registration("log"), resource("log"));
+
+		assertSame(first.getOptions().get(0), second.getOptions().get(0));
+		assertEquals(1, first.getOptions().size());
+		assertEquals(2, first.getOptions().get(0).getValueHints().size());
+		verify(metadataResolver, times(1)).listProperties(any(Resource.class));
+		verify(metadataResolver, never()).createAppClassLoader(any(Resource.class));
+	}
+
+	@Test
+	public void testOptionsReusedForOtherName() {
+		DetailedAppRegistrationResource first = cache.get(registration("log"), resource("log"));
+		DetailedAppRegistrationResource second = cache.get(registration("logger"), resource("logger"));
+
+		assertNotSame(first, second);
+		assertEquals("logger", second.getName());
+		assertEquals(first.getOptions(), second.getOptions());
+		verify(metadataResolver, times(1)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testEvictResolvesAgain() {
+		cache.get(registration("log"), resource("log"));
+		cache.evict(uri);
+		cache.get(registration("log"), resource("log"));
+
+		verify(metadataResolver, times(2)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedOptionsAreDropped() {
+		cache = new DetailedAppRegistrationCache(metadataResolver, Collections.<ValueHintProvider>emptyList(), 1, 500,
+				1);
+		AppRegistration log = registration("log");
+		AppRegistration time = new AppRegistration("time", "source", URI.create("maven://org.example:time-source:1.0.0"),
+				mock(ResourceLoader.class));
+		assertTrue(cache.warm(log));
+		assertFalse(cache.warm(log));
+		assertTrue(cache.warm(time));
+		assertTrue(cache.warm(log));
+
+		verify(metadataResolver, times(3)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testLinksAreAssembledPerRequest() {
+		AppRegistrationResource first = resource("log");
+		first.add(new Link("http://first/apps/sink/log"));
+		AppRegistrationResource second = resource("log");
+		second.add(new Link("http://second/apps/sink/log"));
+
+		assertEquals("http://first/apps/sink/log", cache.get(registration("log"), first).getId().getHref());
+		assertEquals("http://second/apps/sink/log", cache.get(registration("log"), second).getId().getHref());
+	}
+
+	@Test
+	public void testResolutionCompletingAfterEvictIsNotServed() throws Exception {
+		final CountDownLatch resolving = new CountDownLatch(1);
+		final CountDownLatch evicted = new CountDownLatch(1);
+		when(metadataResolver.listProperties(any(Resource.class))).thenAnswer(new Answer<List<ConfigurationMetadataProperty>>() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> answer(InvocationOnMock invocation) throws InterruptedException {
+				resolving.countDown();
+				evicted.await();
+				return Collections.emptyList();
+			}
+		}).thenReturn(Collections.<ConfigurationMetadataProperty>emptyList());
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				cache.get(registration("log"), resource("log"));
+			}
+		});
+		thread.start();
+		resolving.await();
+		cache.evict(uri);
+		evicted.countDown();
+		thread.join();
+
+		cache.get(registration("log"), resource("log"));
+		verify(metadataResolver, times(2)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testGetAllResolvesEachArtifact() {
+		AppRegistration log = registration("log");
+		AppRegistration logger = registration("logger");
+		Map<AppRegistration, AppRegistrationResource> resources = cache.getAll(Arrays.asList(log, logger), assembler());
+
+		assertEquals(2, resources.size());
+		assertTrue(resources.get(log) instanceof DetailedAppRegistrationResource);
+		assertEquals("logger", resources.get(logger).getName());
+		assertTrue(resources.get(logger) instanceof DetailedAppRegistrationResource);
+	}
+
+	@Test
+	public void testGetAllAppliesTheTimeoutToEachArtifact() {
+		when(metadataResolver.listProperties(any(Resource.class))).thenAnswer(new Answer<List<ConfigurationMetadataProperty>>() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> answer(InvocationOnMock invocation) throws InterruptedException {
+				Thread.sleep(300);
+				return Collections.emptyList();
+			}
+		});
+		cache = new DetailedAppRegistrationCache(metadataResolver, Collections.<ValueHintProvider>emptyList(), 1, 500);
+		AppRegistration log = new AppRegistration("log", "sink", uri, mock(ResourceLoader.class));
+		AppRegistration time = new AppRegistration("time", "source", URI.create("maven://org.example:time-source:1.0.0"),
+				mock(ResourceLoader.class));
+		Map<AppRegistration, AppRegistrationResource> resources = cache.getAll(Arrays.asList(log, time), assembler());
+
+		// resolved one after the other, in more than the timeout overall but within it each
+		assertTrue(resources.get(log) instanceof DetailedAppRegistrationResource);
+		assertTrue(resources.get(time) instanceof DetailedAppRegistrationResource);
+		cache.destroy();
+	}
+
+	@Test
+	public void testGetAllWaitsForResolutionInProgress() throws Exception {
+		final CountDownLatch resolving = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		when(metadataResolver.listProperties(any(Resource.class))).thenAnswer(new Answer<List<ConfigurationMetadataProperty>>() {
+
+			@Override
+			public List<ConfigurationMetadataProperty> answer(InvocationOnMock invocation) throws InterruptedException {
+				resolving.countDown();
+				release.await();
+				return Collections.emptyList();
+			}
+		});
+		final AppRegistration log = registration("log");
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				cache.getAll(Collections.singletonList(log), assembler());
+			}
+		});
+		thread.start();
+		resolving.await();
+		new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(200);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				release.countDown();
+			}
+		}).start();
+
+		Map<AppRegistration, AppRegistrationResource> resources = cache.getAll(Collections.singletonList(log), assembler());
+		thread.join();
+
+		assertTrue(resources.get(log) instanceof DetailedAppRegistrationResource);
+		verify(metadataResolver, times(1)).listProperties(any(Resource.class));
+	}
+
+	@Test
+	public void testGetAllFallsBackToPlainResource() {
+		when(metadataResolver.listProperties(any(Resource.class))).thenThrow(new IllegalStateException("boom"));
+		AppRegistration log = registration("log");
+		Map<AppRegistration, AppRegistrationResource> resources = cache.getAll(Collections.singletonList(log), assembler());
+
+		assertEquals("log", resources.get(log).getName());
+		assertFalse(resources.get(log) instanceof DetailedAppRegistrationResource);
+	}
+
+	private ResourceAssembler<AppRegistration, AppRegistrationResource> assembler() {
+		return new ResourceAssembler<AppRegistration, AppRegistrationResource>() {
+			@Override
+			public AppRegistrationResource toResource(AppRegistration registration) {
+				return resource(registration.getName());
+			}
+		};
+	}
+
+	private AppRegistration registration(String name) {
+		return new AppRegistration(name, "sink", uri, mock(ResourceLoader.class));
+	}
+
+	private AppRegistrationResource resource(String name) {
+		return new AppRegistrationResource(name, "sink", uri.toString());
+	}
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.core.ApplicationDefinition;
+import org.springframework.cloud.deployer.admin.server.repository.ApplicationDefinitionRepository;
+import org.springframework.cloud.deployer.admin.server.repository.DeploymentIdRepository;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Tests for {@link RuntimeAppStatusPoller}.
+ */
+public class RuntimeAppStatusPollerTests {
+
+	private ApplicationDefinitionRepository definitionRepository;
+
+	private DeploymentIdRepository deploymentIdRepository;
+
+	private AppDeployer appDeployer;
+
+	private ScheduledExecutorService executor;
+
+	private ScheduledFuture<?> sweeps;
+
+	private RuntimeAppStatusPoller poller;
+
+	@Before
+	public void setup() {
+		definitionRepository = mock(ApplicationDefinitionRepository.class);
+		deploymentIdRepository = mock(DeploymentIdRepository.class);
+		appDeployer = mock(AppDeployer.class);
+		when(definitionRepository.findAll()).thenReturn(
+				Collections.singletonList(new ApplicationDefinition("foo", "time")));
+		when(deploymentIdRepository.findOne(anyString())).thenReturn("foo.time");
+		executor = mock(ScheduledExecutorService.class);
+		sweeps = mock(ScheduledFuture.class);
+		doReturn(sweeps).when(executor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+				any(TimeUnit.class));
+		poller = new RuntimeAppStatusPoller(definitionRepository, deploymentIdRepository, appDeployer, 1000L, executor,
+				new SyncTaskExecutor());
+	}
+
+	@Test
+	public void testPushesOnlyChanges() {
+		RecordingEmitter first = new RecordingEmitter();
+		RecordingEmitter second = new RecordingEmitter();
+		poller.subscribe(first);
+		poller.subscribe(second);
+
+		status("foo.time-0", DeploymentState.deploying);
+		poller.poll();
+		poller.poll();
+		status("foo.time-0", DeploymentState.deployed);
+		poller.poll();
+
+		assertEquals("[status foo.time=deploying {foo.time-0=deploying}, "
+				+ "status foo.time=deployed {foo.time-0=deployed}]", first.events.toString());
+		assertEquals(first.events, second.events);
+	}
+
+	@Test
+	public void testReplaysLatestSnapshotToNewSubscribers() {
+		poller.subscribe(new RecordingEmitter());
+		status("foo.time-0", DeploymentState.deployed);
+		poller.poll();
+
+		RecordingEmitter late = new RecordingEmitter();
+		poller.subscribe(late);
+		poller.poll();
+
+		assertEquals("[status foo.time=deployed {foo.time-0=deployed}]", late.events.toString());
+		assertEquals(2, poller.getSubscriberCount());
+	}
+
+	@Test
+	public void testStopsAndForgetsWhenLastSubscriberLeaves() {
+		RecordingEmitter gone = new RecordingEmitter();
+		poller.subscribe(gone);
+		status("foo.time-0", DeploymentState.deployed);
+		poller.poll();
+		gone.fail = true;
+		status("foo.time-0", DeploymentState.failed);
+		poller.poll();
+
+		assertEquals(0, poller.getSubscriberCount());
+		verify(sweeps).cancel(false);
+
+		RecordingEmitter next = new RecordingEmitter();
+		poller.subscribe(next);
+		assertEquals("[]", next.events.toString());
+		poller.poll();
+		assertEquals("[status foo.time=failed {foo.time-0=failed}]", next.events.toString());
+	}
+
+	@Test
+	public void testSlowSubscriberDoesNotHoldUpOthers() throws Exception {
+		ExecutorService senders = Executors.newFixedThreadPool(2);
+		try {
+			poller = new RuntimeAppStatusPoller(definitionRepository, deploymentIdRepository, appDeployer, 1000L,
+					executor, senders);
+			final CountDownLatch stalled = new CountDownLatch(1);
+			poller.subscribe(new RecordingEmitter() {
+				@Override
+				public void send(SseEventBuilder builder) throws IOException {
+					try {
+						stalled.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			RecordingEmitter fast = new RecordingEmitter();
+			poller.subscribe(fast);
+
+			status("foo.time-0", DeploymentState.deploying);
+			poller.poll();
+			status("foo.time-0", DeploymentState.deployed);
+			poller.poll();
+
+			assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+			stalled.countDown();
+			assertEquals("[status foo.time=deploying {foo.time-0=deploying}, "
+					+ "status foo.time=deployed {foo.time-0=deployed}]", fast.events.toString());
+		}
+		finally {
+			senders.shutdownNow();
+		}
+	}
+
+	private void status(final String instanceId, final DeploymentState instanceState) {
+		AppStatus status = AppStatus.of("foo.time").with(new AppInstanceStatus() {
+			@Override
+			public String getId() {
+				return instanceId;
+			}
+
+			@Override
+			public DeploymentState getState() {
+				return instanceState;
+			}
+
+			@Override
+			public Map<String, String> getAttributes() {
+				return Collections.emptyMap();
+			}
+		}).build();
+		when(appDeployer.status("foo.time")).thenReturn(status);
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final List<String> events = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch received = new CountDownLatch(2);
+
+		private boolean fail;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (fail) {
+				throw new IOException("Broken pipe");
+			}
+			StringBuilder event = new StringBuilder();
+			for (DataWithMediaType data : builder.build()) {
+				event.append(data.getData());
+			}
+			events.add(event.toString().replace("event:", "").replace("\ndata:", " ").trim());
+			received.countDown();
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.registry.AppRegistry;
+import org.springframework.cloud.deployer.admin.registry.EavRegistryRepository;
+import org.springframework.cloud.deployer.resource.registry.InMemoryUriRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Tests for the incremental, conditional import of registry indexes by {@link AppRegistry}.
+ */
+public class AppRegistryImportTests {
+
+	private HttpServer server;
+
+	private volatile String index;
+
+	private final List<Integer> statuses = new ArrayList<>();
+
+	private InMemoryUriRegistry uriRegistry;
+
+	private AppRegistry appRegistry;
+
+	private String indexUrl;
+
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/apps.properties", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				String eTag = "\"" + index.hashCode() + "\"";
+				int status = eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")) ? 304 : 200;
+				statuses.add(status);
+				exchange.getResponseHeaders().set("ETag", eTag);
+				if (status == 304) {
+					exchange.sendResponseHeaders(304, -1);
+				}
+				else {
+					byte[] body = index.getBytes(StandardCharsets.ISO_8859_1);
+					exchange.sendResponseHeaders(200, body.length);
+					try (OutputStream out = exchange.getResponseBody()) {
+						out.write(body);
+					}
+				}
+				exchange.close();
+			}
+		});
+		server.start();
+		indexUrl = "http://localhost:" + server.getAddress().getPort() + "/apps.properties";
+		uriRegistry = new InMemoryUriRegistry();
+		appRegistry = new AppRegistry(uriRegistry, new DefaultResourceLoader(), mock(EavRegistryRepository.class));
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void testUnchangedIndexIsNotTransferredNorWritten() {
+		index = "source.time=file:///time.jar\nsink.log=file:///log.jar\n";
+		assertEquals(2, appRegistry.importAll(true, indexUrl).size());
+		long version = appRegistry.getVersion();
+
+		assertEquals(2, appRegistry.importAll(true, indexUrl).size());
+
+		assertEquals("[200, 304]", statuses.toString());
+		assertEquals(version, appRegistry.getVersion());
+	}
+
+	@Test
+	public void testOnlyDifferenceIsWrittenAndNothingIsRemoved() {
+		index = "source.time=file:///time.jar\nsink.log=file:///log.jar\n";
+		appRegistry.importAll(true, indexUrl);
+		appRegistry.save("manual", "sink", URI.create("file:///manual.jar"));
+
+		index = "source.time=file:///time-2.jar\nprocessor.filter=file:///filter.jar\n";
+		assertEquals(2, appRegistry.importAll(true, indexUrl).size());
+
+		assertEquals("{processor.filter=file:///filter.jar, sink.log=file:///log.jar, sink.manual=file:///manual.jar, "
+				+ "source.time=file:///time-2.jar}", new TreeMap<>(uriRegistry.findAll()).toString());
+	}
+
+	@Test
+	public void testDoesNotOverwriteWithoutOverwrite() {
+		index = "source.time=file:///time.jar\nsink.log=file:///log.jar\n";
+		appRegistry.importAll(false, indexUrl);
+
+		index = "source.time=file:///time-2.jar\n";
+		assertEquals(0, appRegistry.importAll(false, indexUrl).size());
+
+		assertEquals("{sink.log=file:///log.jar, source.time=file:///time.jar}",
+				new TreeMap<>(uriRegistry.findAll()).toString());
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.cloud.deployer.admin.registry.support.AppRegistryIndex;
+
+/**
+ * Tests for {@link AppRegistryIndex}.
+ */
+public class AppRegistryIndexTests {
+
+	@Test
+	public void testParsesPlainProperties() throws Exception {
+		AppRegistryIndex index = AppRegistryIndex.parse(
+				"# apps\nsource.time=maven://org.example:time:1.0.0\nsink.log = file:///log.jar\nsink.bad=not a uri\n"
+						.getBytes(StandardCharsets.ISO_8859_1));
+
+		assertEquals("{sink.log=file:///log.jar, source.time=maven://org.example:time:1.0.0}",
+				index.getEntries().toString());
+	}
+
+	@Test
+	public void testFormattedIndexRoundTrips() throws Exception {
+		Map<String, URI> entries = new HashMap<>();
+		entries.put("source.time", URI.create("maven://org.example:time:1.0.0"));
+		entries.put("sink.log", URI.create("file:///log.jar"));
+		AppRegistryIndex index = new AppRegistryIndex(entries);
+
+		AppRegistryIndex parsed = AppRegistryIndex.parse(index.format().getBytes(StandardCharsets.ISO_8859_1));
+
+		assertEquals(index.getEntries(), parsed.getEntries());
+		assertEquals(index.getChecksum(), parsed.getChecksum());
+	}
+
+	@Test
+	public void testRejectsChecksumMismatch() throws Exception {
+		String content = new AppRegistryIndex(
+				Collections.singletonMap("sink.log", URI.create("file:///log.jar"))).format();
+		try {
+			AppRegistryIndex.parse((content + "sink.other=file:///other.jar\n").getBytes(StandardCharsets.ISO_8859_1));
+			fail("Expected the checksum to be verified");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsNewerVersions() throws Exception {
+		AppRegistryIndex.parse("#registry-index: 2\nsink.log=file:///log.jar\n".getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.deployer.admin.registry.RdbmsChangeVersions;
+import org.springframework.cloud.deployer.admin.server.config.features.FeaturesProperties;
+import org.springframework.cloud.deployer.admin.server.repository.support.DataflowRdbmsInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Tests for {@link RdbmsChangeVersions}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {EmbeddedDataSourceConfiguration.class,
+		PropertyPlaceholderAutoConfiguration.class, RdbmsChangeVersionsTests.TestConfig.class})
+public class RdbmsChangeVersionsTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Before
+	public void setup() {
+		new JdbcTemplate(dataSource).execute("DELETE FROM CHANGE_VERSIONS");
+	}
+
+	@Test
+	public void testUnwrittenStoreHasNoVersion() {
+		assertEquals(0, new RdbmsChangeVersions(dataSource).get("FOO"));
+	}
+
+	@Test
+	public void testIncrementIsSharedThroughTheDatabase() {
+		RdbmsChangeVersions writer = new RdbmsChangeVersions(dataSource);
+		RdbmsChangeVersions reader = new RdbmsChangeVersions(dataSource);
+		long before = System.currentTimeMillis();
+		writer.increment("FOO");
+		long version = reader.get("FOO");
+		assertTrue(version >= before);
+		writer.increment("FOO");
+		assertEquals(version + 1, reader.get("FOO"));
+		assertEquals(0, reader.get("BAR"));
+	}
+
+	@Configuration
+	protected static class TestConfig {
+
+		@Bean
+		public FeaturesProperties featuresProperties() {
+			return new FeaturesProperties();
+		}
+
+		@Bean
+		public DataflowRdbmsInitializer definitionRepositoryInitializer(DataSource dataSource) {
+			DataflowRdbmsInitializer definitionRepositoryInitializer = new DataflowRdbmsInitializer(featuresProperties());
+			definitionRepositoryInitializer.setDataSource(dataSource);
+			return definitionRepositoryInitializer;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.repository.support;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.admin.server.config.features.FeaturesProperties;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests for {@link DataflowRdbmsInitializer}.
+ */
+public class DataflowRdbmsInitializerTests {
+
+	private static final String COUNT_TABLE = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?";
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@Before
+	public void setup() {
+		dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@After
+	public void shutdown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void testCreatesSchemaAndRecordsVersion() throws Exception {
+		initialize();
+
+		assertEquals(1, countTables("APPLICATION_DEFINITIONS"));
+		assertEquals(1, countTables("DEPLOYMENT_IDS"));
+		assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DATAFLOW_SCHEMA_VERSION", Integer.class));
+	}
+
+	@Test
+	public void testSkipsScriptsWhenSchemaIsCurrent() throws Exception {
+		initialize();
+		jdbcTemplate.execute("DROP TABLE DEPLOYMENT_IDS");
+
+		initialize();
+
+		assertEquals(0, countTables("DEPLOYMENT_IDS"));
+	}
+
+	@Test
+	public void testRunsScriptsWhenSchemaIsOutdated() throws Exception {
+		initialize();
+		jdbcTemplate.execute("DROP TABLE DEPLOYMENT_IDS");
+		jdbcTemplate.update("UPDATE DATAFLOW_SCHEMA_VERSION SET SCHEMA_VERSION = 'outdated'");
+
+		initialize();
+
+		assertEquals(1, countTables("DEPLOYMENT_IDS"));
+		assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DATAFLOW_SCHEMA_VERSION", Integer.class));
+	}
+
+	@Test
+	public void testDoesNotRecordVersionWhenStatementsFail() throws Exception {
+		initialize(new DefaultResourceLoader() {
+			@Override
+			public Resource getResource(String location) {
+				if (location.endsWith("-deployment.sql")) {
+					return new ByteArrayResource("CREATE TABLE DEPLOYMENT_IDS (oops);".getBytes());
+				}
+				return super.getResource(location);
+			}
+		});
+
+		assertEquals(1, countTables("APPLICATION_DEFINITIONS"));
+		assertEquals(0, countTables("DEPLOYMENT_IDS"));
+		assertEquals(0, countTables("DATAFLOW_SCHEMA_VERSION"));
+
+		initialize();
+
+		assertEquals(1, countTables("DEPLOYMENT_IDS"));
+		assertEquals(1, countTables("DATAFLOW_SCHEMA_VERSION"));
+	}
+
+	private void initialize() throws Exception {
+		initialize(new DefaultResourceLoader());
+	}
+
+	private void initialize(ResourceLoader resourceLoader) throws Exception {
+		DataflowRdbmsInitializer initializer = new DataflowRdbmsInitializer(new FeaturesProperties());
+		initializer.setDataSource(dataSource);
+		initializer.setResourceLoader(resourceLoader);
+		ReflectionTestUtils.setField(initializer, "definitionInitializationEnable", true);
+		initializer.afterPropertiesSet();
+	}
+
+	private int countTables(String name) {
+		return jdbcTemplate.queryForObject(COUNT_TABLE, Integer.class, name);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.deployer.admin.server.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+
+/**
+ * Tests for {@link ManualOAuthAuthenticationProvider}.
+ */
+public class ManualOAuthAuthenticationProviderTests {
+
+	@Test
+	public void testCachesSuccessfulAuthentications() {
+		CountingProvider provider = new CountingProvider(new Date(System.currentTimeMillis() + 60000L));
+		provider.authenticate(credentials("bob", "secret"));
+		provider.authenticate(credentials("bob", "secret"));
+		assertEquals(1, provider.logins.get());
+
+		provider.authenticate(credentials("alice", "secret"));
+		assertEquals(2, provider.logins.get());
+	}
+
+	@Test
+	public void testDoesNotCacheFailuresOrExpiredTokens() {
+		CountingProvider provider = new CountingProvider(new Date(System.currentTimeMillis() - 1000L));
+		provider.authenticate(credentials("bob", "secret"));
+		provider.authenticate(credentials("bob", "secret"));
+		assertEquals(2, provider.logins.get());
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				provider.authenticate(credentials("bob", "wrong"));
+				fail("Expected BadCredentialsException");
+			}
+			catch (BadCredentialsException e) {
+			}
+		}
+		assertEquals(4, provider.logins.get());
+	}
+
+	@Test
+	public void testCoalescesConcurrentLogins() throws Exception {
+		final CountDownLatch loggingIn = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingProvider provider = new CountingProvider(null) {
+			@Override
+			protected OAuth2AccessToken obtainAccessToken(String username, String password) {
+				loggingIn.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.obtainAccessToken(username, password);
+			}
+		};
+		provider.setCacheTimeToLive(0);
+		Thread first = authenticateInBackground(provider);
+		assertEquals(true, loggingIn.await(10, TimeUnit.SECONDS));
+		Thread second = authenticateInBackground(provider);
+		long deadline = System.currentTimeMillis() + 10000L;
+		while (second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+		first.join(10000L);
+		second.join(10000L);
+
+		assertEquals(1, provider.logins.get());
+	}
+
+	private Thread authenticateInBackground(final ManualOAuthAuthenticationProvider provider) {
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				provider.authenticate(credentials("bob", "secret"));
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static Authentication credentials(String username, String password) {
+		return new UsernamePasswordAuthenticationToken(username, password);
+	}
+
+	private static class CountingProvider extends ManualOAuthAuthenticationProvider {
+
+		private final AtomicInteger logins = new AtomicInteger();
+
+		private final Date expiration;
+
+		private CountingProvider(Date expiration) {
+			this.expiration = expiration;
+		}
+
+		@Override
+		protected OAuth2AccessToken obtainAccessToken(String username, String password) throws AuthenticationException {
+			logins.incrementAndGet();
+			if (!"secret".equals(password)) {
+				throw new BadCredentialsException(String.format("Access denied for user '%s'.", username));
+			}
+			DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+			accessToken.setExpiration(expiration);
+			return accessToken;
+		}
+	}
+
+}
@@ -90,7 +90,7 @@ public class ApplicationCommands implements CommandMarker {
 	@CliCommand(value = CREATE_APPLICATION, help = "Create a new application definition")
 	public String createApplication(
 			@CliOption(mandatory = true, key = { "", "name" }, help = "the name to give to the application") String name,
-			@CliOption(mandatory = true, key = { "definition" }, help = "a application definition, using the DSL") String dsl,
+			@CliOption(mandatory = true, key = { "definition" }, help = "a application definition, using the DSL", optionContext = "disable-string-converter completion-application") String dsl,
 			@CliOption(key = "deploy", help = "whether to deploy the application immediately", unspecifiedDefaultValue = "false", specifiedDefaultValue = "true") boolean deploy) {
 		applicationOperations().createApplication(name, dsl, deploy);
 		String message = String.format("Created new application '%s'", name);
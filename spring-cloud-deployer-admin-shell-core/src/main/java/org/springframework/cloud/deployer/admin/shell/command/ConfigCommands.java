@@ -166,7 +166,10 @@ public class ConfigCommands implements CommandMarker,
 			HttpClientUtils.prepareRestTemplate(this.restTemplate,
 					targetUsername, targetPassword, skipSslValidation);
 
-			this.shell.setDataFlowOperations(new DataFlowTemplate(targetHolder.getTarget().getTargetUri(), this.restTemplate));
+			DataFlowTemplate dataFlowTemplate = new DataFlowTemplate(targetHolder.getTarget().getTargetUri(), this.restTemplate);
+			// Validate the target now; re-targeting a known server only revalidates the cached root resource
+			dataFlowTemplate.getRootResource();
+			this.shell.setDataFlowOperations(dataFlowTemplate);
 			this.targetHolder.getTarget().setTargetResultMessage(String.format("Successfully targeted %s", targetUriString));
 		}
 		catch (Exception e) {
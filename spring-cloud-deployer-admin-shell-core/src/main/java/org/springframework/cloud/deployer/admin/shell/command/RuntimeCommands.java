@@ -26,17 +26,31 @@ import static org.springframework.shell.table.SimpleVerticalAligner.middle;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.deployer.admin.rest.client.DataFlowClientException;
 import org.springframework.cloud.deployer.admin.rest.client.DataFlowOperations;
 import org.springframework.cloud.deployer.admin.rest.client.RuntimeOperations;
 import org.springframework.cloud.deployer.admin.rest.resource.AppInstanceStatusResource;
 import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
 import org.springframework.cloud.deployer.admin.shell.config.DataFlowShell;
+import org.springframework.hateoas.VndErrors;
+import org.springframework.http.HttpStatus;
 import org.springframework.shell.core.CommandMarker;
 import org.springframework.shell.core.annotation.CliAvailabilityIndicator;
 import org.springframework.shell.core.annotation.CliCommand;
@@ -48,6 +62,7 @@ import org.springframework.shell.table.TableModelBuilder;
 import org.springframework.shell.table.Tables;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * Commands for displaying the runtime state of deployed apps.
@@ -56,12 +71,40 @@ import org.springframework.util.Assert;
  * @author Mark Fisher
  */
 @Component
-public class RuntimeCommands implements CommandMarker {
+public class RuntimeCommands implements CommandMarker, DisposableBean {
 
 	private static final String LIST_APPS = "runtime apps";
-	
+
+	private static final String UNKNOWN_STATE = "unknown";
+
+	/**
+	 * Logref of the error the server answers with for an app it doesn't know about.
+	 */
+	private static final String NOT_FOUND_LOGREF = "ResourceNotFoundException";
+
+	/**
+	 * Maximum number of status requests issued concurrently.
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS = 8;
+
 	private final DataFlowShell dataFlowShell;
 
+	/**
+	 * Shared by all commands, for the status requests of a single command to be issued
+	 * concurrently.
+	 */
+	private final ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS, new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "runtime-status-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
 	@Autowired
 	public RuntimeCommands(DataFlowShell dataFlowShell) {
 		Assert.notNull(dataFlowShell, "DataFlowShell must not be null");
@@ -82,7 +125,7 @@ public class RuntimeCommands implements CommandMarker {
 
 		Set<String> filter = null;
 		if (appIds != null) {
-			filter = new HashSet<>(Arrays.asList(appIds));
+			filter = new LinkedHashSet<>(Arrays.asList(appIds));
 		}
 
 		TableModelBuilder<Object> modelBuilder = new TableModelBuilder<>();
@@ -103,19 +146,8 @@ public class RuntimeCommands implements CommandMarker {
 		// a different border style later.
 		List<Integer> splits = new ArrayList<>();
 		int line = 1;
-		// Optimise for the single app case, which is likely less resource intensive on the server
-		// than client side filtering
-		Iterable<AppStatusResource> statuses;
-		if (filter != null && filter.size() == 1 && !filter.iterator().next().endsWith(".*")) {
-			statuses = Collections.singleton(runtimeOperations().status(filter.iterator().next()));
-		}
-		else {
-			statuses = runtimeOperations().status();
-		}
+		Iterable<AppStatusResource> statuses = (filter != null) ? fetchStatuses(filter) : runtimeOperations().status();
 		for (AppStatusResource appStatusResource : statuses) {
-			if (filter != null && !shouldRetain(filter, appStatusResource)) {
-				continue;
-			}
 			modelBuilder.addRow()
 					.addValue(appStatusResource.getDeploymentId())
 					.addValue(appStatusResource.getState())
@@ -156,16 +188,78 @@ public class RuntimeCommands implements CommandMarker {
 		return builder.build();
 	}
 
-	private boolean shouldRetain(Set<String> filter, AppStatusResource appStatusResource) {
-		String deploymentId = appStatusResource.getDeploymentId();
-		boolean directMatch = filter.contains(deploymentId);
-		if (directMatch) {
-			return true;
-		}
+	/**
+	 * Fetch the status of the requested apps concurrently, rather than downloading the
+	 * status of every app and filtering it here. Explicit app ids are fetched one request
+	 * each, and each '<group>.*' pattern is resolved by the server's group filter.
+	 */
+	private Collection<AppStatusResource> fetchStatuses(Set<String> filter) {
+		List<Callable<Iterable<AppStatusResource>>> requests = new ArrayList<>();
 		for (String candidate : filter) {
 			if (candidate.endsWith(".*")) {
-				String pattern = candidate.substring(0, candidate.length() - "*".length());
-				if (deploymentId.startsWith(pattern)) {
+				final String group = candidate.substring(0, candidate.length() - ".*".length());
+				requests.add(new Callable<Iterable<AppStatusResource>>() {
+					@Override
+					public Iterable<AppStatusResource> call() {
+						return runtimeOperations().status(group, null, null);
+					}
+				});
+			}
+			else {
+				final String deploymentId = candidate;
+				requests.add(new Callable<Iterable<AppStatusResource>>() {
+					@Override
+					public Iterable<AppStatusResource> call() {
+						return statusOf(deploymentId);
+					}
+				});
+			}
+		}
+
+		Map<String, AppStatusResource> statuses = new LinkedHashMap<>();
+		for (Iterable<AppStatusResource> result : invokeAll(requests)) {
+			for (AppStatusResource appStatusResource : result) {
+				if (!statuses.containsKey(appStatusResource.getDeploymentId())) {
+					statuses.put(appStatusResource.getDeploymentId(), appStatusResource);
+				}
+			}
+		}
+		return statuses.values();
+	}
+
+	/**
+	 * Fetch the status of a single app. Like the full listing this replaced, skip an id
+	 * that is not deployed: the server either fails to find it or reports the deployer
+	 * knowing nothing about it, that is an unknown state without instances.
+	 */
+	private Iterable<AppStatusResource> statusOf(String deploymentId) {
+		AppStatusResource status;
+		try {
+			status = runtimeOperations().status(deploymentId);
+		}
+		catch (DataFlowClientException e) {
+			if (isNotFound(e)) {
+				return Collections.emptySet();
+			}
+			throw e;
+		}
+		catch (HttpClientErrorException e) {
+			if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+				return Collections.emptySet();
+			}
+			throw e;
+		}
+		if (status == null || (UNKNOWN_STATE.equals(status.getState())
+				&& (status.getInstances() == null || status.getInstances().getContent().isEmpty()))) {
+			return Collections.emptySet();
+		}
+		return Collections.singleton(status);
+	}
+
+	private boolean isNotFound(DataFlowClientException e) {
+		if (e.getVndErrors() != null) {
+			for (VndErrors.VndError error : e.getVndErrors()) {
+				if (NOT_FOUND_LOGREF.equals(error.getLogref())) {
 					return true;
 				}
 			}
@@ -173,6 +267,52 @@ public class RuntimeCommands implements CommandMarker {
 		return false;
 	}
 
+	private <T> List<T> invokeAll(List<Callable<T>> requests) {
+		List<T> results = new ArrayList<>();
+		if (requests.size() == 1) {
+			try {
+				results.add(requests.get(0).call());
+				return results;
+			}
+			catch (RuntimeException e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		List<Future<T>> futures = new ArrayList<>();
+		try {
+			for (Callable<T> request : requests) {
+				futures.add(executor.submit(request));
+			}
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while fetching app statuses", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		finally {
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
 	private RuntimeOperations runtimeOperations() {
 		return dataFlowShell.getDataFlowOperations().runtimeOperations();
 	}
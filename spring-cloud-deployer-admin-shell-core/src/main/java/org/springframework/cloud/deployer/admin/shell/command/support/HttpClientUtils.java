@@ -45,6 +45,11 @@ import org.springframework.web.client.RestTemplate;
  */
 public class HttpClientUtils {
 
+	/**
+	 * Maximum number of pooled connections, allowing commands to issue concurrent requests.
+	 */
+	public static final int MAX_CONNECTIONS = 10;
+
 	/**
 	 * Ensures that the passed-in {@link RestTemplate} is using the Apache HTTP Client. If the optional {@code username} AND
 	 * {@code password} are not empty, then a {@link BasicCredentialsProvider} will be added to the {@link CloseableHttpClient}.
@@ -65,7 +70,9 @@ public class HttpClientUtils {
 
 		Assert.notNull(restTemplate, "The provided RestTemplate must not be null.");
 
-		final HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+		final HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+				.setMaxConnPerRoute(MAX_CONNECTIONS)
+				.setMaxConnTotal(MAX_CONNECTIONS);
 
 		if (StringUtils.hasText(username) && StringUtils.hasText(password)) {
 			final BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
@@ -30,7 +30,7 @@ import org.springframework.shell.core.MethodTarget;
 import org.springframework.stereotype.Component;
 
 /**
- * A converter that provides DSL completion wherever parts of stream definitions may appear.
+ * A converter that provides DSL completion wherever parts of stream, task or application definitions may appear.
  *
  * @author Eric Bottard
  */
@@ -86,6 +86,9 @@ public class CompletionConverter implements Converter<String> {
 				case "task":
 					candidates = completionOperations().taskCompletions(start, successiveInvocations);
 					break;
+				case "application":
+					candidates = completionOperations().applicationCompletions(start, successiveInvocations);
+					break;
 				default:
 					throw new IllegalArgumentException("Unsupported completion kind: " + kind);
 			}
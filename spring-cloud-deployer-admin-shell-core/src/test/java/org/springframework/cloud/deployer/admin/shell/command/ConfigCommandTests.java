@@ -33,6 +33,8 @@ import org.springframework.cloud.deployer.admin.shell.TargetHolder;
 import org.springframework.cloud.deployer.admin.shell.command.ConfigCommands;
 import org.springframework.cloud.deployer.admin.shell.config.DataFlowShell;
 import org.springframework.hateoas.ResourceSupport;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.shell.CommandLine;
@@ -67,7 +69,8 @@ public class ConfigCommandTests {
 
 		when(restTemplate.getMessageConverters()).thenReturn(messageConverters);
 		final Exception e = new RestClientException("FooBar");
-		when(restTemplate.getForObject(Mockito.any(URI.class), Mockito.eq(ResourceSupport.class))).thenThrow(e);
+		when(restTemplate.exchange(Mockito.any(URI.class), Mockito.eq(HttpMethod.GET), Mockito.any(HttpEntity.class),
+				Mockito.eq(ResourceSupport.class))).thenThrow(e);
 
 		configCommands.setTargetHolder(new TargetHolder());
 		configCommands.setRestTemplate(restTemplate);
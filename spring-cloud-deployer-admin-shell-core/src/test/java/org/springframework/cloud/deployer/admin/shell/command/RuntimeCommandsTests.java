@@ -18,6 +18,8 @@ package org.springframework.cloud.deployer.admin.shell.command;
 
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -31,6 +33,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cloud.deployer.admin.rest.client.DataFlowClientException;
 import org.springframework.cloud.deployer.admin.rest.client.DataFlowOperations;
 import org.springframework.cloud.deployer.admin.rest.client.RuntimeOperations;
 import org.springframework.cloud.deployer.admin.rest.resource.AppInstanceStatusResource;
@@ -38,6 +41,7 @@ import org.springframework.cloud.deployer.admin.rest.resource.AppStatusResource;
 import org.springframework.cloud.deployer.admin.shell.command.RuntimeCommands;
 import org.springframework.cloud.deployer.admin.shell.config.DataFlowShell;
 import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.VndErrors;
 import org.springframework.shell.table.TableModel;
 
 /**
@@ -161,4 +165,53 @@ public class RuntimeCommandsTests {
 		}
 	}
 
+	@Test
+	public void testStatusByMultipleModuleIds() {
+		when(runtimeOperations.status("3")).thenReturn(appStatusResource3);
+		when(runtimeOperations.status("2")).thenReturn(appStatusResource2);
+		Object[][] expected = new String[][] {
+				{"3", "failed", "0"},
+				{"2", "undeployed", "0"}
+		};
+		TableModel model = runtimeCommands.list(true, new String[] {"3", "2"}).getModel();
+		assertTrue(model.getRowCount() == 3);
+		for (int row = 0; row < expected.length; row++) {
+			for (int col = 0; col < expected[row].length; col++) {
+				assertThat(String.valueOf(model.getValue(row + 1, col)), Matchers.is(expected[row][col]));
+			}
+		}
+		verify(runtimeOperations, never()).status();
+	}
+
+	@Test
+	public void testStatusSkipsUnknownModuleIds() {
+		when(runtimeOperations.status("3")).thenReturn(appStatusResource3);
+		when(runtimeOperations.status("4")).thenThrow(new DataFlowClientException(new VndErrors("ResourceNotFoundException", "not found")));
+		when(runtimeOperations.status("5")).thenReturn(new AppStatusResource("5", "unknown"));
+		TableModel model = runtimeCommands.list(true, new String[] {"3", "4", "5"}).getModel();
+		assertTrue(model.getRowCount() == 2);
+		assertThat(String.valueOf(model.getValue(1, 0)), Matchers.is("3"));
+	}
+
+	@Test(expected = DataFlowClientException.class)
+	public void testStatusReportsServerErrors() {
+		when(runtimeOperations.status("3")).thenReturn(appStatusResource3);
+		when(runtimeOperations.status("4")).thenThrow(new DataFlowClientException(
+				new VndErrors("IllegalStateException", "deployer unavailable")));
+		runtimeCommands.list(true, new String[] {"3", "4"});
+	}
+
+	@Test
+	public void testStatusByGroupPattern() {
+		Collection<AppStatusResource> data = new ArrayList<>();
+		data.add(appStatusResource2);
+		PagedResources.PageMetadata metadata = new PagedResources.PageMetadata(data.size(), 1, data.size(), 1);
+		PagedResources<AppStatusResource> result = new PagedResources<>(data, metadata);
+		when(runtimeOperations.status("foo", null, null)).thenReturn(result);
+		TableModel model = runtimeCommands.list(true, new String[] {"foo.*"}).getModel();
+		assertTrue(model.getRowCount() == 2);
+		assertThat(String.valueOf(model.getValue(1, 0)), Matchers.is("2"));
+		verify(runtimeOperations, never()).status();
+	}
+
 }